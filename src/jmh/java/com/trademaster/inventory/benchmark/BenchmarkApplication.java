@@ -0,0 +1,58 @@
+package com.trademaster.inventory.benchmark;
+
+import com.trademaster.inventory.InventoryServiceApplication;
+import com.trademaster.inventory.domain.InventoryItem;
+import com.trademaster.inventory.repository.InventoryItemRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the service against an in-memory H2 database with the RabbitMQ listeners stopped,
+ * so benchmarks can drive the consumers and services directly.
+ */
+public final class BenchmarkApplication {
+
+    public static final String SKU = "BENCH-SKU";
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(String... overrides) {
+        return start(List.of(), overrides);
+    }
+
+    /**
+     * Same as {@link #start(String...)} with extra configuration classes, e.g. to replace a
+     * bean with a stand-in.
+     */
+    public static ConfigurableApplicationContext start(List<Class<?>> sources, String... overrides) {
+        List<String> args = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:bench-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.rabbitmq.listener.simple.auto-startup=false",
+                "app.retry-delay-ms=3600000",
+                "app.sweeper.min-delay-ms=3600000",
+                "logging.level.root=WARN"));
+        args.addAll(List.of(overrides));
+
+        // Passed as command line arguments so they take precedence over application.yml
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(InventoryServiceApplication.class)
+                .sources(sources.toArray(Class<?>[]::new))
+                .web(WebApplicationType.NONE)
+                .run(args.stream().map(arg -> "--" + arg).toArray(String[]::new));
+
+        context.getBean(InventoryItemRepository.class).save(InventoryItem.builder()
+                .sku(SKU)
+                .quantity(Integer.MAX_VALUE / 2)
+                .build());
+        return context;
+    }
+}
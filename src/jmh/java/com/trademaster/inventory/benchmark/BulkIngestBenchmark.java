@@ -0,0 +1,143 @@
+package com.trademaster.inventory.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Events per second published over HTTP through {@code POST /events}, one request per event,
+ * versus {@code POST /events/bulk} with the same events as a JSON array and as NDJSON.
+ * <p>
+ * The broker is replaced by a template that only serializes each message, so the numbers
+ * cover the HTTP, parsing and validation cost; against a real broker the single-event path
+ * additionally pays a publish round-trip per event.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkIngestBenchmark {
+
+    private static final int EVENTS = 500;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI eventsUri;
+    private URI bulkUri;
+    private List<String> singleBodies;
+    private String arrayBody;
+    private String ndjsonBody;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(List.of(StubBrokerConfig.class),
+                "spring.main.web-application-type=servlet",
+                "server.port=0");
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        eventsUri = URI.create(baseUrl + "/events");
+        bulkUri = URI.create(baseUrl + "/events/bulk");
+        client = HttpClient.newHttpClient();
+
+        singleBodies = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            singleBodies.add("{\"type\":\"ORDER_PLACED\",\"sku\":\"" + BenchmarkApplication.SKU
+                    + "\",\"quantity\":1,\"payload\":\"bench-" + i + "\"}");
+        }
+        arrayBody = "[" + String.join(",", singleBodies) + "]";
+        ndjsonBody = String.join("\n", singleBodies) + "\n";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public int singleEvents() throws Exception {
+        int status = 0;
+        for (String body : singleBodies) {
+            status += post(eventsUri, "application/json", body).statusCode();
+        }
+        return status;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public String bulkJsonArray() throws Exception {
+        return post(bulkUri, "application/json", arrayBody).body();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public String bulkNdjson() throws Exception {
+        return post(bulkUri, "application/x-ndjson", ndjsonBody).body();
+    }
+
+    private HttpResponse<String> post(URI uri, String contentType, String body) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected response " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+
+    // Not a @Configuration: it is passed to BenchmarkApplication explicitly and must not be
+    // picked up by component scanning when another benchmark starts the application
+    static class StubBrokerConfig {
+
+        @Bean
+        @Primary
+        RabbitTemplate stubRabbitTemplate(ConnectionFactory connectionFactory) {
+            return new SerializingRabbitTemplate(connectionFactory);
+        }
+    }
+
+    /**
+     * Serializes every message like the real template would and confirms immediately.
+     */
+    static class SerializingRabbitTemplate extends RabbitTemplate {
+
+        private final AtomicLong published = new AtomicLong();
+
+        SerializingRabbitTemplate(ConnectionFactory connectionFactory) {
+            // The connection factory is never used, it only satisfies the template's checks
+            super(connectionFactory);
+            setMessageConverter(new Jackson2JsonMessageConverter());
+        }
+
+        @Override
+        public void convertAndSend(String routingKey, Object object) {
+            getMessageConverter().toMessage(object, new MessageProperties());
+            published.incrementAndGet();
+        }
+
+        @Override
+        public <T> T invoke(OperationsCallback<T> action) {
+            return action.doInRabbit(this);
+        }
+
+        @Override
+        public void waitForConfirmsOrDie(long timeout) {
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.trademaster.inventory.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import com.trademaster.inventory.cache.IdempotencyCache;
+import com.trademaster.inventory.consumer.BatchEventConsumer;
+import com.trademaster.inventory.consumer.EventConsumer;
+import com.trademaster.inventory.consumer.EventHasher;
+import com.trademaster.inventory.metrics.EventCounters;
+import com.trademaster.inventory.metrics.EventMetrics;
+import com.trademaster.inventory.repository.EventRepository;
+import com.trademaster.inventory.service.EventProcessingService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Messages per second through the per-message {@link EventConsumer} path versus the
+ * {@link BatchEventConsumer} path, both writing to H2.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConsumerThroughputBenchmark {
+
+    private static final int MESSAGES = 100;
+
+    private ConfigurableApplicationContext context;
+    private EventConsumer eventConsumer;
+    private BatchEventConsumer batchEventConsumer;
+    private Channel channel;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        EventRepository eventRepository = context.getBean(EventRepository.class);
+        EventProcessingService eventProcessingService = context.getBean(EventProcessingService.class);
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        IdempotencyCache idempotencyCache = context.getBean(IdempotencyCache.class);
+        EventHasher eventHasher = context.getBean(EventHasher.class);
+        EventMetrics eventMetrics = context.getBean(EventMetrics.class);
+
+        eventConsumer = new EventConsumer(eventRepository, eventProcessingService, objectMapper,
+                idempotencyCache, eventHasher, eventMetrics, context.getBean(EventCounters.class));
+        batchEventConsumer = new BatchEventConsumer(eventProcessingService, objectMapper,
+                idempotencyCache, eventHasher, eventMetrics);
+        channel = Mockito.mock(Channel.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void perMessage() throws Exception {
+        for (Message message : nextMessages()) {
+            eventConsumer.handleEvent(message, channel, message.getMessageProperties().getDeliveryTag());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void batched() throws Exception {
+        batchEventConsumer.handleBatch(nextMessages(), channel);
+    }
+
+    private List<Message> nextMessages() {
+        List<Message> messages = new ArrayList<>(MESSAGES);
+        for (int i = 0; i < MESSAGES; i++) {
+            long id = ++sequence;
+            String body = "{\"type\":\"ORDER_CANCELLED\",\"sku\":\"" + BenchmarkApplication.SKU
+                    + "\",\"quantity\":1,\"payload\":\"bench-" + id + "\"}";
+            MessageProperties properties = new MessageProperties();
+            properties.setDeliveryTag(id);
+            messages.add(new Message(body.getBytes(StandardCharsets.UTF_8), properties));
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,63 @@
+package com.trademaster.inventory.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trademaster.inventory.dto.EventRequest;
+import com.trademaster.inventory.enums.EventType;
+import com.trademaster.inventory.service.EventProcessingStrategy;
+import com.trademaster.inventory.service.EventStrategyFactory;
+import com.trademaster.inventory.service.InventoryAdjustedStrategy;
+import com.trademaster.inventory.service.OrderCancelledStrategy;
+import com.trademaster.inventory.service.OrderPlacedStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory front of the pipeline: parsing a message body into {@link EventRequest} and
+ * resolving its strategy through {@link EventStrategyFactory}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DispatchBenchmark {
+
+    @Param({"ORDER_PLACED", "ORDER_CANCELLED", "INVENTORY_ADJUSTED"})
+    private EventType type;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private EventStrategyFactory eventStrategyFactory;
+    private byte[] body;
+    private String rawMessage;
+
+    @Setup
+    public void setUp() {
+        eventStrategyFactory = new EventStrategyFactory(List.of(
+                new OrderPlacedStrategy(null),
+                new OrderCancelledStrategy(null),
+                new InventoryAdjustedStrategy(null)));
+        rawMessage = "{\"type\":\"" + type + "\",\"sku\":\"PRODUCT-123\",\"quantity\":2,\"delta\":5,"
+                + "\"payload\":\"order-8f14e45fceea167a5a36dedd4bea2543\"}";
+        body = rawMessage.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public EventRequest parseFromString() throws IOException {
+        return objectMapper.readValue(new String(body, StandardCharsets.UTF_8), EventRequest.class);
+    }
+
+    @Benchmark
+    public EventRequest parseFromBytes() throws IOException {
+        return objectMapper.readValue(body, EventRequest.class);
+    }
+
+    @Benchmark
+    public EventProcessingStrategy strategyLookup() {
+        return eventStrategyFactory.get(type);
+    }
+}
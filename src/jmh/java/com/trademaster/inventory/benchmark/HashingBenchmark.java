@@ -0,0 +1,61 @@
+package com.trademaster.inventory.benchmark;
+
+import com.trademaster.inventory.consumer.EventHasher;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Idempotency hashing of a message body: the original String-based SHA-256 path versus
+ * {@link EventHasher}. Run with {@code -prof gc} to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HashingBenchmark {
+
+    private final EventHasher sha256Hasher = new EventHasher(EventHasher.Algorithm.SHA_256);
+    private final EventHasher murmurHasher = new EventHasher(EventHasher.Algorithm.MURMUR3_128);
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        body = ("{\"type\":\"ORDER_PLACED\",\"sku\":\"PRODUCT-123\",\"quantity\":2,"
+                + "\"payload\":\"order-8f14e45fceea167a5a36dedd4bea2543\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String legacySha256Hex() throws NoSuchAlgorithmException {
+        String content = new String(body, StandardCharsets.UTF_8);
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] hashBytes = digest.digest(content.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hexString = new StringBuilder();
+
+        for (byte b : hashBytes) {
+            String hex = Integer.toHexString(0xff & b);
+            if (hex.length() == 1) {
+                hexString.append('0');
+            }
+            hexString.append(hex);
+        }
+
+        return hexString.toString();
+    }
+
+    @Benchmark
+    public String sha256Hex() {
+        return sha256Hasher.hash(body).toHex();
+    }
+
+    @Benchmark
+    public String murmur3Hex() {
+        return murmurHasher.hash(body).toHex();
+    }
+}
@@ -0,0 +1,68 @@
+package com.trademaster.inventory.benchmark;
+
+import com.trademaster.inventory.domain.Event;
+import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.enums.EventType;
+import com.trademaster.inventory.repository.EventRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Events per second stored through {@link EventRepository#persistAll}, {@value #ROWS} per
+ * transaction, per {@code hibernate.jdbc.batch_size}. A batch size of 1 sends every INSERT
+ * on its own, as IDENTITY ids used to force. H2 runs in memory, so this only shows the
+ * per-statement cost saved on the client side; against PostgreSQL every saved statement is
+ * also a saved network round trip.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsertBatchBenchmark {
+
+    private static final int ROWS = 1000;
+
+    @Param({"1", "10", "50", "200"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private EventRepository eventRepository;
+    private TransactionTemplate transactionTemplate;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        eventRepository = context.getBean(EventRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Event> persistAll() {
+        List<Event> events = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            events.add(Event.builder()
+                    .type(EventType.ORDER_PLACED)
+                    .sku(BenchmarkApplication.SKU)
+                    .quantity(1)
+                    .status(EventStatus.RECEIVED)
+                    .attempts(0)
+                    .hash("insert-" + ++sequence)
+                    .build());
+        }
+        return transactionTemplate.execute(status -> eventRepository.persistAll(events));
+    }
+}
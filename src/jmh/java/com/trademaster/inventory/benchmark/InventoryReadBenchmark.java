@@ -0,0 +1,89 @@
+package com.trademaster.inventory.benchmark;
+
+import com.trademaster.inventory.domain.InventoryItem;
+import com.trademaster.inventory.repository.InventoryItemRepository;
+import com.trademaster.inventory.service.InventoryQueryService;
+import com.trademaster.inventory.service.InventoryStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inventory reads mixed with writes on the same hot SKUs: seven threads read single SKUs
+ * and batches of ten through {@link InventoryQueryService} while one thread adjusts them,
+ * invalidating the read cache on every commit. {@code cacheSize=0} disables the cache.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InventoryReadBenchmark {
+
+    private static final int HOT_SKUS = 100;
+    private static final int BATCH = 10;
+
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    private ConfigurableApplicationContext context;
+    private InventoryQueryService inventoryQueryService;
+    private InventoryStore inventoryStore;
+    private TransactionTemplate transactionTemplate;
+    private final List<String> skus = new ArrayList<>(HOT_SKUS);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("app.inventory-cache.max-size=" + cacheSize);
+        InventoryItemRepository inventoryItemRepository = context.getBean(InventoryItemRepository.class);
+        for (int i = 0; i < HOT_SKUS; i++) {
+            String sku = "HOT-" + i;
+            skus.add(sku);
+            inventoryItemRepository.save(InventoryItem.builder().sku(sku).quantity(1_000_000).build());
+        }
+        inventoryQueryService = context.getBean(InventoryQueryService.class);
+        inventoryStore = context.getBean(InventoryStore.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public Object readOne() {
+        return inventoryQueryService.quantity(randomSku());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Object readBatch() {
+        List<String> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            batch.add(randomSku());
+        }
+        return inventoryQueryService.quantities(batch);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void write() {
+        String sku = randomSku();
+        transactionTemplate.executeWithoutResult(status -> inventoryStore.adjust(sku, 1));
+    }
+
+    private String randomSku() {
+        return skus.get(ThreadLocalRandom.current().nextInt(HOT_SKUS));
+    }
+}
@@ -0,0 +1,105 @@
+package com.trademaster.inventory.benchmark;
+
+import com.trademaster.inventory.repository.EventRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one sweep's pending scan as the {@code events} table grows. The table holds
+ * {@code tableSize} PROCESSED rows of history plus a fixed backlog of pending rows.
+ * {@code keysetClaimScan} is the claim query used by the sweeper (rolled back so every
+ * invocation sees the same rows), {@code keysetScan} the same scan without row locks, and
+ * {@code offsetPageWithCount} the COUNT plus ORDER BY page the sweeper issued before.
+ * <p>
+ * On H2 the claim scan is dominated by locking: an ordered FOR UPDATE locks every pending
+ * row, not just the returned chunk as PostgreSQL does. Compare sizes, not absolute times.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PendingScanBenchmark {
+
+    private static final int PENDING = 1_000;
+    private static final int CHUNK_SIZE = 100;
+    private static final LocalDateTime START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Param({"10000", "100000", "1000000"})
+    private int tableSize;
+
+    private ConfigurableApplicationContext context;
+    private EventRepository eventRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        eventRepository = context.getBean(EventRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        LocalDateTime base = LocalDateTime.now().minusDays(30);
+        insert(0, tableSize, "PROCESSED", base);
+        insert(tableSize, PENDING, "RETRY", base.plusDays(29));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Long> keysetClaimScan() {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return eventRepository.lockClaimablePendingIds(LocalDateTime.now(), START, 0L, CHUNK_SIZE);
+        });
+    }
+
+    @Benchmark
+    public List<Long> keysetScan() {
+        LocalDateTime now = LocalDateTime.now();
+        return jdbcTemplate.queryForList("SELECT id FROM events WHERE status IN ('RECEIVED', 'RETRY') "
+                        + "AND (lease_expires_at IS NULL OR lease_expires_at < ?) "
+                        + "AND next_attempt_at <= ? "
+                        + "AND (next_attempt_at > ? OR (next_attempt_at = ? AND id > ?)) "
+                        + "ORDER BY next_attempt_at, id LIMIT ?",
+                Long.class, now, now, START, START, 0L, CHUNK_SIZE);
+    }
+
+    @Benchmark
+    public List<Long> offsetPageWithCount() {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM events WHERE status IN ('RECEIVED', 'RETRY')", Long.class);
+            return jdbcTemplate.queryForList(
+                    "SELECT id FROM events WHERE status IN ('RECEIVED', 'RETRY') ORDER BY created_at LIMIT ?",
+                    Long.class, CHUNK_SIZE);
+        });
+    }
+
+    private void insert(int offset, int count, String status, LocalDateTime from) {
+        int batch = 10_000;
+        for (int start = 0; start < count; start += batch) {
+            List<Object[]> rows = new ArrayList<>(batch);
+            for (int i = start; i < Math.min(start + batch, count); i++) {
+                long n = offset + i;
+                rows.add(new Object[]{"ORDER_PLACED", "SKU-" + (n % 1000), 1, status, 0, "scan-" + n,
+                        Timestamp.valueOf(from.plusSeconds(i)), Timestamp.valueOf(from.plusSeconds(i))});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO events (type, sku, quantity, status, attempts, hash, created_at, "
+                    + "next_attempt_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        }
+    }
+}
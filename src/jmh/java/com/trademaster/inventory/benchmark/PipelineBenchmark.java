@@ -0,0 +1,72 @@
+package com.trademaster.inventory.benchmark;
+
+import com.rabbitmq.client.Channel;
+import com.trademaster.inventory.consumer.EventConsumer;
+import com.trademaster.inventory.domain.Event;
+import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.enums.EventType;
+import com.trademaster.inventory.repository.EventRepository;
+import com.trademaster.inventory.service.EventProcessingService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Back half of the pipeline against H2: {@link EventProcessingService#processEvent} on a
+ * stored event, and the full {@link EventConsumer#handleEvent} path for a new message.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PipelineBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private EventProcessingService eventProcessingService;
+    private EventConsumer eventConsumer;
+    private Channel channel;
+    private Event storedEvent;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        eventProcessingService = context.getBean(EventProcessingService.class);
+        eventConsumer = context.getBean(EventConsumer.class);
+        channel = Mockito.mock(Channel.class);
+        storedEvent = context.getBean(EventRepository.class).save(Event.builder()
+                .type(EventType.ORDER_PLACED)
+                .sku(BenchmarkApplication.SKU)
+                .status(EventStatus.RECEIVED)
+                .attempts(0)
+                .hash("pipeline-benchmark")
+                .build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void processEvent() {
+        eventProcessingService.processEvent(storedEvent);
+    }
+
+    @Benchmark
+    public void handleEvent() throws Exception {
+        long id = ++sequence;
+        String body = "{\"type\":\"ORDER_PLACED\",\"sku\":\"" + BenchmarkApplication.SKU
+                + "\",\"quantity\":1,\"payload\":\"pipeline-" + id + "\"}";
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(id);
+        eventConsumer.handleEvent(new Message(body.getBytes(StandardCharsets.UTF_8), properties), channel, id);
+    }
+}
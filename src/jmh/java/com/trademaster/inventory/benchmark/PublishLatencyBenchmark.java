@@ -0,0 +1,122 @@
+package com.trademaster.inventory.benchmark;
+
+import com.trademaster.inventory.controller.EventController;
+import com.trademaster.inventory.dto.EventRequest;
+import com.trademaster.inventory.enums.EventType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Latency distribution of {@code POST /events} from eight concurrent clients, publishing
+ * synchronously to the broker versus appending to the outbox ({@code outbox=true}). JMH
+ * reports the percentiles, including p0.99, per mode. The controller is called directly so
+ * that HTTP client and socket overhead do not blur the difference.
+ * <p>
+ * The broker is replaced by a template that serializes each message and spends
+ * {@value #BROKER_ROUND_TRIP_MICROS} µs per round trip: once per synchronous publish, and
+ * once per confirmed batch for the outbox relay.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PublishLatencyBenchmark {
+
+    static final long BROKER_ROUND_TRIP_MICROS = 1000;
+
+    @Param({"false", "true"})
+    public boolean outbox;
+
+    private ConfigurableApplicationContext context;
+    private EventController eventController;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(List.of(SlowBrokerConfig.class), "app.outbox.enabled=" + outbox);
+        eventController = context.getBean(EventController.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<String> publish() {
+        return eventController.publishEvent(EventRequest.builder()
+                .type(EventType.ORDER_PLACED)
+                .sku(BenchmarkApplication.SKU)
+                .quantity(1)
+                .payload("bench-" + sequence.incrementAndGet())
+                .build());
+    }
+
+    // Not a @Configuration: it is passed to BenchmarkApplication explicitly and must not be
+    // picked up by component scanning when another benchmark starts the application
+    static class SlowBrokerConfig {
+
+        @Bean
+        @Primary
+        RabbitTemplate slowRabbitTemplate(ConnectionFactory connectionFactory) {
+            return new SlowBrokerTemplate(connectionFactory);
+        }
+    }
+
+    /**
+     * A single publish waits one round trip for the broker; inside {@link #invoke} sends are
+     * pipelined and only {@link #waitForConfirmsOrDie} waits, once for the whole batch.
+     */
+    static class SlowBrokerTemplate extends RabbitTemplate {
+
+        private final ThreadLocal<Boolean> batching = ThreadLocal.withInitial(() -> false);
+
+        SlowBrokerTemplate(ConnectionFactory connectionFactory) {
+            // The connection factory is never used, it only satisfies the template's checks
+            super(connectionFactory);
+            setMessageConverter(new Jackson2JsonMessageConverter());
+        }
+
+        @Override
+        public void convertAndSend(String routingKey, Object object) {
+            getMessageConverter().toMessage(object, new MessageProperties());
+            if (!batching.get()) {
+                roundTrip();
+            }
+        }
+
+        @Override
+        public <T> T invoke(OperationsCallback<T> action) {
+            batching.set(true);
+            try {
+                return action.doInRabbit(this);
+            } finally {
+                batching.set(false);
+            }
+        }
+
+        @Override
+        public void waitForConfirmsOrDie(long timeout) {
+            roundTrip();
+        }
+
+        private static void roundTrip() {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(BROKER_ROUND_TRIP_MICROS));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.trademaster.inventory.benchmark;
+
+import com.trademaster.inventory.domain.InventoryItem;
+import com.trademaster.inventory.dto.RebuildReport;
+import com.trademaster.inventory.enums.EventType;
+import com.trademaster.inventory.rebuild.InventoryRebuildService;
+import com.trademaster.inventory.rebuild.InventorySnapshotService;
+import com.trademaster.inventory.repository.InventoryItemRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Events per second replayed by {@link InventoryRebuildService#rebuild} over {@value #EVENTS}
+ * PROCESSED events on {@value #SKUS} SKUs after a snapshot, per fork-join parallelism. Each
+ * operation is a whole rebuild: cursor read, parallel fold, shadow table write and swap.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RebuildBenchmark {
+
+    private static final int EVENTS = 200_000;
+    private static final int SKUS = 1000;
+    private static final EventType[] TYPES = EventType.values();
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    private ConfigurableApplicationContext context;
+    private InventoryRebuildService rebuildService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("app.rebuild.parallelism=" + parallelism);
+        rebuildService = context.getBean(InventoryRebuildService.class);
+
+        List<InventoryItem> items = new ArrayList<>(SKUS);
+        for (int i = 0; i < SKUS; i++) {
+            items.add(InventoryItem.builder().sku(sku(i)).quantity(1_000_000).build());
+        }
+        context.getBean(InventoryItemRepository.class).saveAll(items);
+        context.getBean(InventorySnapshotService.class).checkpoint();
+
+        // Explicit ids far above the sequence, inserted after the snapshot so all of them are replayed
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            EventType type = TYPES[i % TYPES.length];
+            boolean adjustment = type == EventType.INVENTORY_ADJUSTED;
+            rows.add(new Object[]{1_000_000L + i, type.name(), sku(i % SKUS), adjustment ? null : 1,
+                    adjustment ? (i % 2 == 0 ? 1 : -1) : null, "rebuild-" + i, now, now});
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate("INSERT INTO events "
+                + "(id, type, sku, quantity, delta, status, attempts, hash, next_attempt_at, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, 'PROCESSED', 0, ?, ?, ?)", rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public RebuildReport rebuild() {
+        return rebuildService.rebuild();
+    }
+
+    private static String sku(int index) {
+        return "REBUILD-" + index;
+    }
+}
@@ -0,0 +1,75 @@
+package com.trademaster.inventory.benchmark;
+
+import com.trademaster.inventory.dto.ReplayRequest;
+import com.trademaster.inventory.enums.ReplaySource;
+import com.trademaster.inventory.replay.DlqEventReplayer;
+import com.trademaster.inventory.replay.ReplayJob;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to requeue {@code events} DLQ rows from the database with {@link DlqEventReplayer}
+ * per batch size, against H2. Every invocation starts from a freshly seeded DLQ.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReplayBenchmark {
+
+    @Param({"100000"})
+    public int events;
+
+    @Param({"100", "1000", "5000"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private DlqEventReplayer dlqEventReplayer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        dlqEventReplayer = context.getBean(DlqEventReplayer.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void seedDlq() {
+        jdbcTemplate.update("DELETE FROM events");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int chunk = 10_000;
+        for (int start = 0; start < events; start += chunk) {
+            List<Object[]> rows = new ArrayList<>(chunk);
+            for (int i = start; i < Math.min(start + chunk, events); i++) {
+                rows.add(new Object[]{"ORDER_PLACED", "SKU-" + (i % 1000), 1, "DLQ", 4, "replay-" + i, now, now});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO events (type, sku, quantity, status, attempts, hash, created_at, "
+                    + "next_attempt_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long requeueAll() {
+        ReplayJob job = new ReplayJob("bench", ReplayRequest.builder().source(ReplaySource.DATABASE).build());
+        long afterId = 0;
+        while (afterId >= 0) {
+            afterId = dlqEventReplayer.replayBatch(job, afterId, batchSize);
+        }
+        return job.replayed();
+    }
+}
@@ -0,0 +1,75 @@
+package com.trademaster.inventory.benchmark;
+
+import com.trademaster.inventory.domain.Event;
+import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.enums.EventType;
+import com.trademaster.inventory.repository.EventRepository;
+import com.trademaster.inventory.service.BatchProcessingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Events per second re-driven by the {@link BatchProcessingService} sweeper over RETRY rows
+ * that carry their own quantity and delta. All rows target one SKU, so {@code coalescing}
+ * compares one UPDATE per event with one UPDATE per SKU.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RetryThroughputBenchmark {
+
+    private static final int CHUNK_SIZE = 100;
+
+    @Param({"false", "true"})
+    private boolean coalescing;
+
+    private ConfigurableApplicationContext context;
+    private EventRepository eventRepository;
+    private BatchProcessingService batchProcessingService;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("app.chunk-size=" + CHUNK_SIZE,
+                "app.coalescing.enabled=" + coalescing);
+        eventRepository = context.getBean(EventRepository.class);
+        batchProcessingService = context.getBean(BatchProcessingService.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void seedRetries() {
+        List<Event> events = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            long id = ++sequence;
+            boolean adjustment = id % 2 == 0;
+            events.add(Event.builder()
+                    .type(adjustment ? EventType.INVENTORY_ADJUSTED : EventType.ORDER_PLACED)
+                    .sku(BenchmarkApplication.SKU)
+                    .quantity(adjustment ? null : 1)
+                    .delta(adjustment ? 1 : null)
+                    .status(EventStatus.RETRY)
+                    .attempts(1)
+                    .hash("retry-" + id)
+                    .build());
+        }
+        eventRepository.saveAll(events);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK_SIZE)
+    public void sweep() {
+        batchProcessingService.processPendingEvents();
+    }
+}
@@ -0,0 +1,55 @@
+package com.trademaster.inventory.benchmark;
+
+import com.trademaster.inventory.dto.EventRequest;
+import com.trademaster.inventory.enums.EventType;
+import com.trademaster.inventory.service.EventProcessingStrategy;
+import com.trademaster.inventory.service.EventStrategyFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EventProcessingStrategy#execute} for each event type against H2, each call in its
+ * own transaction as it would be inside {@code EventProcessingService.processEvent}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StrategyBenchmark {
+
+    @Param({"ORDER_PLACED", "ORDER_CANCELLED", "INVENTORY_ADJUSTED"})
+    private EventType type;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private EventProcessingStrategy strategy;
+    private EventRequest eventRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        strategy = context.getBean(EventStrategyFactory.class).get(type);
+        eventRequest = EventRequest.builder()
+                .type(type)
+                .sku(BenchmarkApplication.SKU)
+                .quantity(1)
+                .delta(1)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void execute() {
+        transactionTemplate.executeWithoutResult(status -> strategy.execute(eventRequest));
+    }
+}
@@ -0,0 +1,123 @@
+package com.trademaster.inventory.benchmark;
+
+import com.rabbitmq.client.Channel;
+import com.trademaster.inventory.consumer.EventConsumer;
+import com.trademaster.inventory.domain.InventoryItem;
+import com.trademaster.inventory.repository.InventoryItemRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Messages per second through {@link EventConsumer} with {@code consumers} messages in
+ * flight at once, on a pool of platform threads versus one virtual thread per message
+ * under the {@code virtual-threads} profile (semaphore-capped JDBC). The virtual variant
+ * needs a Java 21 runtime.
+ * <p>
+ * H2 in memory never blocks on I/O, so this mostly shows scheduling and pool contention
+ * overhead; against PostgreSQL the blocking time the virtual threads can overlap is larger.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+    private static final int MESSAGES = 1_000;
+    private static final int SKUS = 256;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"64", "256"})
+    private int consumers;
+
+    private ConfigurableApplicationContext context;
+    private EventConsumer eventConsumer;
+    private Channel channel;
+    private Executor executor;
+    private ExecutorService platformPool;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = threads.equals("virtual");
+        context = virtual
+                ? BenchmarkApplication.start("spring.profiles.active=virtual-threads",
+                        "app.jdbc.concurrency-limit.max-concurrent=10")
+                : BenchmarkApplication.start();
+        eventConsumer = context.getBean(EventConsumer.class);
+        channel = Mockito.mock(Channel.class);
+
+        List<InventoryItem> items = new ArrayList<>(SKUS);
+        for (int i = 0; i < SKUS; i++) {
+            items.add(InventoryItem.builder().sku("VT-SKU-" + i).quantity(Integer.MAX_VALUE / 2).build());
+        }
+        context.getBean(InventoryItemRepository.class).saveAll(items);
+
+        if (virtual) {
+            executor = new VirtualThreadTaskExecutor("bench-consumer-");
+        } else {
+            platformPool = Executors.newFixedThreadPool(consumers);
+            executor = platformPool;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (platformPool != null) {
+            platformPool.shutdown();
+        }
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void consume() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(MESSAGES);
+        // Caps in-flight messages at the consumer count for both thread kinds
+        Semaphore inFlight = new Semaphore(consumers);
+        for (int i = 0; i < MESSAGES; i++) {
+            Message message = nextMessage();
+            inFlight.acquire();
+            executor.execute(() -> {
+                try {
+                    eventConsumer.handleEvent(message, channel, message.getMessageProperties().getDeliveryTag());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    inFlight.release();
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    private Message nextMessage() {
+        long id = sequence.incrementAndGet();
+        String body = "{\"type\":\"ORDER_CANCELLED\",\"sku\":\"VT-SKU-" + (id % SKUS)
+                + "\",\"quantity\":1,\"payload\":\"vt-" + id + "\"}";
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(id);
+        return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
@@ -0,0 +1,65 @@
+package com.trademaster.inventory.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trademaster.inventory.codec.BinaryEventCodec;
+import com.trademaster.inventory.dto.EventRequest;
+import com.trademaster.inventory.enums.EventType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding (and encoding) an {@link EventRequest} from JSON versus {@link BinaryEventCodec}.
+ * The message size of each format is printed at setup, since JMH only reports time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WireFormatBenchmark {
+
+    @Param({"ORDER_PLACED", "INVENTORY_ADJUSTED"})
+    private EventType type;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private EventRequest request;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws IOException {
+        request = EventRequest.builder()
+                .type(type)
+                .sku("PRODUCT-123")
+                .quantity(type == EventType.ORDER_PLACED ? 2 : null)
+                .delta(type == EventType.INVENTORY_ADJUSTED ? -5 : null)
+                .payload("order-8f14e45fceea167a5a36dedd4bea2543")
+                .build();
+        json = objectMapper.writeValueAsBytes(request);
+        binary = BinaryEventCodec.encode(request);
+        System.out.printf("%n%s bytes/message: json=%d binary=%d%n", type, json.length, binary.length);
+    }
+
+    @Benchmark
+    public EventRequest decodeJson() throws IOException {
+        return objectMapper.readValue(json, EventRequest.class);
+    }
+
+    @Benchmark
+    public EventRequest decodeBinary() {
+        return BinaryEventCodec.decode(binary);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return BinaryEventCodec.encode(request);
+    }
+}
@@ -0,0 +1,84 @@
+package com.trademaster.inventory.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly range partitions of {@code events_archive} on {@code archived_at}
+ * (PostgreSQL only, see migration V8), enabled with {@code app.archive.partitions.enabled}.
+ * The partitions of the current and the next {@code app.archive.partitions.months-ahead}
+ * months are created in advance, so archived rows never land in the default partition.
+ * Partitions whose month ended more than {@code app.archive.partitions.keep-months} months
+ * ago are dropped, which expires old archive rows without a DELETE.
+ */
+@Component
+@ConditionalOnProperty(name = "app.archive.partitions.enabled", havingValue = "true")
+@Slf4j
+public class ArchivePartitionManager {
+
+    static final String PARENT_TABLE = "events_archive";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARENT_TABLE + "_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int keepMonths;
+
+    public ArchivePartitionManager(JdbcTemplate jdbcTemplate,
+                                   @Value("${app.archive.partitions.months-ahead:2}") int monthsAhead,
+                                   @Value("${app.archive.partitions.keep-months:12}") int keepMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.keepMonths = keepMonths;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.archive.partitions.interval-ms:3600000}")
+    public void maintain() {
+        maintain(YearMonth.now());
+    }
+
+    void maintain(YearMonth current) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                jdbcTemplate.execute(String.format(
+                        "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                        partitionName(month), PARENT_TABLE, month.atDay(1), month.plusMonths(1).atDay(1)));
+            } catch (Exception e) {
+                // Fails if the default partition already holds rows of that month; retried on the next run
+                log.error("Failed to create archive partition for {}", month, e);
+            }
+        }
+
+        YearMonth oldestKept = current.minusMonths(keepMonths);
+        for (String partition : partitions()) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (matcher.matches() && YearMonth.parse(matcher.group(1), PARTITION_MONTH).isBefore(oldestKept)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                log.info("Dropped archive partition {}", partition);
+            }
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARENT_TABLE + "_p" + month.format(PARTITION_MONTH);
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList("SELECT child.relname FROM pg_inherits "
+                + "JOIN pg_class child ON child.oid = pg_inherits.inhrelid "
+                + "JOIN pg_class parent ON parent.oid = pg_inherits.inhparent "
+                + "WHERE parent.relname = ?", String.class, PARENT_TABLE);
+    }
+}
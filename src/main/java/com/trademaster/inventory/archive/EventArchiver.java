@@ -0,0 +1,86 @@
+package com.trademaster.inventory.archive;
+
+import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.metrics.EventCounters;
+import com.trademaster.inventory.metrics.EventMetrics;
+import com.trademaster.inventory.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves PROCESSED events older than {@code app.archive.retention-hours} from {@code events}
+ * to {@code events_archive}, enabled with {@code app.archive.enabled}. Each batch is
+ * locked with {@code FOR UPDATE SKIP LOCKED}, copied and deleted in one transaction, so
+ * the hot table only holds pending, failed and recent events, and the hash index and the
+ * pending scan stay the same size however long the service runs.
+ * <p>
+ * The retention is also the dedup window: a redelivery of an archived event is no longer
+ * found by its hash and is processed again, so it must be longer than any redelivery or
+ * replay can be late. RETRY, DLQ and APPLIED events are never archived.
+ */
+@Component
+@ConditionalOnProperty(name = "app.archive.enabled", havingValue = "true")
+@Slf4j
+public class EventArchiver {
+
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EventCounters eventCounters;
+    private final EventMetrics eventMetrics;
+    private final Duration retention;
+    private final int batchSize;
+
+    public EventArchiver(EventRepository eventRepository,
+                         TransactionTemplate transactionTemplate,
+                         EventCounters eventCounters,
+                         EventMetrics eventMetrics,
+                         @Value("${app.archive.retention-hours:168}") long retentionHours,
+                         @Value("${app.archive.batch-size:1000}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventCounters = eventCounters;
+        this.eventMetrics = eventMetrics;
+        this.retention = Duration.ofHours(retentionHours);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Archives batches until no PROCESSED event older than the retention is left.
+     */
+    @Scheduled(fixedDelayString = "${app.archive.interval-ms:300000}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        long started = System.nanoTime();
+        int total = 0;
+        int archived;
+        do {
+            archived = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            eventMetrics.archived(archived);
+            total += archived;
+        } while (archived == batchSize);
+
+        if (total > 0) {
+            log.info("Archived {} events created before {} in {} ms",
+                    total, cutoff, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = eventRepository.lockArchivableIds(cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        eventRepository.copyToArchive(ids, LocalDateTime.now());
+        int deleted = eventRepository.deleteByIdIn(ids);
+        eventCounters.removed(EventStatus.PROCESSED, deleted);
+        return deleted;
+    }
+}
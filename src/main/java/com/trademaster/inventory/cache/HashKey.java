@@ -0,0 +1,82 @@
+package com.trademaster.inventory.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Raw digest bytes of an event, used as the key of {@link IdempotencyCache} so lookups
+ * compare bytes instead of hex strings.
+ */
+public final class HashKey {
+
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final ThreadLocal<byte[]> HEX_BUFFER = ThreadLocal.withInitial(() -> new byte[64]);
+
+    private final byte[] bytes;
+    private final int hashCode;
+
+    public HashKey(byte[] bytes) {
+        this(bytes, bytes.length);
+    }
+
+    /**
+     * Copies the first {@code length} bytes of {@code source}, which may be a reused buffer.
+     */
+    public HashKey(byte[] source, int length) {
+        this.bytes = Arrays.copyOf(source, length);
+        this.hashCode = Arrays.hashCode(this.bytes);
+    }
+
+    public static HashKey fromHex(String hex) {
+        if (hex.length() % 2 != 0) {
+            throw new IllegalArgumentException("Hex string must have an even length: " + hex);
+        }
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(hex.charAt(2 * i), 16);
+            int low = Character.digit(hex.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                throw new IllegalArgumentException("Invalid hex string: " + hex);
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return new HashKey(bytes);
+    }
+
+    /**
+     * Lower-case hex form, as stored in the {@code events.hash} column. Digits come from a
+     * lookup table and are written into a per-thread buffer, so the only allocation is the
+     * returned string.
+     */
+    public String toHex() {
+        int length = bytes.length * 2;
+        byte[] buffer = HEX_BUFFER.get();
+        if (buffer.length < length) {
+            buffer = new byte[length];
+            HEX_BUFFER.set(buffer);
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            buffer[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0x0f];
+            buffer[2 * i + 1] = HEX_DIGITS[bytes[i] & 0x0f];
+        }
+        return new String(buffer, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        return other instanceof HashKey that && hashCode == that.hashCode && Arrays.equals(bytes, that.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+}
@@ -0,0 +1,109 @@
+package com.trademaster.inventory.cache;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, concurrent set of recently seen event hashes that sits in front of
+ * {@code EventRepository.findByHash}. Entries are evicted oldest first once the cache
+ * holds more than {@code maxSize} hashes, and expire {@code ttl} after insertion.
+ * <p>
+ * A hit means the event is known to be stored already; a miss only means the database
+ * has to be asked.
+ */
+public class IdempotencyCache {
+
+    private final ConcurrentHashMap<HashKey, Long> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    public IdempotencyCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    IdempotencyCache(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public boolean contains(HashKey key) {
+        Long insertedAt = entries.get(key);
+        if (insertedAt == null) {
+            misses.increment();
+            return false;
+        }
+        if (isExpired(insertedAt, nanoClock.getAsLong())) {
+            if (entries.remove(key, insertedAt)) {
+                size.decrementAndGet();
+                evictions.increment();
+            }
+            misses.increment();
+            return false;
+        }
+        hits.increment();
+        return true;
+    }
+
+    public void add(HashKey key) {
+        long now = nanoClock.getAsLong();
+        if (entries.put(key, now) == null) {
+            size.incrementAndGet();
+        }
+        insertionOrder.add(new Entry(key, now));
+        evict(now);
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    private void evict(long now) {
+        Entry head;
+        while ((head = insertionOrder.peek()) != null) {
+            Long current = entries.get(head.key());
+            boolean stale = current == null || current != head.insertedAt();
+            if (!stale && size.get() <= maxSize && !isExpired(head.insertedAt(), now)) {
+                return;
+            }
+            if (!insertionOrder.remove(head)) {
+                continue;
+            }
+            if (!stale && entries.remove(head.key(), head.insertedAt())) {
+                size.decrementAndGet();
+                evictions.increment();
+            }
+        }
+    }
+
+    private boolean isExpired(long insertedAt, long now) {
+        return now - insertedAt > ttlNanos;
+    }
+
+    private record Entry(HashKey key, long insertedAt) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.trademaster.inventory.cache;
+
+import com.trademaster.inventory.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Seeds the {@link IdempotencyCache} with the hashes of the most recently stored events,
+ * so a replay right after a restart does not fall through to the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyCacheWarmer {
+
+    private final EventRepository eventRepository;
+    private final IdempotencyCache idempotencyCache;
+
+    @Value("${app.idempotency-cache.warm-up-size:10000}")
+    private Integer warmUpSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmUpSize <= 0) {
+            return;
+        }
+
+        List<String> hashes = eventRepository.findRecentHashes(PageRequest.of(0, warmUpSize));
+
+        // Newest first from the query; insert oldest first so the newest are evicted last
+        for (int i = hashes.size() - 1; i >= 0; i--) {
+            try {
+                idempotencyCache.add(HashKey.fromHex(hashes.get(i)));
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping malformed event hash during cache warm-up: {}", hashes.get(i));
+            }
+        }
+
+        log.info("Idempotency cache warmed with {} hashes", idempotencyCache.size());
+    }
+}
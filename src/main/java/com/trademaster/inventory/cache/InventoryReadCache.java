@@ -0,0 +1,167 @@
+package com.trademaster.inventory.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, concurrent cache of committed quantities per SKU in front of
+ * {@code InventoryItemRepository}. Entries are evicted oldest first once the cache holds
+ * more than {@code maxSize} SKUs, and expire {@code ttl} after insertion.
+ * <p>
+ * Writers call {@link #invalidate} for every SKU they change; inside a transaction the entry
+ * is dropped once it commits. A reader takes {@link #generation} before loading from the
+ * database and only stores the result with {@link #putIfCurrent} if no invalidation of that
+ * SKU happened in between, so a value read before a commit cannot overwrite the invalidation.
+ */
+public class InventoryReadCache {
+
+    private static final int GENERATION_STRIPES = 256;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    public InventoryReadCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    InventoryReadCache(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return the cached quantity, or null on a miss
+     */
+    public Integer get(String sku) {
+        Entry entry = entries.get(sku);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (isExpired(entry.insertedAt(), nanoClock.getAsLong())) {
+            if (entries.remove(sku, entry)) {
+                size.decrementAndGet();
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.quantity();
+    }
+
+    public long generation(String sku) {
+        return generations.get(stripeOf(sku));
+    }
+
+    /**
+     * Stores a quantity loaded from the database, unless the SKU was invalidated since
+     * {@code generation} was taken.
+     */
+    public void putIfCurrent(String sku, int quantity, long generation) {
+        if (maxSize <= 0) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        Entry entry = new Entry(sku, quantity, now);
+        if (entries.put(sku, entry) == null) {
+            size.incrementAndGet();
+        }
+        // An invalidation may have raced the put, in which case the entry is dropped again
+        if (generations.get(stripeOf(sku)) != generation) {
+            if (entries.remove(sku, entry)) {
+                size.decrementAndGet();
+            }
+            return;
+        }
+        insertionOrder.add(entry);
+        evict(now);
+    }
+
+    /**
+     * Drops the SKU now, or when the current transaction commits.
+     */
+    public void invalidate(String sku) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(sku);
+                }
+            });
+        } else {
+            evictNow(sku);
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    private void evictNow(String sku) {
+        generations.incrementAndGet(stripeOf(sku));
+        if (entries.remove(sku) != null) {
+            size.decrementAndGet();
+        }
+    }
+
+    private void evict(long now) {
+        Entry head;
+        while ((head = insertionOrder.peek()) != null) {
+            boolean stale = entries.get(head.sku()) != head;
+            if (!stale && size.get() <= maxSize && !isExpired(head.insertedAt(), now)) {
+                return;
+            }
+            if (!insertionOrder.remove(head)) {
+                continue;
+            }
+            if (!stale && entries.remove(head.sku(), head)) {
+                size.decrementAndGet();
+                evictions.increment();
+            }
+        }
+    }
+
+    private boolean isExpired(long insertedAt, long now) {
+        return now - insertedAt > ttlNanos;
+    }
+
+    private static int stripeOf(String sku) {
+        return Math.floorMod(Objects.hashCode(sku), GENERATION_STRIPES);
+    }
+
+    private record Entry(String sku, int quantity, long insertedAt) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.trademaster.inventory.codec;
+
+import com.trademaster.inventory.dto.EventRequest;
+import com.trademaster.inventory.enums.EventType;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary encoding of {@link EventRequest}, sent with content type
+ * {@value #CONTENT_TYPE}. Layout (version 1):
+ * <pre>
+ * version     1 byte
+ * type        1 byte, {@link EventType} ordinal
+ * flags       1 byte, which of sku / quantity / delta / payload follow
+ * sku         varint length + UTF-8 bytes
+ * quantity    zigzag varint
+ * delta       zigzag varint
+ * payload     varint length + UTF-8 bytes
+ * </pre>
+ * Decoding reads the fields straight out of the message body; the only objects created are
+ * the {@link EventRequest} and its SKU and payload Strings.
+ */
+public final class BinaryEventCodec {
+
+    public static final String CONTENT_TYPE = "application/vnd.trademaster.event-v1";
+
+    private static final byte VERSION = 1;
+    private static final int HAS_SKU = 1;
+    private static final int HAS_QUANTITY = 1 << 1;
+    private static final int HAS_DELTA = 1 << 2;
+    private static final int HAS_PAYLOAD = 1 << 3;
+
+    private static final EventType[] TYPES = EventType.values();
+
+    private BinaryEventCodec() {
+    }
+
+    public static boolean isBinary(MessageProperties properties) {
+        return properties != null && CONTENT_TYPE.equals(properties.getContentType());
+    }
+
+    public static byte[] encode(EventRequest request) {
+        if (request.getType() == null) {
+            throw new IllegalArgumentException("Event type is required");
+        }
+        byte[] sku = request.getSku() == null ? null : request.getSku().getBytes(StandardCharsets.UTF_8);
+        byte[] payload = request.getPayload() == null ? null : request.getPayload().getBytes(StandardCharsets.UTF_8);
+
+        int flags = (sku != null ? HAS_SKU : 0)
+                | (request.getQuantity() != null ? HAS_QUANTITY : 0)
+                | (request.getDelta() != null ? HAS_DELTA : 0)
+                | (payload != null ? HAS_PAYLOAD : 0);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+                16 + (sku == null ? 0 : sku.length) + (payload == null ? 0 : payload.length));
+        out.write(VERSION);
+        out.write(request.getType().ordinal());
+        out.write(flags);
+        if (sku != null) {
+            writeVarint(out, sku.length);
+            out.write(sku, 0, sku.length);
+        }
+        if (request.getQuantity() != null) {
+            writeVarint(out, zigzag(request.getQuantity()));
+        }
+        if (request.getDelta() != null) {
+            writeVarint(out, zigzag(request.getDelta()));
+        }
+        if (payload != null) {
+            writeVarint(out, payload.length);
+            out.write(payload, 0, payload.length);
+        }
+        return out.toByteArray();
+    }
+
+    public static EventRequest decode(byte[] body) {
+        Reader reader = new Reader(body);
+        int version = reader.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported binary event version: " + version);
+        }
+        int ordinal = reader.readByte();
+        if (ordinal >= TYPES.length) {
+            throw new IllegalArgumentException("Unknown event type ordinal: " + ordinal);
+        }
+        int flags = reader.readByte();
+
+        EventRequest request = new EventRequest();
+        request.setType(TYPES[ordinal]);
+        if ((flags & HAS_SKU) != 0) {
+            request.setSku(reader.readString());
+        }
+        if ((flags & HAS_QUANTITY) != 0) {
+            request.setQuantity(unzigzag(reader.readVarint()));
+        }
+        if ((flags & HAS_DELTA) != 0) {
+            request.setDelta(unzigzag(reader.readVarint()));
+        }
+        if ((flags & HAS_PAYLOAD) != 0) {
+            request.setPayload(reader.readString());
+        }
+        return request;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Bounds-checked cursor over the body, so truncated input fails with a clear message.
+     */
+    private static final class Reader {
+
+        private final byte[] body;
+        private int position;
+
+        Reader(byte[] body) {
+            this.body = body;
+        }
+
+        int readByte() {
+            require(1);
+            return body[position++] & 0xFF;
+        }
+
+        int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint at offset " + position);
+        }
+
+        String readString() {
+            int length = readVarint();
+            require(length);
+            String value = new String(body, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private void require(int length) {
+            if (length < 0 || position + length > body.length) {
+                throw new IllegalArgumentException("Truncated binary event at offset " + position);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.trademaster.inventory.codec;
+
+import com.trademaster.inventory.dto.EventRequest;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+/**
+ * Writes {@link EventRequest}s with {@link BinaryEventCodec} when the wire format is BINARY and
+ * everything else through the JSON delegate. Reading goes by the message's content type, so
+ * JSON and binary messages can share the queue.
+ */
+public class EventRequestMessageConverter implements MessageConverter {
+
+    public enum WireFormat {
+        JSON,
+        BINARY
+    }
+
+    private final MessageConverter json;
+    private final boolean binary;
+
+    public EventRequestMessageConverter(MessageConverter json, WireFormat wireFormat) {
+        this.json = json;
+        this.binary = wireFormat == WireFormat.BINARY;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) throws MessageConversionException {
+        if (binary && object instanceof EventRequest request) {
+            messageProperties.setContentType(BinaryEventCodec.CONTENT_TYPE);
+            byte[] body = BinaryEventCodec.encode(request);
+            messageProperties.setContentLength(body.length);
+            return new Message(body, messageProperties);
+        }
+        return json.toMessage(object, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) throws MessageConversionException {
+        if (BinaryEventCodec.isBinary(message.getMessageProperties())) {
+            try {
+                return BinaryEventCodec.decode(message.getBody());
+            } catch (IllegalArgumentException e) {
+                throw new MessageConversionException("Failed to decode binary event", e);
+            }
+        }
+        return json.fromMessage(message);
+    }
+}
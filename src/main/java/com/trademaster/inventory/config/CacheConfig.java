@@ -0,0 +1,73 @@
+package com.trademaster.inventory.config;
+
+import com.trademaster.inventory.cache.IdempotencyCache;
+import com.trademaster.inventory.cache.InventoryReadCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public IdempotencyCache idempotencyCache(
+            @Value("${app.idempotency-cache.max-size:100000}") int maxSize,
+            @Value("${app.idempotency-cache.ttl-ms:3600000}") long ttlMs) {
+        return new IdempotencyCache(maxSize, Duration.ofMillis(ttlMs));
+    }
+
+    @Bean
+    public InventoryReadCache inventoryReadCache(
+            @Value("${app.inventory-cache.max-size:10000}") int maxSize,
+            @Value("${app.inventory-cache.ttl-ms:60000}") long ttlMs) {
+        return new InventoryReadCache(maxSize, Duration.ofMillis(ttlMs));
+    }
+
+    /**
+     * Publishes the cache counters under the standard Micrometer cache meter names,
+     * tagged {@code cache=idempotency}.
+     */
+    @Bean
+    public MeterBinder idempotencyCacheMetrics(IdempotencyCache idempotencyCache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", idempotencyCache, IdempotencyCache::hits)
+                    .tag("cache", "idempotency").tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", idempotencyCache, IdempotencyCache::misses)
+                    .tag("cache", "idempotency").tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", idempotencyCache, IdempotencyCache::evictions)
+                    .tag("cache", "idempotency")
+                    .register(registry);
+            Gauge.builder("cache.size", idempotencyCache, IdempotencyCache::size)
+                    .tag("cache", "idempotency")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Same meters as {@link #idempotencyCacheMetrics}, tagged {@code cache=inventory}.
+     */
+    @Bean
+    public MeterBinder inventoryReadCacheMetrics(InventoryReadCache inventoryReadCache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", inventoryReadCache, InventoryReadCache::hits)
+                    .tag("cache", "inventory").tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", inventoryReadCache, InventoryReadCache::misses)
+                    .tag("cache", "inventory").tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", inventoryReadCache, InventoryReadCache::evictions)
+                    .tag("cache", "inventory")
+                    .register(registry);
+            Gauge.builder("cache.size", inventoryReadCache, InventoryReadCache::size)
+                    .tag("cache", "inventory")
+                    .register(registry);
+        };
+    }
+}
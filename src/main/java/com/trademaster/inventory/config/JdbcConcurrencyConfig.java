@@ -0,0 +1,36 @@
+package com.trademaster.inventory.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in a {@link ConcurrencyLimitingDataSource} when
+ * {@code app.jdbc.concurrency-limit.enabled} is set, as the {@code virtual-threads} profile
+ * does.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.jdbc.concurrency-limit.enabled", havingValue = "true")
+public class JdbcConcurrencyConfig {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitingDataSource) {
+                    return bean;
+                }
+                int maxConcurrent = environment.getProperty(
+                        "app.jdbc.concurrency-limit.max-concurrent", Integer.class, 10);
+                long acquireTimeoutMs = environment.getProperty(
+                        "app.jdbc.concurrency-limit.acquire-timeout-ms", Long.class, 30000L);
+                return new ConcurrencyLimitingDataSource(dataSource, maxConcurrent, acquireTimeoutMs);
+            }
+        };
+    }
+}
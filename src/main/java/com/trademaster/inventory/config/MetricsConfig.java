@@ -0,0 +1,44 @@
+package com.trademaster.inventory.config;
+
+import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.metrics.EventCounters;
+import com.trademaster.inventory.service.SkuLanes;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Event counts per status and the sweep backlog, read from the in-process
+     * {@link EventCounters} so a scrape never queries the database.
+     */
+    @Bean
+    public MeterBinder eventCountMetrics(EventCounters eventCounters) {
+        return registry -> {
+            for (EventStatus status : EventStatus.values()) {
+                Gauge.builder("inventory.events", eventCounters, counters -> counters.count(status))
+                        .description("Events per status")
+                        .tag("status", status.name())
+                        .register(registry);
+            }
+            Gauge.builder("inventory.sweeper.backlog", eventCounters, EventCounters::pendingEvents)
+                    .description("Events in RECEIVED or RETRY")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder skuLaneMetrics(SkuLanes skuLanes) {
+        return registry -> {
+            Gauge.builder("inventory.sku_lanes.queued", skuLanes, SkuLanes::queuedThreads)
+                    .description("Threads waiting for a SKU lane")
+                    .register(registry);
+            Gauge.builder("inventory.sku_lanes.max_queued", skuLanes, SkuLanes::maxQueuedThreads)
+                    .description("Threads waiting for the busiest SKU lane")
+                    .register(registry);
+        };
+    }
+}
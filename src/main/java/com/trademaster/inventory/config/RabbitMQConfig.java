@@ -1,17 +1,36 @@
 package com.trademaster.inventory.config;
 
+import com.trademaster.inventory.codec.EventRequestMessageConverter;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 public class RabbitMQConfig {
 
     public static final String ORDERS_EVENTS_QUEUE = "orders.events";
     public static final String ORDERS_EVENTS_DLQ = "orders.events.dlq";
+    public static final String ORDERS_EVENTS_LISTENER_ID = "orders-events";
+    public static final String ORDERS_EVENTS_SHARD_PREFIX = "orders.events.shard-";
+
+    public static String shardQueue(int shard) {
+        return ORDERS_EVENTS_SHARD_PREFIX + shard;
+    }
+
+    public static String deadLetterQueue(String queue) {
+        return queue + ".dlq";
+    }
 
     @Bean
     public Queue ordersEventsQueue() {
@@ -26,15 +45,85 @@ public class RabbitMQConfig {
         return QueueBuilder.durable(ORDERS_EVENTS_DLQ).build();
     }
 
+    /**
+     * Shard queues {@code orders.events.shard-<i>} for {@code app.sharding.enabled}, each
+     * dead-lettering into its own DLQ. The queues are single-active-consumer: the broker
+     * delivers a shard to one consumer at a time across all instances, so its events stay in
+     * order while ownership moves between instances.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+    public Declarables ordersEventsShards(@Value("${app.sharding.shards:4}") int shards) {
+        List<Declarable> declarables = new ArrayList<>();
+        for (int shard = 0; shard < shards; shard++) {
+            String queue = shardQueue(shard);
+            declarables.add(QueueBuilder.durable(queue)
+                    .withArgument("x-dead-letter-exchange", "")
+                    .withArgument("x-dead-letter-routing-key", deadLetterQueue(queue))
+                    .singleActiveConsumer()
+                    .build());
+            declarables.add(QueueBuilder.durable(deadLetterQueue(queue)).build());
+        }
+        return new Declarables(declarables);
+    }
+
+    /**
+     * JSON by default; with {@code app.publisher.wire-format=binary} events are published in
+     * the compact binary format instead. Consumers accept both.
+     */
     @Bean
-    public Jackson2JsonMessageConverter messageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public MessageConverter messageConverter(
+            @Value("${app.publisher.wire-format:json}") EventRequestMessageConverter.WireFormat wireFormat) {
+        return new EventRequestMessageConverter(new Jackson2JsonMessageConverter(), wireFormat);
     }
 
     @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, MessageConverter messageConverter) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
-        template.setMessageConverter(messageConverter());
+        template.setMessageConverter(messageConverter);
         return template;
     }
+
+    /**
+     * Default container factory, started with {@code app.consumer.concurrency} consumers and
+     * a prefetch of {@code app.consumer.prefetch}. Both can be changed at runtime by the
+     * {@code ConsumerAutoscaler}.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${app.consumer.concurrency:1}") int concurrency,
+            @Value("${app.consumer.prefetch:250}") int prefetch) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setPrefetchCount(prefetch);
+        return factory;
+    }
+
+    /**
+     * Container factory for the batch consumer: messages are handed to the listener in
+     * groups of up to {@code app.consumer.batch.size}, or whatever arrived within
+     * {@code app.consumer.batch.max-wait-ms}, and acknowledged manually by the listener.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.consumer.batch.enabled", havingValue = "true")
+    public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${app.consumer.concurrency:1}") int concurrency,
+            @Value("${app.consumer.batch.size:100}") int batchSize,
+            @Value("${app.consumer.batch.max-wait-ms:50}") long maxWaitMs) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(maxWaitMs);
+        factory.setPrefetchCount(batchSize);
+        return factory;
+    }
 }
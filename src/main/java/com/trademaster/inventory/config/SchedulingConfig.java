@@ -0,0 +1,24 @@
+package com.trademaster.inventory.config;
+
+import com.trademaster.inventory.service.BatchProcessingService;
+import com.trademaster.inventory.service.RetrySweepTrigger;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Runs the retry sweep on {@link RetrySweepTrigger} instead of a fixed delay.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    private final BatchProcessingService batchProcessingService;
+    private final RetrySweepTrigger retrySweepTrigger;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addTriggerTask(batchProcessingService::processPendingEvents, retrySweepTrigger);
+    }
+}
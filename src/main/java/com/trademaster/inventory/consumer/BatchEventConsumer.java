@@ -0,0 +1,128 @@
+package com.trademaster.inventory.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import com.trademaster.inventory.cache.HashKey;
+import com.trademaster.inventory.cache.IdempotencyCache;
+import com.trademaster.inventory.codec.BinaryEventCodec;
+import com.trademaster.inventory.config.RabbitMQConfig;
+import com.trademaster.inventory.domain.Event;
+import com.trademaster.inventory.dto.EventRequest;
+import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.metrics.EventMetrics;
+import com.trademaster.inventory.metrics.EventMetrics.DuplicateSource;
+import com.trademaster.inventory.metrics.EventMetrics.Stage;
+import com.trademaster.inventory.service.EventProcessingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch counterpart of {@link EventConsumer}, enabled with {@code app.consumer.batch.enabled}.
+ * A whole batch is deduplicated, stored and processed in one transaction and then
+ * acknowledged with a single multiple-ack on the highest accepted delivery tag.
+ */
+@Component
+@ConditionalOnProperty(name = "app.consumer.batch.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class BatchEventConsumer {
+
+    private final EventProcessingService eventProcessingService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyCache idempotencyCache;
+    private final EventHasher eventHasher;
+    private final EventMetrics eventMetrics;
+
+    // A RECEIVED event belongs to the consumer that stored it until a sweeper lease has passed
+    @Value("${app.sweeper.lease-ms:60000}")
+    private long receivedGraceMs;
+
+    @RabbitListener(id = RabbitMQConfig.ORDERS_EVENTS_LISTENER_ID, queues = RabbitMQConfig.ORDERS_EVENTS_QUEUE,
+            containerFactory = "batchListenerContainerFactory")
+    public void handleBatch(List<Message> messages, Channel channel) throws IOException {
+        eventMetrics.messagesStarted(messages.size());
+        long started = System.nanoTime();
+        try {
+            acceptBatch(messages, channel);
+        } finally {
+            eventMetrics.deliveryFinished(messages.size(), started);
+        }
+    }
+
+    private void acceptBatch(List<Message> messages, Channel channel) throws IOException {
+        List<Event> events = new ArrayList<>(messages.size());
+        List<HashKey> hashKeys = new ArrayList<>(messages.size());
+        long lastAcceptedTag = -1;
+
+        for (Message message : messages) {
+            long deliveryTag = message.getMessageProperties().getDeliveryTag();
+            try {
+                HashKey hashKey = eventHasher.hash(message.getBody());
+
+                // Known duplicates are acknowledged with the batch without touching the database
+                if (idempotencyCache.contains(hashKey)) {
+                    eventMetrics.duplicate(DuplicateSource.CACHE);
+                    log.info("Duplicate event detected, skipping. Delivery tag: {}", deliveryTag);
+                } else {
+                    events.add(toEvent(message, hashKey.toHex()));
+                    hashKeys.add(hashKey);
+                }
+                lastAcceptedTag = Math.max(lastAcceptedTag, deliveryTag);
+            } catch (Exception e) {
+                // Settle the bad message on its own so the multiple-ack below does not cover it
+                log.error("Failed to parse message, rejecting delivery tag: {}", deliveryTag, e);
+                channel.basicNack(deliveryTag, false, false);
+            }
+        }
+
+        if (events.isEmpty()) {
+            if (lastAcceptedTag >= 0) {
+                channel.basicAck(lastAcceptedTag, true);
+            }
+            return;
+        }
+
+        try {
+            eventProcessingService.processBatch(events);
+            // Every hash in the batch is stored now, either by this batch or an earlier one
+            hashKeys.forEach(idempotencyCache::add);
+            channel.basicAck(lastAcceptedTag, true);
+            log.info("Batch of {} messages acknowledged up to delivery tag: {}", events.size(), lastAcceptedTag);
+        } catch (Exception e) {
+            log.error("Failed to process batch of {} messages", events.size(), e);
+            // Batch will be rejected and sent to DLQ
+            channel.basicNack(lastAcceptedTag, true, false);
+        }
+    }
+
+    private Event toEvent(Message message, String hash) throws IOException {
+        long parseStarted = System.nanoTime();
+        EventRequest eventRequest = BinaryEventCodec.isBinary(message.getMessageProperties())
+                ? BinaryEventCodec.decode(message.getBody())
+                : objectMapper.readValue(message.getBody(), EventRequest.class);
+        eventMetrics.record(Stage.PARSE, eventRequest.getType(), parseStarted);
+
+        return Event.builder()
+                .type(eventRequest.getType())
+                .sku(eventRequest.getSku())
+                .quantity(eventRequest.getQuantity())
+                .delta(eventRequest.getDelta())
+                .payload(eventRequest.getPayload())
+                .status(EventStatus.RECEIVED)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(receivedGraceMs)))
+                .hash(hash)
+                .build();
+    }
+}
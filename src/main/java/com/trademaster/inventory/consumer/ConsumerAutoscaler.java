@@ -0,0 +1,135 @@
+package com.trademaster.inventory.consumer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Scales the {@code orders.events} consumers and their prefetch within configured bounds,
+ * enabled with {@code app.consumer.autoscale.enabled}. On every tick, in order of priority:
+ * <ul>
+ *     <li>a saturated database pool removes a consumer, since more would only queue on it;</li>
+ *     <li>latency above the target halves the prefetch, so fewer messages wait behind slow ones;</li>
+ *     <li>a backlog larger than the consumers hold in flight adds a consumer and doubles the prefetch;</li>
+ *     <li>an empty queue removes a consumer.</li>
+ * </ul>
+ * Otherwise the settings are kept. A new prefetch restarts the consumers, so it is only
+ * applied once its signal held for two consecutive samples, and at most once every
+ * {@code app.consumer.autoscale.prefetch-cooldown-ticks} ticks; a backlog in between still
+ * adds consumers. Every change is recorded in a bounded history.
+ */
+@Component
+@ConditionalOnProperty(name = "app.consumer.autoscale.enabled", havingValue = "true")
+@Slf4j
+public class ConsumerAutoscaler {
+
+    private final ConsumerLoadProbe probe;
+    private final ConsumerSettingsTarget target;
+    private final Bounds bounds;
+    private final int historySize;
+    private final int prefetchCooldownTicks;
+    private final Deque<Decision> history = new ArrayDeque<>();
+
+    private String previousReason;
+    private int ticksSincePrefetchChange;
+
+    public ConsumerAutoscaler(ConsumerLoadProbe probe,
+                              ConsumerSettingsTarget target,
+                              @Value("${app.consumer.autoscale.min-concurrency:1}") int minConcurrency,
+                              @Value("${app.consumer.autoscale.max-concurrency:8}") int maxConcurrency,
+                              @Value("${app.consumer.autoscale.min-prefetch:10}") int minPrefetch,
+                              @Value("${app.consumer.autoscale.max-prefetch:500}") int maxPrefetch,
+                              @Value("${app.consumer.autoscale.target-latency-ms:200}") long targetLatencyMs,
+                              @Value("${app.consumer.autoscale.history-size:50}") int historySize,
+                              @Value("${app.consumer.autoscale.prefetch-cooldown-ticks:6}") int prefetchCooldownTicks) {
+        this.probe = probe;
+        this.target = target;
+        this.bounds = new Bounds(minConcurrency, maxConcurrency, minPrefetch, maxPrefetch, targetLatencyMs);
+        this.historySize = historySize;
+        this.prefetchCooldownTicks = prefetchCooldownTicks;
+        this.ticksSincePrefetchChange = prefetchCooldownTicks;
+    }
+
+    @Scheduled(initialDelayString = "${app.consumer.autoscale.interval-ms:5000}",
+            fixedDelayString = "${app.consumer.autoscale.interval-ms:5000}")
+    public synchronized void tick() {
+        ConsumerLoadProbe.Sample sample = probe.sample();
+        int concurrency = target.concurrency();
+        int prefetch = target.prefetch();
+
+        int newConcurrency = concurrency;
+        int newPrefetch = prefetch;
+        String reason = null;
+        if (sample.poolSaturated()) {
+            newConcurrency = concurrency - 1;
+            reason = "db-pool-saturated";
+        } else if (sample.meanLatencyMs() > bounds.targetLatencyMs()) {
+            newPrefetch = prefetch / 2;
+            reason = "latency-above-target";
+        } else if (sample.queueDepth() > (long) concurrency * prefetch) {
+            newConcurrency = concurrency + 1;
+            newPrefetch = prefetch * 2;
+            reason = "backlog";
+        } else if (sample.queueDepth() == 0) {
+            newConcurrency = concurrency - 1;
+            reason = "idle";
+        }
+        boolean held = reason != null && reason.equals(previousReason);
+        previousReason = reason;
+        ticksSincePrefetchChange++;
+        if (reason == null) {
+            return;
+        }
+
+        newConcurrency = clamp(newConcurrency, bounds.minConcurrency(), bounds.maxConcurrency());
+        newPrefetch = clamp(newPrefetch, bounds.minPrefetch(), bounds.maxPrefetch());
+        if (!held || ticksSincePrefetchChange < prefetchCooldownTicks) {
+            newPrefetch = prefetch;
+        }
+        if (newConcurrency == concurrency && newPrefetch == prefetch) {
+            return;
+        }
+
+        target.apply(newConcurrency, newPrefetch);
+        if (newPrefetch != prefetch) {
+            ticksSincePrefetchChange = 0;
+        }
+        Decision decision = new Decision(Instant.now(), reason, sample, concurrency, newConcurrency, prefetch, newPrefetch);
+        history.addFirst(decision);
+        while (history.size() > historySize) {
+            history.removeLast();
+        }
+        log.info("Consumer autoscaler ({}): concurrency {} -> {}, prefetch {} -> {}",
+                reason, concurrency, newConcurrency, prefetch, newPrefetch);
+    }
+
+    public synchronized Status status() {
+        return new Status(target.concurrency(), target.prefetch(), bounds, new ArrayList<>(history));
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    public record Bounds(int minConcurrency, int maxConcurrency, int minPrefetch, int maxPrefetch,
+                         long targetLatencyMs) {
+    }
+
+    public record Decision(Instant at, String reason, ConsumerLoadProbe.Sample sample,
+                           int fromConcurrency, int toConcurrency, int fromPrefetch, int toPrefetch) {
+    }
+
+    /**
+     * Current settings, bounds and the most recent decisions, newest first.
+     */
+    public record Status(int concurrency, int prefetch, Bounds bounds, List<Decision> decisions) {
+    }
+}
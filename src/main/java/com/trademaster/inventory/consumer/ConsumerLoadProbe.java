@@ -0,0 +1,24 @@
+package com.trademaster.inventory.consumer;
+
+/**
+ * Source of the load signals the {@link ConsumerAutoscaler} acts on.
+ */
+public interface ConsumerLoadProbe {
+
+    Sample sample();
+
+    /**
+     * @param queueDepth         messages ready in {@code orders.events}
+     * @param meanLatencyMs      mean delivery handling time since the previous sample, or 0 if none
+     * @param activeConnections  connections checked out of the database pool
+     * @param maxConnections     size of the database pool
+     * @param threadsAwaiting    threads waiting for a connection, in the pool or in front of it
+     */
+    record Sample(long queueDepth, double meanLatencyMs, int activeConnections, int maxConnections,
+                  int threadsAwaiting) {
+
+        public boolean poolSaturated() {
+            return threadsAwaiting > 0 || (maxConnections > 0 && activeConnections >= maxConnections);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.trademaster.inventory.consumer;
+
+/**
+ * The listener container whose consumer count and prefetch the {@link ConsumerAutoscaler}
+ * adjusts.
+ */
+public interface ConsumerSettingsTarget {
+
+    int concurrency();
+
+    int prefetch();
+
+    void apply(int concurrency, int prefetch);
+}
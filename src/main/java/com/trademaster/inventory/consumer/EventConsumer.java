@@ -1,9 +1,18 @@
 package com.trademaster.inventory.consumer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import com.trademaster.inventory.cache.HashKey;
+import com.trademaster.inventory.cache.IdempotencyCache;
+import com.trademaster.inventory.codec.BinaryEventCodec;
+import com.trademaster.inventory.config.RabbitMQConfig;
 import com.trademaster.inventory.domain.Event;
 import com.trademaster.inventory.dto.EventRequest;
 import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.metrics.EventCounters;
+import com.trademaster.inventory.metrics.EventMetrics;
+import com.trademaster.inventory.metrics.EventMetrics.DuplicateSource;
+import com.trademaster.inventory.metrics.EventMetrics.Stage;
 import com.trademaster.inventory.repository.EventRepository;
 import com.trademaster.inventory.service.EventProcessingService;
 import lombok.RequiredArgsConstructor;
@@ -11,14 +20,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
 
 @Component
+@ConditionalOnProperty(name = "app.consumer.batch.enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class EventConsumer {
@@ -26,61 +39,88 @@ public class EventConsumer {
     private final EventRepository eventRepository;
     private final EventProcessingService eventProcessingService;
     private final ObjectMapper objectMapper;
+    private final IdempotencyCache idempotencyCache;
+    private final EventHasher eventHasher;
+    private final EventMetrics eventMetrics;
+    private final EventCounters eventCounters;
 
-    @RabbitListener(queues = "orders.events")
-    public void handleEvent(Message message, @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag) {
+    // A RECEIVED event belongs to the consumer that stored it until a sweeper lease has passed
+    @Value("${app.sweeper.lease-ms:60000}")
+    private long receivedGraceMs;
+
+    @RabbitListener(id = RabbitMQConfig.ORDERS_EVENTS_LISTENER_ID, queues = "orders.events")
+    public void handleEvent(Message message, Channel channel, @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag)
+            throws IOException {
+        eventMetrics.messagesStarted(1);
+        long started = System.nanoTime();
         try {
-            String rawMessage = new String(message.getBody(), StandardCharsets.UTF_8);
-            String hash = generateHash(rawMessage);
+            long dedupStarted = System.nanoTime();
+            HashKey hashKey = eventHasher.hash(message.getBody());
+
+            // Check idempotency, falling through to the database on a cache miss
+            if (idempotencyCache.contains(hashKey)) {
+                eventMetrics.record(Stage.DEDUP, null, dedupStarted);
+                eventMetrics.duplicate(DuplicateSource.CACHE);
+                log.info("Duplicate event detected, skipping. Hash: {}", hashKey);
+                channel.basicAck(deliveryTag, false);
+                return;
+            }
 
-            // Check idempotency
+            String hash = hashKey.toHex();
             if (eventRepository.findByHash(hash).isPresent()) {
+                idempotencyCache.add(hashKey);
+                eventMetrics.record(Stage.DEDUP, null, dedupStarted);
+                eventMetrics.duplicate(DuplicateSource.DATABASE);
                 log.info("Duplicate event detected, skipping. Hash: {}", hash);
+                channel.basicAck(deliveryTag, false);
                 return;
             }
+            long dedupNanos = System.nanoTime() - dedupStarted;
 
             // Parse and store event
-            EventRequest eventRequest = objectMapper.readValue(rawMessage, EventRequest.class);
-            
+            long parseStarted = System.nanoTime();
+            EventRequest eventRequest = parse(message);
+            eventMetrics.record(Stage.PARSE, eventRequest.getType(), parseStarted);
+            // The type is only known after parsing, so dedup is attributed to it now
+            eventMetrics.recordNanos(Stage.DEDUP, eventRequest.getType(), dedupNanos);
+
+            long persistStarted = System.nanoTime();
             Event event = Event.builder()
                     .type(eventRequest.getType())
                     .sku(eventRequest.getSku())
+                    .quantity(eventRequest.getQuantity())
+                    .delta(eventRequest.getDelta())
                     .payload(eventRequest.getPayload())
                     .status(EventStatus.RECEIVED)
                     .attempts(0)
+                    .nextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(receivedGraceMs)))
                     .hash(hash)
                     .build();
 
             eventRepository.save(event);
+            idempotencyCache.add(hashKey);
+            eventCounters.received(1);
+            eventMetrics.record(Stage.PERSIST, event.getType(), persistStarted);
             log.info("Event received and stored: {}", event.getId());
 
             // Process event
             eventProcessingService.processEvent(event);
+            channel.basicAck(deliveryTag, false);
 
         } catch (Exception e) {
-            log.error("Failed to process message", e);
+            log.error("Failed to process message, rejecting delivery tag: {}", deliveryTag, e);
             // Message will be rejected and sent to DLQ
-            throw new RuntimeException("Message processing failed", e);
+            channel.basicNack(deliveryTag, false, false);
+        } finally {
+            eventMetrics.deliveryFinished(1, started);
         }
     }
 
-    private String generateHash(String content) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = digest.digest(content.getBytes(StandardCharsets.UTF_8));
-            StringBuilder hexString = new StringBuilder();
-            
-            for (byte b : hashBytes) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 algorithm not available", e);
+    private EventRequest parse(Message message) throws IOException {
+        if (BinaryEventCodec.isBinary(message.getMessageProperties())) {
+            return BinaryEventCodec.decode(message.getBody());
         }
+        String rawMessage = new String(message.getBody(), StandardCharsets.UTF_8);
+        return objectMapper.readValue(rawMessage, EventRequest.class);
     }
 }
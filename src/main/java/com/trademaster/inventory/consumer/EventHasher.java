@@ -0,0 +1,150 @@
+package com.trademaster.inventory.consumer;
+
+import com.trademaster.inventory.cache.HashKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes the idempotency hash of a raw message body. The body bytes are digested
+ * directly with a per-thread {@link MessageDigest} into a per-thread buffer, so the only
+ * allocation per message is the resulting {@link HashKey}.
+ * <p>
+ * {@link Algorithm#MURMUR3_128} is a cheaper, non-cryptographic 128-bit fingerprint for
+ * deduplication. Switching algorithms changes every hash, so events stored under the old
+ * algorithm are no longer recognised as duplicates.
+ */
+@Component
+public class EventHasher {
+
+    public enum Algorithm {
+        SHA_256,
+        MURMUR3_128
+    }
+
+    private static final int SHA_256_LENGTH = 32;
+    private static final int MURMUR3_128_LENGTH = 16;
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(EventHasher::newSha256);
+    private static final ThreadLocal<byte[]> DIGEST_BUFFER = ThreadLocal.withInitial(() -> new byte[SHA_256_LENGTH]);
+
+    private final Algorithm algorithm;
+
+    public EventHasher(@Value("${app.hashing.algorithm:sha-256}") Algorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public HashKey hash(byte[] body) {
+        byte[] buffer = DIGEST_BUFFER.get();
+        return switch (algorithm) {
+            case SHA_256 -> new HashKey(sha256(body, buffer), SHA_256_LENGTH);
+            case MURMUR3_128 -> new HashKey(murmur3(body, buffer), MURMUR3_128_LENGTH);
+        };
+    }
+
+    private static byte[] sha256(byte[] body, byte[] out) {
+        MessageDigest digest = SHA_256.get();
+        digest.update(body);
+        try {
+            digest.digest(out, 0, SHA_256_LENGTH);
+        } catch (DigestException e) {
+            throw new IllegalStateException("SHA-256 digest failed", e);
+        }
+        return out;
+    }
+
+    /**
+     * MurmurHash3 x64 128-bit with seed 0, written little-endian as h1 followed by h2.
+     */
+    static byte[] murmur3(byte[] data, byte[] out) {
+        int length = data.length;
+        int blocks = length / 16;
+        long h1 = 0;
+        long h2 = 0;
+
+        for (int i = 0; i < blocks; i++) {
+            long k1 = (long) LONG_LE.get(data, i * 16);
+            long k2 = (long) LONG_LE.get(data, i * 16 + 8);
+
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        // Tail bytes 8-14 are mixed into h2 and bytes 0-7 into h1, little-endian
+        int tail = blocks * 16;
+        int remaining = length & 15;
+        if (remaining > 8) {
+            long k2 = 0;
+            for (int i = remaining - 1; i >= 8; i--) {
+                k2 ^= (data[tail + i] & 0xffL) << ((i - 8) * 8);
+            }
+            h2 ^= mixK2(k2);
+        }
+        if (remaining > 0) {
+            long k1 = 0;
+            for (int i = Math.min(remaining, 8) - 1; i >= 0; i--) {
+                k1 ^= (data[tail + i] & 0xffL) << (i * 8);
+            }
+            h1 ^= mixK1(k1);
+        }
+
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+
+        LONG_LE.set(out, 0, h1);
+        LONG_LE.set(out, 8, h2);
+        return out;
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        return k1 * C2;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        return k2 * C1;
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+}
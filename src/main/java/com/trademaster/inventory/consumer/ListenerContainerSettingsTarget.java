@@ -0,0 +1,59 @@
+package com.trademaster.inventory.consumer;
+
+import com.trademaster.inventory.config.RabbitMQConfig;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adjusts the {@code orders.events} listener container. A new consumer count takes effect
+ * immediately. The container only applies a prefetch to consumers it starts, so a new
+ * prefetch restarts the running consumers: each waits for its in-flight messages, and
+ * whatever it had prefetched but not started is requeued. {@link ConsumerAutoscaler} rate
+ * limits prefetch changes for that reason.
+ */
+@Component
+@ConditionalOnProperty(name = "app.consumer.autoscale.enabled", havingValue = "true")
+public class ListenerContainerSettingsTarget implements ConsumerSettingsTarget {
+
+    private final RabbitListenerEndpointRegistry registry;
+    private volatile int concurrency;
+    private volatile int prefetch;
+
+    public ListenerContainerSettingsTarget(RabbitListenerEndpointRegistry registry,
+                                           @Value("${app.consumer.concurrency:1}") int concurrency,
+                                           @Value("${app.consumer.prefetch:250}") int prefetch) {
+        this.registry = registry;
+        this.concurrency = concurrency;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public int concurrency() {
+        return concurrency;
+    }
+
+    @Override
+    public int prefetch() {
+        return prefetch;
+    }
+
+    @Override
+    public synchronized void apply(int concurrency, int prefetch) {
+        SimpleMessageListenerContainer container = (SimpleMessageListenerContainer)
+                registry.getListenerContainer(RabbitMQConfig.ORDERS_EVENTS_LISTENER_ID);
+        if (container == null) {
+            throw new IllegalStateException("No listener container " + RabbitMQConfig.ORDERS_EVENTS_LISTENER_ID);
+        }
+        container.setPrefetchCount(prefetch);
+        container.setConcurrentConsumers(concurrency);
+        if (prefetch != this.prefetch && container.isRunning()) {
+            container.stop();
+            container.start();
+        }
+        this.concurrency = concurrency;
+        this.prefetch = prefetch;
+    }
+}
@@ -0,0 +1,79 @@
+package com.trademaster.inventory.consumer;
+
+import com.trademaster.inventory.config.ConcurrencyLimitingDataSource;
+import com.trademaster.inventory.config.RabbitMQConfig;
+import com.trademaster.inventory.metrics.EventMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads queue depth from the broker, delivery latency from {@link EventMetrics} and pool
+ * usage from Hikari. When a {@link ConcurrencyLimitingDataSource} sits in front of the pool,
+ * callers wait on it rather than on Hikari, so its queue counts as waiting threads too.
+ */
+@Component
+@ConditionalOnProperty(name = "app.consumer.autoscale.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class RabbitConsumerLoadProbe implements ConsumerLoadProbe {
+
+    private final AmqpAdmin amqpAdmin;
+    private final EventMetrics eventMetrics;
+    private final DataSource dataSource;
+
+    private long lastCount;
+    private double lastTotalMs;
+
+    @Override
+    public synchronized Sample sample() {
+        QueueInformation queue = amqpAdmin.getQueueInfo(RabbitMQConfig.ORDERS_EVENTS_QUEUE);
+        long depth = queue == null ? 0 : queue.getMessageCount();
+
+        // Mean over the deliveries since the previous sample, not since startup
+        Timer timer = eventMetrics.deliveryTimer();
+        long count = timer.count();
+        double totalMs = timer.totalTime(TimeUnit.MILLISECONDS);
+        double meanMs = count > lastCount ? (totalMs - lastTotalMs) / (count - lastCount) : 0;
+        lastCount = count;
+        lastTotalMs = totalMs;
+
+        int limiterQueue = limiterQueueLength();
+        HikariPoolMXBean pool = hikariPool();
+        if (pool == null) {
+            return new Sample(depth, meanMs, 0, 0, limiterQueue);
+        }
+        return new Sample(depth, meanMs, pool.getActiveConnections(), pool.getTotalConnections(),
+                pool.getThreadsAwaitingConnection() + limiterQueue);
+    }
+
+    private int limiterQueueLength() {
+        try {
+            return dataSource.isWrapperFor(ConcurrencyLimitingDataSource.class)
+                    ? dataSource.unwrap(ConcurrencyLimitingDataSource.class).queueLength()
+                    : 0;
+        } catch (SQLException e) {
+            log.debug("Cannot reach the JDBC concurrency limit, ignoring its queue", e);
+            return 0;
+        }
+    }
+
+    private HikariPoolMXBean hikariPool() {
+        try {
+            return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        } catch (Exception e) {
+            log.debug("Database pool is not Hikari, ignoring pool saturation", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.trademaster.inventory.controller;
+
+import com.trademaster.inventory.consumer.ConsumerAutoscaler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/consumers")
+@ConditionalOnProperty(name = "app.consumer.autoscale.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ConsumerController {
+
+    private final ConsumerAutoscaler consumerAutoscaler;
+
+    @GetMapping("/autoscaler")
+    public ResponseEntity<ConsumerAutoscaler.Status> getAutoscalerStatus() {
+        return ResponseEntity.ok(consumerAutoscaler.status());
+    }
+}
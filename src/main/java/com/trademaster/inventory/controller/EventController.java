@@ -1,19 +1,29 @@
 package com.trademaster.inventory.controller;
 
+import com.trademaster.inventory.dto.BulkPublishResponse;
 import com.trademaster.inventory.dto.EventRequest;
 import com.trademaster.inventory.dto.MetricsResponse;
 import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.metrics.EventCounters;
+import com.trademaster.inventory.outbox.EventOutbox;
 import com.trademaster.inventory.repository.BatchJobRepository;
 import com.trademaster.inventory.repository.EventRepository;
 import com.trademaster.inventory.repository.InventoryItemRepository;
+import com.trademaster.inventory.service.BulkEventPublisher;
+import com.trademaster.inventory.sharding.EventRouter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/events")
 @RequiredArgsConstructor
@@ -24,18 +34,74 @@ public class EventController {
     private final EventRepository eventRepository;
     private final InventoryItemRepository inventoryItemRepository;
     private final BatchJobRepository batchJobRepository;
+    private final EventCounters eventCounters;
+    private final BulkEventPublisher bulkEventPublisher;
+    private final ObjectProvider<EventOutbox> eventOutbox;
+    private final EventRouter eventRouter;
 
+    /**
+     * Publishes the event to the queue the {@link EventRouter} picks for its SKU. With the
+     * outbox enabled the event is only stored in the local outbox and the request returns
+     * 202; {@code OutboxRelay} publishes it later.
+     */
     @PostMapping
     public ResponseEntity<String> publishEvent(@Valid @RequestBody EventRequest eventRequest) {
         log.info("Publishing event: {} for SKU: {}", eventRequest.getType(), eventRequest.getSku());
-        
-        rabbitTemplate.convertAndSend("orders.events", eventRequest);
-        
+
+        EventOutbox outbox = eventOutbox.getIfAvailable();
+        if (outbox != null) {
+            outbox.append(eventRequest);
+            return ResponseEntity.accepted().body("Event accepted");
+        }
+
+        rabbitTemplate.convertAndSend(eventRouter.queueFor(eventRequest.getSku()), eventRequest);
+
         return ResponseEntity.ok("Event published successfully");
     }
 
+    /**
+     * Publishes a JSON array of events, validated and published as the body streams in.
+     * Every element gets an ACCEPTED or REJECTED result in the response.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkPublishResponse> publishBulk(InputStream body) throws IOException {
+        BulkPublishResponse response = bulkEventPublisher.publishJsonArray(body);
+        log.info("Bulk publish: {} accepted, {} rejected", response.getAccepted(), response.getRejected());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * NDJSON variant of {@link #publishBulk}, one event per line.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkPublishResponse> publishBulkNdjson(InputStream body) throws IOException {
+        BulkPublishResponse response = bulkEventPublisher.publishNdjson(body);
+        log.info("Bulk publish: {} accepted, {} rejected", response.getAccepted(), response.getRejected());
+        return ResponseEntity.ok(response);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    /**
+     * Served from the in-process {@link EventCounters}; {@code exact=true} runs the COUNT
+     * queries against the database instead.
+     */
     @GetMapping("/metrics")
-    public ResponseEntity<MetricsResponse> getMetrics() {
+    public ResponseEntity<MetricsResponse> getMetrics(@RequestParam(defaultValue = "false") boolean exact) {
+        if (!exact) {
+            return ResponseEntity.ok(MetricsResponse.builder()
+                    .totalInventoryItems(eventCounters.inventoryItems())
+                    .totalEvents(eventCounters.totalEvents())
+                    .pendingEvents(eventCounters.pendingEvents())
+                    .processedEvents(eventCounters.count(EventStatus.PROCESSED))
+                    .failedEvents(eventCounters.count(EventStatus.DLQ))
+                    .totalBatchJobs(eventCounters.batchJobs())
+                    .build());
+        }
+
         MetricsResponse metrics = MetricsResponse.builder()
                 .totalInventoryItems(inventoryItemRepository.count())
                 .totalEvents(eventRepository.count())
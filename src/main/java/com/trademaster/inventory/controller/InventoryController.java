@@ -0,0 +1,51 @@
+package com.trademaster.inventory.controller;
+
+import com.trademaster.inventory.dto.InventoryResponse;
+import com.trademaster.inventory.service.InventoryQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/inventory")
+@RequiredArgsConstructor
+public class InventoryController {
+
+    private final InventoryQueryService inventoryQueryService;
+
+    @Value("${app.inventory.max-skus-per-request:500}")
+    private int maxSkusPerRequest;
+
+    @GetMapping("/{sku}")
+    public ResponseEntity<InventoryResponse> getInventory(@PathVariable String sku) {
+        return inventoryQueryService.quantity(sku)
+                .map(quantity -> ResponseEntity.ok(new InventoryResponse(sku, quantity)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Quantities of several SKUs in one call, e.g. {@code /inventory?skus=A,B,C}. Unknown
+     * SKUs are left out of the response.
+     */
+    @GetMapping
+    public ResponseEntity<List<InventoryResponse>> getInventories(@RequestParam List<String> skus) {
+        Set<String> unique = new LinkedHashSet<>(skus);
+        if (unique.size() > maxSkusPerRequest) {
+            throw new IllegalArgumentException("At most " + maxSkusPerRequest + " SKUs can be requested at once");
+        }
+        List<InventoryResponse> inventories = inventoryQueryService.quantities(unique).entrySet().stream()
+                .map(entry -> new InventoryResponse(entry.getKey(), entry.getValue()))
+                .toList();
+        return ResponseEntity.ok(inventories);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
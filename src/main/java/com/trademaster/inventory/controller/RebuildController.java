@@ -0,0 +1,45 @@
+package com.trademaster.inventory.controller;
+
+import com.trademaster.inventory.domain.InventorySnapshot;
+import com.trademaster.inventory.dto.RebuildReport;
+import com.trademaster.inventory.rebuild.InventoryRebuildService;
+import com.trademaster.inventory.rebuild.InventorySnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/rebuilds")
+@RequiredArgsConstructor
+public class RebuildController {
+
+    private final InventoryRebuildService inventoryRebuildService;
+    private final InventorySnapshotService inventorySnapshotService;
+
+    /**
+     * Rebuilds {@code inventory_items} from the latest snapshot and the events after it;
+     * returns once the result is swapped in.
+     */
+    @PostMapping
+    public ResponseEntity<RebuildReport> rebuild() {
+        return ResponseEntity.ok(inventoryRebuildService.rebuild());
+    }
+
+    @PostMapping("/snapshots")
+    public ResponseEntity<InventorySnapshot> takeSnapshot() {
+        return ResponseEntity.ok(inventorySnapshotService.checkpoint());
+    }
+
+    @GetMapping("/snapshots")
+    public ResponseEntity<List<InventorySnapshot>> listSnapshots() {
+        return ResponseEntity.ok(inventorySnapshotService.recent());
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> handleConflict(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+}
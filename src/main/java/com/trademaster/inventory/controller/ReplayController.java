@@ -0,0 +1,53 @@
+package com.trademaster.inventory.controller;
+
+import com.trademaster.inventory.dto.ReplayRequest;
+import com.trademaster.inventory.dto.ReplayStatus;
+import com.trademaster.inventory.replay.ReplayJob;
+import com.trademaster.inventory.replay.ReplayService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/replays")
+@RequiredArgsConstructor
+public class ReplayController {
+
+    private final ReplayService replayService;
+
+    @PostMapping
+    public ResponseEntity<ReplayStatus> startReplay(@Valid @RequestBody ReplayRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(replayService.start(request).status());
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ReplayStatus>> listReplays() {
+        return ResponseEntity.ok(replayService.list().stream().map(ReplayJob::status).toList());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReplayStatus> getReplay(@PathVariable String id) {
+        return replayService.find(id)
+                .map(job -> ResponseEntity.ok(job.status()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<ReplayStatus> cancelReplay(@PathVariable String id) {
+        return replayService.find(id)
+                .map(job -> {
+                    job.cancel();
+                    return ResponseEntity.ok(job.status());
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> handleConflict(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+}
@@ -0,0 +1,23 @@
+package com.trademaster.inventory.controller;
+
+import com.trademaster.inventory.sharding.ShardCoordinator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/shards")
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ShardController {
+
+    private final ShardCoordinator shardCoordinator;
+
+    @GetMapping
+    public ResponseEntity<ShardCoordinator.Status> getStatus() {
+        return ResponseEntity.ok(shardCoordinator.status());
+    }
+}
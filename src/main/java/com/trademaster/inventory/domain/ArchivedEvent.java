@@ -0,0 +1,57 @@
+package com.trademaster.inventory.domain;
+
+import com.trademaster.inventory.enums.EventType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * A PROCESSED event moved out of {@code events} by the archiver. Only the event itself is
+ * kept, without the status, retry and lease columns; the id is the original event id.
+ * Written with an INSERT ... SELECT by the archiver; mapped so the schema is created
+ * alongside the other tables.
+ */
+@Entity
+@Table(name = "events_archive", indexes = {
+        @Index(name = "idx_events_archive_hash", columnList = "hash"),
+        @Index(name = "idx_events_archive_processed_seq", columnList = "processed_seq")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedEvent {
+
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EventType type;
+
+    @Column(nullable = false)
+    private String sku;
+
+    private Integer quantity;
+
+    private Integer delta;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private String hash;
+
+    @Column(name = "processed_seq")
+    private Long processedSeq;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -6,8 +6,12 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "batch_jobs")
@@ -18,7 +22,8 @@ import java.time.LocalDateTime;
 public class BatchJob {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "batch_jobs_seq")
+    @SequenceGenerator(name = "batch_jobs_seq", sequenceName = "batch_jobs_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "started_at", nullable = false)
@@ -36,6 +41,16 @@ public class BatchJob {
     @Column(name = "total_failed", nullable = false)
     private Integer totalFailed;
 
+    @Column(name = "wall_time_ms")
+    private Long wallTimeMs;
+
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @JoinColumn(name = "batch_job_id")
+    @Fetch(FetchMode.SUBSELECT)
+    @OrderBy("shardIndex")
+    @Builder.Default
+    private List<BatchJobShard> shards = new ArrayList<>();
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
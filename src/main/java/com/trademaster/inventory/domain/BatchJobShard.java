@@ -0,0 +1,39 @@
+package com.trademaster.inventory.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+/**
+ * Outcome of one SKU shard within a {@link BatchJob}.
+ */
+@Entity
+@Table(name = "batch_job_shards")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchJobShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "batch_job_shards_seq")
+    @SequenceGenerator(name = "batch_job_shards_seq", sequenceName = "batch_job_shards_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "shard_index", nullable = false)
+    private Integer shardIndex;
+
+    @Column(name = "total_events", nullable = false)
+    private Integer totalEvents;
+
+    @Column(name = "total_processed", nullable = false)
+    private Integer totalProcessed;
+
+    @Column(name = "total_failed", nullable = false)
+    private Integer totalFailed;
+
+    @Column(name = "wall_time_ms", nullable = false)
+    private Long wallTimeMs;
+}
@@ -12,15 +12,25 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        // Supports the archiver's scan of old PROCESSED rows, ORDER BY created_at, id
+        @Index(name = "idx_events_status_created_at_id", columnList = "status, created_at, id"),
+        // Supports the due-ordered claim scan and MIN(next_attempt_at) for the sweep trigger
+        @Index(name = "idx_events_status_next_attempt_at_id", columnList = "status, next_attempt_at, id"),
+        // Supports folding PROCESSED events by position for inventory snapshots and rebuilds
+        @Index(name = "idx_events_processed_seq", columnList = "processed_seq")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Event {
 
+    // Pooled sequence ids (one nextval per 50 rows) keep Hibernate's JDBC insert batching on,
+    // which IDENTITY disables because every INSERT has to return its key
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    @SequenceGenerator(name = "events_seq", sequenceName = "events_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -30,6 +40,10 @@ public class Event {
     @Column(nullable = false)
     private String sku;
 
+    private Integer quantity;
+
+    private Integer delta;
+
     @Column(columnDefinition = "TEXT")
     private String payload;
 
@@ -43,7 +57,29 @@ public class Event {
     @Column(nullable = false, unique = true)
     private String hash;
 
+    @Column(name = "claimed_by")
+    private String claimedBy;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    // Earliest time the sweeper may claim the event: one lease after receipt, then pushed back
+    // with every failed attempt
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // Position in the event log once PROCESSED, stamped after the commit by EventLog
+    @Column(name = "processed_seq")
+    private Long processedSeq;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
+
+    @PrePersist
+    void defaultNextAttemptAt() {
+        if (nextAttemptAt == null) {
+            nextAttemptAt = LocalDateTime.now();
+        }
+    }
 }
@@ -0,0 +1,26 @@
+package com.trademaster.inventory.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+/**
+ * The latest position handed to PROCESSED events, in a single row locked and advanced with
+ * plain JDBC by {@code EventLog}; mapped so the schema is created alongside the other tables.
+ */
+@Entity
+@Table(name = "event_log_position")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventLogPosition {
+
+    @Id
+    private Integer id;
+
+    @Column(name = "processed_seq", nullable = false)
+    private Long processedSeq;
+}
@@ -0,0 +1,39 @@
+package com.trademaster.inventory.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of every SKU's quantity as the result of all PROCESSED events with a
+ * {@code processed_seq} at or below {@code processedSeq}. Positions are handed out in
+ * commit order, so a rebuild only has to replay the events stamped after it. The
+ * quantities are stored as {@link InventorySnapshotItem} rows.
+ */
+@Entity
+@Table(name = "inventory_snapshots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventorySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "processed_seq", nullable = false)
+    private Long processedSeq;
+
+    @Column(name = "sku_count", nullable = false)
+    private Integer skuCount;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
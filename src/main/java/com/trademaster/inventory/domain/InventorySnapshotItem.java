@@ -0,0 +1,35 @@
+package com.trademaster.inventory.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+/**
+ * Quantity of one SKU in an {@link InventorySnapshot}. Written and read with plain JDBC in
+ * bulk; mapped so the schema is created alongside the other tables.
+ */
+@Entity
+@Table(name = "inventory_snapshot_items", indexes = {
+        @Index(name = "idx_inventory_snapshot_items_snapshot_sku", columnList = "snapshot_id, sku", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventorySnapshotItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "snapshot_id", nullable = false)
+    private Long snapshotId;
+
+    @Column(nullable = false)
+    private String sku;
+
+    @Column(nullable = false)
+    private Integer quantity;
+}
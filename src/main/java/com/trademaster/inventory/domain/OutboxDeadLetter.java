@@ -0,0 +1,38 @@
+package com.trademaster.inventory.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outbox row the relay could not read, moved aside with plain JDBC by
+ * {@code OutboxRelay}; mapped so the schema is created alongside the other tables.
+ */
+@Entity
+@Table(name = "event_outbox_dead_letters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxDeadLetter {
+
+    // The row's id in event_outbox
+    @Id
+    private Long id;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "failed_at", nullable = false)
+    private LocalDateTime failedAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String error;
+}
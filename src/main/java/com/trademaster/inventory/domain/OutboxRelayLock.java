@@ -0,0 +1,23 @@
+package com.trademaster.inventory.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+/**
+ * The single row an instance locks with plain JDBC while {@code OutboxRelay} publishes a
+ * batch; mapped so the schema is created alongside the other tables.
+ */
+@Entity
+@Table(name = "outbox_relay_lock")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxRelayLock {
+
+    @Id
+    private Integer id;
+}
@@ -0,0 +1,29 @@
+package com.trademaster.inventory.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * A live instance sharing the shard queues, heartbeated with plain JDBC by
+ * {@code JdbcShardMembership}; mapped so the schema is created alongside the other tables.
+ */
+@Entity
+@Table(name = "shard_members")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShardMember {
+
+    @Id
+    @Column(name = "instance_id")
+    private String instanceId;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+}
@@ -0,0 +1,24 @@
+package com.trademaster.inventory.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+
+    public enum Status {
+        ACCEPTED,
+        REJECTED
+    }
+
+    private int index;
+    private Status status;
+    private String error;
+
+    public static BulkItemResult rejected(int index, String error) {
+        return new BulkItemResult(index, Status.REJECTED, error);
+    }
+}
@@ -0,0 +1,15 @@
+package com.trademaster.inventory.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BulkPublishResponse {
+
+    private int accepted;
+    private int rejected;
+    private List<BulkItemResult> items;
+}
@@ -0,0 +1,12 @@
+package com.trademaster.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class InventoryResponse {
+
+    private String sku;
+    private Integer quantity;
+}
@@ -0,0 +1,24 @@
+package com.trademaster.inventory.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class RebuildReport {
+
+    private long snapshotId;
+    // Events replayed on top of the snapshot: positions (fromProcessedSeq, toProcessedSeq], then any processed since
+    private long fromProcessedSeq;
+    private long toProcessedSeq;
+    private long eventsReplayed;
+    private long catchUpEvents;
+    private int skusRebuilt;
+    private int skusChanged;
+    // SKUs with events but no quantity in the snapshot, left as they are
+    private List<String> skusSkipped;
+    private long durationMs;
+    private double eventsPerSecond;
+}
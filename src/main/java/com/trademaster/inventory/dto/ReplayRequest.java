@@ -0,0 +1,43 @@
+package com.trademaster.inventory.dto;
+
+import com.trademaster.inventory.enums.EventType;
+import com.trademaster.inventory.enums.ReplaySource;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReplayRequest {
+
+    @NotNull(message = "Replay source is required")
+    private ReplaySource source;
+
+    private String sku;
+
+    private EventType type;
+
+    // Inclusive lower and exclusive upper bound on when the event failed (queue) or was created (database)
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    // Events re-injected per second; null or 0 means unlimited
+    @PositiveOrZero
+    private Integer ratePerSecond;
+
+    @Positive
+    private Integer batchSize;
+
+    // Stop after this many events have been re-injected
+    @Positive
+    private Long maxEvents;
+}
@@ -0,0 +1,24 @@
+package com.trademaster.inventory.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReplayStatus {
+
+    private String id;
+    private String state;
+    private ReplayRequest request;
+    private long scanned;
+    private long replayed;
+    private long skipped;
+    private double eventsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
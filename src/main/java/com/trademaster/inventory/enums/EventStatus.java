@@ -2,6 +2,7 @@ package com.trademaster.inventory.enums;
 
 public enum EventStatus {
     RECEIVED, 
+    APPLIED,
     PROCESSED, 
     RETRY, 
     DLQ
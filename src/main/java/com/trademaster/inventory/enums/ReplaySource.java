@@ -0,0 +1,7 @@
+package com.trademaster.inventory.enums;
+
+public enum ReplaySource {
+    QUEUE,
+    DATABASE,
+    ALL
+}
@@ -0,0 +1,134 @@
+package com.trademaster.inventory.metrics;
+
+import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.repository.BatchJobRepository;
+import com.trademaster.inventory.repository.EventRepository;
+import com.trademaster.inventory.repository.InventoryItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process row counts behind {@code GET /events/metrics}. Every status transition is
+ * applied here as it happens (after commit when it runs inside a transaction), and the
+ * counts are periodically reset from the database, which also corrects any drift from
+ * transitions that raced a reconcile or were made outside the service.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventCounters {
+
+    private final EventRepository eventRepository;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final BatchJobRepository batchJobRepository;
+
+    private final AtomicLong[] byStatus = newCounters(EventStatus.values().length);
+    private final AtomicLong inventoryItems = new AtomicLong();
+    private final AtomicLong batchJobs = new AtomicLong();
+
+    public long count(EventStatus status) {
+        return byStatus[status.ordinal()].get();
+    }
+
+    public long totalEvents() {
+        long total = 0;
+        for (AtomicLong counter : byStatus) {
+            total += counter.get();
+        }
+        return total;
+    }
+
+    public long pendingEvents() {
+        return count(EventStatus.RECEIVED) + count(EventStatus.RETRY);
+    }
+
+    public long inventoryItems() {
+        return inventoryItems.get();
+    }
+
+    public long batchJobs() {
+        return batchJobs.get();
+    }
+
+    public void received(int count) {
+        apply(() -> byStatus[EventStatus.RECEIVED.ordinal()].addAndGet(count));
+    }
+
+    public void transitioned(EventStatus from, EventStatus to) {
+        transitioned(from, to, 1);
+    }
+
+    /**
+     * Moves {@code count} events between statuses. A {@code null} source status only adds.
+     */
+    public void transitioned(EventStatus from, EventStatus to, int count) {
+        if (from == to || count == 0) {
+            return;
+        }
+        apply(() -> {
+            if (from != null) {
+                byStatus[from.ordinal()].addAndGet(-count);
+            }
+            byStatus[to.ordinal()].addAndGet(count);
+        });
+    }
+
+    /**
+     * Removes {@code count} events of {@code status}, e.g. after they were archived.
+     */
+    public void removed(EventStatus status, int count) {
+        if (count == 0) {
+            return;
+        }
+        apply(() -> byStatus[status.ordinal()].addAndGet(-count));
+    }
+
+    public void batchJobCreated() {
+        apply(batchJobs::incrementAndGet);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.metrics.reconcile-interval-ms:60000}",
+            fixedDelayString = "${app.metrics.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        long[] counts = new long[byStatus.length];
+        for (Object[] row : eventRepository.countGroupByStatus()) {
+            counts[((EventStatus) row[0]).ordinal()] = (Long) row[1];
+        }
+        for (int i = 0; i < counts.length; i++) {
+            byStatus[i].set(counts[i]);
+        }
+        inventoryItems.set(inventoryItemRepository.count());
+        batchJobs.set(batchJobRepository.count());
+        log.debug("Event counters reconciled: {} events", totalEvents());
+    }
+
+    private static void apply(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private static AtomicLong[] newCounters(int size) {
+        AtomicLong[] counters = new AtomicLong[size];
+        for (int i = 0; i < size; i++) {
+            counters[i] = new AtomicLong();
+        }
+        return counters;
+    }
+}
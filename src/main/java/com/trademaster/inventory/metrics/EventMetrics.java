@@ -0,0 +1,216 @@
+package com.trademaster.inventory.metrics;
+
+import com.trademaster.inventory.enums.EventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Meters for the event pipeline. Stage timers are tagged with {@code stage} and the event
+ * {@code type}; stages that run before the type is known, or once for a whole batch, are
+ * tagged {@code unknown} and {@code mixed} respectively. All meters are registered up front
+ * so the hot path never looks them up by name.
+ */
+@Component
+public class EventMetrics {
+
+    public enum Stage {
+        PARSE, DEDUP, PERSIST, EXECUTE, STATUS_UPDATE;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    public enum DuplicateSource {
+        CACHE, DATABASE;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final String UNKNOWN = "unknown";
+    private static final String MIXED = "mixed";
+
+    // [stage][type ordinal], with the last two columns for unknown and mixed
+    private final Timer[][] stageTimers;
+    private final Counter[] duplicates;
+    private final Counter[] retries;
+    private final Counter[] deadLettered;
+    private final Timer deliveryTimer;
+    private final Timer sweepTimer;
+    private final Counter sweepClaimed;
+    private final Counter archived;
+    private final Counter outboxDeadLettered;
+    private final Counter lanesUncontended;
+    private final Counter lanesContended;
+    private final Timer laneWait;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger sweepInFlight = new AtomicInteger();
+
+    public EventMetrics(MeterRegistry registry) {
+        EventType[] types = EventType.values();
+
+        stageTimers = new Timer[Stage.values().length][types.length + 2];
+        for (Stage stage : Stage.values()) {
+            for (EventType type : types) {
+                stageTimers[stage.ordinal()][type.ordinal()] = stageTimer(registry, stage, type.name());
+            }
+            stageTimers[stage.ordinal()][types.length] = stageTimer(registry, stage, UNKNOWN);
+            stageTimers[stage.ordinal()][types.length + 1] = stageTimer(registry, stage, MIXED);
+        }
+
+        duplicates = new Counter[DuplicateSource.values().length];
+        for (DuplicateSource source : DuplicateSource.values()) {
+            duplicates[source.ordinal()] = Counter.builder("inventory.events.duplicates")
+                    .description("Messages skipped as already seen")
+                    .tag("source", source.tag)
+                    .register(registry);
+        }
+
+        retries = new Counter[types.length];
+        deadLettered = new Counter[types.length];
+        for (EventType type : types) {
+            retries[type.ordinal()] = Counter.builder("inventory.events.retries")
+                    .description("Events marked RETRY after a failed attempt")
+                    .tag("type", type.name())
+                    .register(registry);
+            deadLettered[type.ordinal()] = Counter.builder("inventory.events.dlq")
+                    .description("Events moved to DLQ after the last attempt")
+                    .tag("type", type.name())
+                    .register(registry);
+        }
+
+        deliveryTimer = Timer.builder("inventory.consumer.delivery")
+                .description("Time to handle one delivery, a single message or a whole batch")
+                .publishPercentileHistogram()
+                .register(registry);
+        sweepTimer = Timer.builder("inventory.sweeper.sweep")
+                .description("Wall time of one retry sweep")
+                .publishPercentileHistogram()
+                .register(registry);
+        sweepClaimed = Counter.builder("inventory.sweeper.claimed")
+                .description("Pending events claimed by the retry sweeper")
+                .register(registry);
+        archived = Counter.builder("inventory.events.archived")
+                .description("PROCESSED events moved to events_archive")
+                .register(registry);
+        outboxDeadLettered = Counter.builder("inventory.outbox.dead_lettered")
+                .description("Unreadable outbox rows moved to event_outbox_dead_letters")
+                .register(registry);
+        lanesUncontended = laneCounter(registry, false);
+        lanesContended = laneCounter(registry, true);
+        laneWait = Timer.builder("inventory.sku_lanes.wait")
+                .description("Time spent waiting for a SKU lane held by another thread")
+                .publishPercentileHistogram()
+                .register(registry);
+        Gauge.builder("inventory.consumer.in_flight", inFlight, AtomicInteger::get)
+                .description("Messages currently being handled by the consumer")
+                .register(registry);
+        Gauge.builder("inventory.sweeper.in_flight", sweepInFlight, AtomicInteger::get)
+                .description("Claimed events the current sweep has not finished yet")
+                .register(registry);
+    }
+
+    /**
+     * Records the time since {@code startNanos} (from {@link System#nanoTime()}) against a
+     * stage; a {@code null} type is recorded as {@code unknown}.
+     */
+    public void record(Stage stage, EventType type, long startNanos) {
+        recordNanos(stage, type, System.nanoTime() - startNanos);
+    }
+
+    public void recordNanos(Stage stage, EventType type, long nanos) {
+        int column = type == null ? EventType.values().length : type.ordinal();
+        stageTimers[stage.ordinal()][column].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records a stage that ran once for a batch of mixed event types.
+     */
+    public void recordBatch(Stage stage, long startNanos) {
+        stageTimers[stage.ordinal()][EventType.values().length + 1]
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void duplicate(DuplicateSource source) {
+        duplicates[source.ordinal()].increment();
+    }
+
+    public void retried(EventType type) {
+        retries[type.ordinal()].increment();
+    }
+
+    public void deadLettered(EventType type) {
+        deadLettered[type.ordinal()].increment();
+    }
+
+    public void messagesStarted(int count) {
+        inFlight.addAndGet(count);
+    }
+
+    /**
+     * Marks {@code count} messages of one delivery, started at {@code startNanos}, as done.
+     */
+    public void deliveryFinished(int count, long startNanos) {
+        inFlight.addAndGet(-count);
+        deliveryTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public Timer deliveryTimer() {
+        return deliveryTimer;
+    }
+
+    public void sweepClaimed(int count) {
+        sweepClaimed.increment(count);
+        sweepInFlight.set(count);
+    }
+
+    public void sweepEventFinished() {
+        sweepInFlight.decrementAndGet();
+    }
+
+    public void sweepFinished(long startNanos) {
+        sweepInFlight.set(0);
+        sweepTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void archived(int count) {
+        archived.increment(count);
+    }
+
+    public void outboxDeadLettered(int count) {
+        outboxDeadLettered.increment(count);
+    }
+
+    /**
+     * Records one SKU lane acquisition; {@code waitedNanos} is only recorded if it had to wait.
+     */
+    public void laneAcquired(boolean contended, long waitedNanos) {
+        if (contended) {
+            lanesContended.increment();
+            laneWait.record(waitedNanos, TimeUnit.NANOSECONDS);
+        } else {
+            lanesUncontended.increment();
+        }
+    }
+
+    private static Counter laneCounter(MeterRegistry registry, boolean contended) {
+        return Counter.builder("inventory.sku_lanes.acquired")
+                .description("SKU lane acquisitions, by whether another thread held the lane")
+                .tag("contended", String.valueOf(contended))
+                .register(registry);
+    }
+
+    private static Timer stageTimer(MeterRegistry registry, Stage stage, String type) {
+        return Timer.builder("inventory.event.stage")
+                .description("Latency of one event pipeline stage")
+                .tag("stage", stage.tag)
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,137 @@
+package com.trademaster.inventory.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trademaster.inventory.dto.EventRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Local outbox for {@code POST /events}, enabled with {@code app.outbox.enabled}. Requests
+ * hand their event to a single writer thread and wait until it is committed to
+ * {@code event_outbox}; the writer inserts whatever queued up meanwhile, up to
+ * {@code app.outbox.batch-size} rows, in one transaction. Under load, concurrent requests
+ * therefore share one batched insert and one commit. {@link OutboxRelay} publishes the
+ * rows afterwards.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.enabled", havingValue = "true")
+@Slf4j
+public class EventOutbox {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final long appendTimeoutMs;
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread writer = new Thread(this::writeLoop, "outbox-writer");
+    private volatile boolean running = true;
+
+    public EventOutbox(JdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       ObjectMapper objectMapper,
+                       @Value("${app.outbox.batch-size:500}") int batchSize,
+                       @Value("${app.outbox.append-timeout-ms:5000}") long appendTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.appendTimeoutMs = appendTimeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Returns once the event is durably stored in the outbox.
+     *
+     * @throws IllegalStateException if the write failed or timed out
+     */
+    public void append(EventRequest eventRequest) {
+        Pending pending;
+        try {
+            pending = new Pending(objectMapper.writeValueAsString(eventRequest), new CompletableFuture<>());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event cannot be serialized", e);
+        }
+        if (!running) {
+            throw new IllegalStateException("Outbox is shut down");
+        }
+        queue.add(pending);
+
+        try {
+            pending.written().get(appendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing to the outbox", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to write event to the outbox", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(appendTimeoutMs);
+        List<Pending> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(pending -> pending.written().completeExceptionally(new IllegalStateException("Outbox is shut down")));
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+                batch.forEach(pending -> pending.written().complete(null));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Failed to write {} events to the outbox", batch.size(), e);
+                batch.forEach(pending -> pending.written().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        batch.forEach(pending -> rows.add(new Object[]{pending.payload(), now}));
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate("INSERT INTO event_outbox (payload, created_at) VALUES (?, ?)", rows));
+    }
+
+    private record Pending(String payload, CompletableFuture<Void> written) {
+    }
+}
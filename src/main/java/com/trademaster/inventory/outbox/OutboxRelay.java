@@ -0,0 +1,182 @@
+package com.trademaster.inventory.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trademaster.inventory.dto.EventRequest;
+import com.trademaster.inventory.metrics.EventMetrics;
+import com.trademaster.inventory.sharding.EventRouter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes {@code event_outbox} rows to the queues their SKUs are routed to. Each batch is
+ * published on one channel, confirmed by the broker and then deleted in one transaction. If
+ * the confirms fail the transaction rolls back and the rows are published again on the next
+ * run. A batch confirmed but not deleted is published twice; the consumer's hash check drops
+ * the copy, since the body is the same.
+ * <p>
+ * The transaction first locks the {@code outbox_relay_lock} row, skipping the batch if
+ * another instance holds it. Batches are therefore published one at a time and in id order
+ * across instances, which keeps each SKU's events in order on its queue. A row whose
+ * payload cannot be read is moved to {@code event_outbox_dead_letters} instead of failing
+ * its batch, so it cannot stall the rows behind it.
+ * <p>
+ * The relay polls on its own {@code outbox-relay} thread rather than the shared
+ * {@code @Scheduled} one, and gives it up after {@code app.outbox.max-batches-per-run}
+ * batches, so a busy outbox cannot hold back the other scheduled tasks.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.enabled", havingValue = "true")
+@Slf4j
+public class OutboxRelay {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final EventRouter eventRouter;
+    private final EventMetrics eventMetrics;
+    private final int batchSize;
+    private final long confirmTimeoutMs;
+    private final long pollIntervalMs;
+    private final int maxBatchesPerRun;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       RabbitTemplate rabbitTemplate,
+                       ObjectMapper objectMapper,
+                       EventRouter eventRouter,
+                       EventMetrics eventMetrics,
+                       @Value("${app.outbox.batch-size:500}") int batchSize,
+                       @Value("${app.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMs,
+                       @Value("${app.outbox.poll-interval-ms:50}") long pollIntervalMs,
+                       @Value("${app.outbox.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.eventRouter = eventRouter;
+        this.eventMetrics = eventMetrics;
+        this.batchSize = batchSize;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.pollIntervalMs = pollIntervalMs;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @PostConstruct
+    public void start() {
+        executor.scheduleWithFixedDelay(this::drain, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(confirmTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Publishes batches until the outbox is drained, a batch fails or
+     * {@code maxBatchesPerRun} batches went out; the next run picks up the rest.
+     */
+    public void drain() {
+        try {
+            int published;
+            int batches = 0;
+            do {
+                published = publishBatch();
+            } while (published == batchSize && ++batches < maxBatchesPerRun);
+        } catch (Exception e) {
+            log.error("Failed to publish outbox batch, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * @return the number of rows published or moved aside, and deleted; 0 if the outbox is
+     * empty or another instance is relaying
+     */
+    int publishBatch() {
+        List<Object[]> unreadable = new ArrayList<>();
+        Integer taken = transactionTemplate.execute(status -> {
+            if (!lockRelay()) {
+                return 0;
+            }
+            List<Long> ids = new ArrayList<>(batchSize);
+            List<EventRequest> events = new ArrayList<>(batchSize);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.query("SELECT id, payload, created_at FROM event_outbox ORDER BY id LIMIT ?", row -> {
+                long id = row.getLong("id");
+                String payload = row.getString("payload");
+                ids.add(id);
+                try {
+                    events.add(objectMapper.readValue(payload, EventRequest.class));
+                } catch (JsonProcessingException e) {
+                    log.error("Moving unreadable outbox row {} to event_outbox_dead_letters: {}",
+                            id, e.getOriginalMessage());
+                    unreadable.add(new Object[]{id, payload, row.getTimestamp("created_at"), now,
+                            e.getOriginalMessage()});
+                }
+            }, batchSize);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+
+            if (!events.isEmpty()) {
+                rabbitTemplate.invoke(operations -> {
+                    events.forEach(event -> operations.convertAndSend(eventRouter.queueFor(event.getSku()), event));
+                    operations.waitForConfirmsOrDie(confirmTimeoutMs);
+                    return null;
+                });
+            }
+
+            if (!unreadable.isEmpty()) {
+                jdbcTemplate.batchUpdate("INSERT INTO event_outbox_dead_letters "
+                        + "(id, payload, created_at, failed_at, error) VALUES (?, ?, ?, ?, ?)", unreadable);
+            }
+            List<Object[]> deletes = ids.stream().map(id -> new Object[]{id}).toList();
+            jdbcTemplate.batchUpdate("DELETE FROM event_outbox WHERE id = ?", deletes);
+            return ids.size();
+        });
+        eventMetrics.outboxDeadLettered(unreadable.size());
+        return taken == null ? 0 : taken;
+    }
+
+    /**
+     * Locks the {@code outbox_relay_lock} row for the current transaction, creating it if
+     * missing.
+     *
+     * @return false if another instance holds it
+     */
+    private boolean lockRelay() {
+        if (!jdbcTemplate.queryForList("SELECT id FROM outbox_relay_lock WHERE id = 1 FOR UPDATE SKIP LOCKED",
+                Integer.class).isEmpty()) {
+            return true;
+        }
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_relay_lock WHERE id = 1", Integer.class);
+        if (rows == null || rows == 0) {
+            jdbcTemplate.update("INSERT INTO outbox_relay_lock (id) VALUES (1)");
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,246 @@
+package com.trademaster.inventory.rebuild;
+
+import com.trademaster.inventory.dto.EventRequest;
+import com.trademaster.inventory.enums.EventType;
+import com.trademaster.inventory.service.EventStrategyFactory;
+import com.trademaster.inventory.service.InventoryChange;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Reads the history of applied events, from {@code events} and {@code events_archive}, and
+ * folds it into a net quantity change per SKU. The effect of an event is taken from its
+ * strategy's {@link com.trademaster.inventory.service.EventProcessingStrategy#change}, the
+ * same one the coalescing path applies.
+ * <p>
+ * Only PROCESSED events are read, and each of them was applied exactly once, so the fold is
+ * a sum and event order does not matter. Events are selected by {@code processed_seq}, not
+ * by id: ids come from pooled blocks, so a lower id can commit after a higher one.
+ * {@link #stampProcessed()} gives the committed PROCESSED events that have no position yet
+ * the next one, while holding the {@code event_log_position} row, so every event at or
+ * below a position had committed when that position became visible. Rows are streamed with
+ * a server-side cursor ({@code app.rebuild.fetch-size}), so this must run inside a
+ * transaction on PostgreSQL. The reading thread spreads rows over
+ * {@code app.rebuild.partitions} SKU partitions, and every {@code app.rebuild.chunk-size}
+ * rows the partitions are folded on a fork-join pool, one task per partition, while the
+ * next chunk is read.
+ */
+@Component
+public class EventLog {
+
+    private static final String FOLD_COLUMNS = "SELECT sku, type, quantity, delta FROM ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventStrategyFactory eventStrategyFactory;
+    private final ForkJoinPool pool;
+    private final int partitionCount;
+    private final int chunkSize;
+
+    public EventLog(DataSource dataSource,
+                    EventStrategyFactory eventStrategyFactory,
+                    @Value("${app.rebuild.parallelism:0}") int parallelism,
+                    @Value("${app.rebuild.partitions:64}") int partitionCount,
+                    @Value("${app.rebuild.chunk-size:10000}") int chunkSize,
+                    @Value("${app.rebuild.fetch-size:5000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.eventStrategyFactory = eventStrategyFactory;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.partitionCount = partitionCount;
+        this.chunkSize = chunkSize;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Gives every committed PROCESSED event without a position, archived or not, the next
+     * position. Must run in its own transaction, committed before the position is used.
+     *
+     * @return the latest position, unchanged if there was nothing to stamp
+     */
+    public long stampProcessed() {
+        List<Long> current = jdbcTemplate.queryForList(
+                "SELECT processed_seq FROM event_log_position WHERE id = 1 FOR UPDATE", Long.class);
+        if (current.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO event_log_position (id, processed_seq) VALUES (1, 0)");
+            current = List.of(0L);
+        }
+        long next = current.get(0) + 1;
+        int stamped = jdbcTemplate.update("UPDATE events SET processed_seq = ? "
+                + "WHERE status = 'PROCESSED' AND processed_seq IS NULL", next)
+                + jdbcTemplate.update("UPDATE events_archive SET processed_seq = ? WHERE processed_seq IS NULL", next);
+        if (stamped == 0) {
+            return current.get(0);
+        }
+        jdbcTemplate.update("UPDATE event_log_position SET processed_seq = ? WHERE id = 1", next);
+        return next;
+    }
+
+    /**
+     * Folds the PROCESSED events with positions in {@code (afterSeq, upToSeq]}.
+     */
+    public Fold fold(long afterSeq, long upToSeq) {
+        return fold(FOLD_COLUMNS + "events WHERE status = 'PROCESSED' AND processed_seq > ? AND processed_seq <= ? "
+                + "UNION ALL " + FOLD_COLUMNS + "events_archive WHERE processed_seq > ? AND processed_seq <= ?",
+                afterSeq, upToSeq, afterSeq, upToSeq);
+    }
+
+    /**
+     * Folds the PROCESSED events after position {@code afterSeq}, including those that have
+     * no position yet.
+     */
+    public Fold foldAfter(long afterSeq) {
+        return fold(FOLD_COLUMNS + "events WHERE status = 'PROCESSED' AND (processed_seq IS NULL OR processed_seq > ?) "
+                + "UNION ALL " + FOLD_COLUMNS + "events_archive WHERE processed_seq IS NULL OR processed_seq > ?",
+                afterSeq, afterSeq);
+    }
+
+    private Fold fold(String sql, Object... args) {
+        Partition[] partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition();
+        }
+        ChunkReader reader = new ChunkReader(partitions);
+        jdbcTemplate.query(sql, rs -> {
+            reader.add(new Row(rs.getString(1), EventType.valueOf(rs.getString(2)),
+                    (Integer) rs.getObject(3), (Integer) rs.getObject(4)));
+        }, args);
+        reader.finish();
+
+        Map<String, Long> deltas = new HashMap<>();
+        for (Partition partition : partitions) {
+            deltas.putAll(partition.deltas);
+        }
+        return new Fold(deltas, reader.rows);
+    }
+
+    private int delta(Row row) {
+        InventoryChange change = eventStrategyFactory.get(row.type()).change(EventRequest.builder()
+                .type(row.type())
+                .sku(row.sku())
+                .quantity(row.quantity())
+                .delta(row.delta())
+                .build());
+        if (change == null) {
+            throw new IllegalStateException("Events of type " + row.type() + " cannot be rebuilt");
+        }
+        return change.delta();
+    }
+
+    /**
+     * Net quantity change per SKU, and the number of events it was folded from.
+     */
+    public record Fold(Map<String, Long> deltas, long events) {
+    }
+
+    private record Row(String sku, EventType type, Integer quantity, Integer delta) {
+    }
+
+    /**
+     * Running totals of the SKUs that hash to one partition, only ever updated by one task at a time.
+     */
+    private static class Partition {
+        private final Map<String, Long> deltas = new HashMap<>();
+    }
+
+    /**
+     * Buffers rows per partition and hands every full chunk to the pool. At most one chunk
+     * is folded while the next is read, so no partition is updated by two tasks at once.
+     */
+    private class ChunkReader {
+
+        private final Partition[] partitions;
+        private List<List<Row>> chunk;
+        private int buffered;
+        private long rows;
+        private ForkJoinTask<?> folding;
+
+        ChunkReader(Partition[] partitions) {
+            this.partitions = partitions;
+            this.chunk = newChunk();
+        }
+
+        void add(Row row) {
+            chunk.get(Math.floorMod(row.sku().hashCode(), partitions.length)).add(row);
+            rows++;
+            if (++buffered == chunkSize) {
+                submit();
+            }
+        }
+
+        void finish() {
+            submit();
+            awaitFolding();
+        }
+
+        private void submit() {
+            awaitFolding();
+            folding = pool.submit(new FoldTask(partitions, chunk, 0, partitions.length));
+            chunk = newChunk();
+            buffered = 0;
+        }
+
+        private void awaitFolding() {
+            if (folding != null) {
+                folding.join();
+                folding = null;
+            }
+        }
+
+        private List<List<Row>> newChunk() {
+            List<List<Row>> rowsByPartition = new ArrayList<>(partitions.length);
+            for (int i = 0; i < partitions.length; i++) {
+                rowsByPartition.add(new ArrayList<>());
+            }
+            return rowsByPartition;
+        }
+    }
+
+    /**
+     * Folds the rows of partitions {@code [from, to)} of a chunk, splitting the range in half
+     * down to single partitions.
+     */
+    private class FoldTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Partition[] partitions;
+        private final List<List<Row>> chunk;
+        private final int from;
+        private final int to;
+
+        FoldTask(Partition[] partitions, List<List<Row>> chunk, int from, int to) {
+            this.partitions = partitions;
+            this.chunk = chunk;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                Map<String, Long> deltas = partitions[from].deltas;
+                for (Row row : chunk.get(from)) {
+                    deltas.merge(row.sku(), (long) delta(row), Long::sum);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new FoldTask(partitions, chunk, from, middle), new FoldTask(partitions, chunk, middle, to));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.trademaster.inventory.rebuild;
+
+import com.trademaster.inventory.cache.InventoryReadCache;
+import com.trademaster.inventory.domain.InventorySnapshot;
+import com.trademaster.inventory.dto.RebuildReport;
+import com.trademaster.inventory.service.InventoryLedger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Recomputes {@code inventory_items} from the latest {@link InventorySnapshot} and the
+ * PROCESSED events after it, e.g. after a bad deploy or data fix.
+ * <ol>
+ *     <li>The PROCESSED events committed so far are stamped with the next position, and in
+ *     one repeatable-read transaction the events after the snapshot's position up to that
+ *     one are folded with {@link EventLog}.</li>
+ *     <li>The result is written to the shadow table {@code inventory_items_rebuild}.</li>
+ *     <li>In one transaction every {@code inventory_items} row is locked, which waits for
+ *     in-flight events to commit and holds off new ones. Every PROCESSED event after the
+ *     position of step 1, stamped or not, is folded into the shadow table, and it is
+ *     swapped in with one MERGE of the quantities that differ.</li>
+ * </ol>
+ * Only SKUs in the snapshot are rebuilt; SKUs created after it are reported and left alone.
+ * Like snapshots, rebuilds are not available with the write-behind ledger.
+ */
+@Service
+@Slf4j
+public class InventoryRebuildService {
+
+    static final String SHADOW_TABLE = "inventory_items_rebuild";
+
+    private final InventorySnapshotService snapshotService;
+    private final EventLog eventLog;
+    private final JdbcTemplate jdbcTemplate;
+    private final InventoryReadCache inventoryReadCache;
+    private final ObjectProvider<InventoryLedger> inventoryLedger;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate replayTemplate;
+    private final ReentrantLock running = new ReentrantLock();
+
+    public InventoryRebuildService(InventorySnapshotService snapshotService,
+                                   EventLog eventLog,
+                                   JdbcTemplate jdbcTemplate,
+                                   InventoryReadCache inventoryReadCache,
+                                   ObjectProvider<InventoryLedger> inventoryLedger,
+                                   PlatformTransactionManager transactionManager) {
+        this.snapshotService = snapshotService;
+        this.eventLog = eventLog;
+        this.jdbcTemplate = jdbcTemplate;
+        this.inventoryReadCache = inventoryReadCache;
+        this.inventoryLedger = inventoryLedger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.replayTemplate = new TransactionTemplate(transactionManager);
+        this.replayTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.replayTemplate.setReadOnly(true);
+    }
+
+    /**
+     * @throws IllegalStateException if a rebuild is already running, there is no snapshot
+     *                               yet or the ledger is enabled
+     */
+    public RebuildReport rebuild() {
+        if (inventoryLedger.getIfAvailable() != null) {
+            throw new IllegalStateException("Inventory rebuilds are not available with the ledger enabled");
+        }
+        if (!running.tryLock()) {
+            throw new IllegalStateException("An inventory rebuild is already running");
+        }
+        try {
+            InventorySnapshot snapshot = snapshotService.latest().orElseThrow(() -> new IllegalStateException(
+                    "No inventory snapshot to rebuild from, take one with POST /rebuilds/snapshots first"));
+            return rebuild(snapshot);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private RebuildReport rebuild(InventorySnapshot snapshot) {
+        long started = System.nanoTime();
+        long upTo = snapshotService.stampProcessed();
+        Replay replay = replayTemplate.execute(status -> new Replay(snapshotService.quantities(snapshot), upTo,
+                eventLog.fold(snapshot.getProcessedSeq(), upTo)));
+
+        Map<String, Long> quantities = replay.quantities();
+        List<String> skipped = new ArrayList<>();
+        replay.fold().deltas().forEach((sku, delta) -> {
+            if (quantities.computeIfPresent(sku, (key, quantity) -> quantity + delta) == null) {
+                skipped.add(sku);
+            }
+        });
+        transactionTemplate.executeWithoutResult(status -> writeShadow(quantities));
+
+        Swap swap = transactionTemplate.execute(status -> swapIn(replay, quantities));
+        long durationNanos = System.nanoTime() - started;
+        long events = replay.fold().events() + swap.catchUpEvents();
+
+        RebuildReport report = RebuildReport.builder()
+                .snapshotId(snapshot.getId())
+                .fromProcessedSeq(snapshot.getProcessedSeq())
+                .toProcessedSeq(replay.upTo())
+                .eventsReplayed(events)
+                .catchUpEvents(swap.catchUpEvents())
+                .skusRebuilt(quantities.size())
+                .skusChanged(swap.changed().size())
+                .skusSkipped(skipped)
+                .durationMs(durationNanos / 1_000_000)
+                .eventsPerSecond(durationNanos > 0 ? events * 1e9 / durationNanos : 0)
+                .build();
+        log.info("Inventory rebuilt from snapshot {}: {} events, {} of {} SKUs changed, {} skipped, {} events/s",
+                snapshot.getId(), events, swap.changed().size(), quantities.size(), skipped.size(),
+                Math.round(report.getEventsPerSecond()));
+        return report;
+    }
+
+    private void writeShadow(Map<String, Long> quantities) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + SHADOW_TABLE
+                + " (sku VARCHAR(255) PRIMARY KEY, quantity INTEGER NOT NULL)");
+        jdbcTemplate.update("DELETE FROM " + SHADOW_TABLE);
+        List<Object[]> rows = new ArrayList<>(quantities.size());
+        quantities.forEach((sku, quantity) -> rows.add(new Object[]{sku, Math.toIntExact(quantity)}));
+        jdbcTemplate.batchUpdate("INSERT INTO " + SHADOW_TABLE + " (sku, quantity) VALUES (?, ?)", rows);
+    }
+
+    private Swap swapIn(Replay replay, Map<String, Long> quantities) {
+        // Waits for events being applied right now and keeps new ones out until the swap commits
+        jdbcTemplate.query("SELECT id FROM inventory_items ORDER BY id FOR UPDATE", rs -> {
+        });
+
+        // Nothing is in flight now, so the events after the replayed position are exactly the ones it missed
+        EventLog.Fold catchUp = eventLog.foldAfter(replay.upTo());
+        List<Object[]> rows = new ArrayList<>();
+        catchUp.deltas().forEach((sku, delta) -> {
+            if (quantities.containsKey(sku)) {
+                rows.add(new Object[]{Math.toIntExact(delta), sku});
+            }
+        });
+        jdbcTemplate.batchUpdate("UPDATE " + SHADOW_TABLE + " SET quantity = quantity + ? WHERE sku = ?", rows);
+
+        List<String> changed = jdbcTemplate.queryForList("SELECT s.sku FROM " + SHADOW_TABLE + " s "
+                + "JOIN inventory_items i ON i.sku = s.sku WHERE i.quantity <> s.quantity", String.class);
+        jdbcTemplate.update("MERGE INTO inventory_items i USING " + SHADOW_TABLE + " s ON i.sku = s.sku "
+                + "WHEN MATCHED AND i.quantity <> s.quantity THEN UPDATE SET quantity = s.quantity, updated_at = CURRENT_TIMESTAMP");
+        changed.forEach(inventoryReadCache::invalidate);
+        return new Swap(catchUp.events(), changed);
+    }
+
+    private record Replay(Map<String, Long> quantities, long upTo, EventLog.Fold fold) {
+    }
+
+    private record Swap(long catchUpEvents, List<String> changed) {
+    }
+}
@@ -0,0 +1,193 @@
+package com.trademaster.inventory.rebuild;
+
+import com.trademaster.inventory.domain.InventorySnapshot;
+import com.trademaster.inventory.repository.InventorySnapshotRepository;
+import com.trademaster.inventory.service.InventoryLedger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Takes the {@link InventorySnapshot} checkpoints that rebuilds start from.
+ * <p>
+ * A checkpoint covers every PROCESSED event up to the position
+ * {@link EventLog#stampProcessed()} hands out just before it. Every checkpoint is the
+ * previous snapshot plus the PROCESSED events between the two positions, so it only depends
+ * on the event history and a bad data fix in {@code inventory_items} does not leak into it.
+ * Events that commit later, whatever their id, get a later position and go into the next
+ * checkpoint. Only SKUs the previous snapshot does not have (all of them for the first one)
+ * are read from {@code inventory_items}, as their quantity minus the PROCESSED events after
+ * the position, in one repeatable-read transaction so both sides agree. This needs
+ * {@code inventory_items} to be written together with the event status, so snapshots are
+ * not available with the write-behind ledger. With {@code app.rebuild.snapshots.enabled} a
+ * checkpoint is taken every {@code app.rebuild.snapshots.interval-ms}; the newest
+ * {@code app.rebuild.snapshots.keep} are kept.
+ */
+@Service
+@Slf4j
+public class InventorySnapshotService {
+
+    private final InventorySnapshotRepository snapshotRepository;
+    private final EventLog eventLog;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<InventoryLedger> inventoryLedger;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotReadTemplate;
+    private final boolean scheduled;
+    private final int keep;
+
+    public InventorySnapshotService(InventorySnapshotRepository snapshotRepository,
+                                    EventLog eventLog,
+                                    JdbcTemplate jdbcTemplate,
+                                    ObjectProvider<InventoryLedger> inventoryLedger,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.rebuild.snapshots.enabled:false}") boolean scheduled,
+                                    @Value("${app.rebuild.snapshots.keep:3}") int keep) {
+        this.snapshotRepository = snapshotRepository;
+        this.eventLog = eventLog;
+        this.jdbcTemplate = jdbcTemplate;
+        this.inventoryLedger = inventoryLedger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotReadTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotReadTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotReadTemplate.setReadOnly(true);
+        this.scheduled = scheduled;
+        this.keep = keep;
+    }
+
+    @Scheduled(initialDelayString = "${app.rebuild.snapshots.interval-ms:3600000}",
+            fixedDelayString = "${app.rebuild.snapshots.interval-ms:3600000}")
+    public void scheduledCheckpoint() {
+        if (scheduled) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * Takes a checkpoint, unless no event was processed since the latest one.
+     *
+     * @return the new snapshot, or the latest one if nothing changed
+     * @throws IllegalStateException if the ledger is enabled
+     */
+    public synchronized InventorySnapshot checkpoint() {
+        if (inventoryLedger.getIfAvailable() != null) {
+            throw new IllegalStateException("Inventory snapshots are not available with the ledger enabled");
+        }
+        long started = System.nanoTime();
+        long upTo = stampProcessed();
+        Optional<InventorySnapshot> latest = snapshotRepository.findFirstByOrderByIdDesc();
+        if (latest.isPresent() && upTo <= latest.get().getProcessedSeq()) {
+            return latest.get();
+        }
+        Checkpoint checkpoint = snapshotReadTemplate.execute(status ->
+                latest.isPresent() ? advance(latest.get(), upTo) : fromInventory(upTo));
+
+        InventorySnapshot snapshot = transactionTemplate.execute(status -> save(checkpoint));
+        log.info("Inventory snapshot {} taken up to position {} with {} SKUs ({} events folded) in {} ms",
+                snapshot.getId(), snapshot.getProcessedSeq(), snapshot.getSkuCount(), checkpoint.eventsFolded(),
+                (System.nanoTime() - started) / 1_000_000);
+        return snapshot;
+    }
+
+    public Optional<InventorySnapshot> latest() {
+        return snapshotRepository.findFirstByOrderByIdDesc();
+    }
+
+    public List<InventorySnapshot> recent() {
+        return snapshotRepository.findTop20ByOrderByIdDesc();
+    }
+
+    public Map<String, Long> quantities(InventorySnapshot snapshot) {
+        Map<String, Long> quantities = new HashMap<>(snapshot.getSkuCount() * 2);
+        jdbcTemplate.query("SELECT sku, quantity FROM inventory_snapshot_items WHERE snapshot_id = ?",
+                rs -> {
+                    quantities.put(rs.getString(1), rs.getLong(2));
+                }, snapshot.getId());
+        return quantities;
+    }
+
+    /**
+     * Stamps the PROCESSED events committed so far, in a transaction of its own.
+     *
+     * @return the position they got, or the latest one if there were none
+     */
+    long stampProcessed() {
+        Long position = transactionTemplate.execute(status -> eventLog.stampProcessed());
+        return position == null ? 0 : position;
+    }
+
+    private Checkpoint advance(InventorySnapshot latest, long upTo) {
+        Map<String, Long> quantities = quantities(latest);
+        EventLog.Fold fold = eventLog.fold(latest.getProcessedSeq(), upTo);
+        fold.deltas().forEach((sku, delta) -> quantities.computeIfPresent(sku, (key, quantity) -> quantity + delta));
+        long newSkuEvents = addNewSkus(quantities, upTo);
+        return new Checkpoint(upTo, quantities, fold.events() + newSkuEvents);
+    }
+
+    private Checkpoint fromInventory(long upTo) {
+        Map<String, Long> quantities = new HashMap<>();
+        long events = addNewSkus(quantities, upTo);
+        return new Checkpoint(upTo, quantities, events);
+    }
+
+    /**
+     * Adds the SKUs of {@code inventory_items} that {@code quantities} does not have yet
+     * (items are created outside the event log), as of position {@code upTo}: their current
+     * quantity minus the PROCESSED events after it, which it already reflects.
+     *
+     * @return the number of events folded
+     */
+    private long addNewSkus(Map<String, Long> quantities, long upTo) {
+        Map<String, Long> added = new HashMap<>();
+        jdbcTemplate.query("SELECT sku, quantity FROM inventory_items", rs -> {
+            if (!quantities.containsKey(rs.getString(1))) {
+                added.put(rs.getString(1), rs.getLong(2));
+            }
+        });
+        if (added.isEmpty()) {
+            return 0;
+        }
+        EventLog.Fold after = eventLog.foldAfter(upTo);
+        after.deltas().forEach((sku, delta) -> added.computeIfPresent(sku, (key, quantity) -> quantity - delta));
+        quantities.putAll(added);
+        return after.events();
+    }
+
+    private InventorySnapshot save(Checkpoint checkpoint) {
+        InventorySnapshot snapshot = snapshotRepository.save(InventorySnapshot.builder()
+                .processedSeq(checkpoint.processedSeq())
+                .skuCount(checkpoint.quantities().size())
+                .build());
+
+        List<Object[]> rows = new ArrayList<>(checkpoint.quantities().size());
+        checkpoint.quantities().forEach((sku, quantity) ->
+                rows.add(new Object[]{snapshot.getId(), sku, Math.toIntExact(quantity)}));
+        jdbcTemplate.batchUpdate("INSERT INTO inventory_snapshot_items (snapshot_id, sku, quantity) VALUES (?, ?, ?)", rows);
+
+        List<Long> ids = snapshotRepository.findIdsNewestFirst();
+        if (ids.size() > keep) {
+            delete(ids.subList(keep, ids.size()));
+        }
+        return snapshot;
+    }
+
+    private void delete(List<Long> ids) {
+        snapshotRepository.deleteItemsBySnapshotIdIn(ids);
+        snapshotRepository.deleteByIdIn(ids);
+    }
+
+    private record Checkpoint(long processedSeq, Map<String, Long> quantities, long eventsFolded) {
+    }
+}
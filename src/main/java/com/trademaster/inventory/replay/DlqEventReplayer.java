@@ -0,0 +1,52 @@
+package com.trademaster.inventory.replay;
+
+import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.metrics.EventCounters;
+import com.trademaster.inventory.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Re-injects events stored with status DLQ by moving them back to RETRY with their attempts
+ * reset and due right away, so the sweeper picks them up. The rows, and so their hashes,
+ * stay as they are: a replayed event is never stored twice.
+ */
+@Component
+@RequiredArgsConstructor
+public class DlqEventReplayer {
+
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EventCounters eventCounters;
+
+    /**
+     * Requeues up to {@code limit} DLQ events matching the job's filter, in id order after
+     * {@code afterId}.
+     *
+     * @return the id to continue after, or -1 once no matching DLQ events remain
+     */
+    public long replayBatch(ReplayJob job, long afterId, int limit) {
+        ReplayFilter filter = job.filter();
+        List<Long> ids = eventRepository.findIdsByStatusAfter(EventStatus.DLQ, afterId,
+                filter.sku(), filter.type(), filter.from(), filter.to(), PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return -1;
+        }
+
+        Integer requeued = transactionTemplate.execute(status -> eventRepository.requeue(
+                ids, EventStatus.DLQ, EventStatus.RETRY, LocalDateTime.now()));
+        int count = requeued == null ? 0 : requeued;
+        eventCounters.transitioned(EventStatus.DLQ, EventStatus.RETRY, count);
+
+        job.recordScanned(ids.size());
+        job.recordReplayed(count);
+        // Rows that left DLQ between the scan and the update
+        job.recordSkipped(ids.size() - count);
+        return ids.get(ids.size() - 1);
+    }
+}
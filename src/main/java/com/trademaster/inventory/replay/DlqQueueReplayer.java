@@ -0,0 +1,161 @@
+package com.trademaster.inventory.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.GetResponse;
+import com.trademaster.inventory.codec.BinaryEventCodec;
+import com.trademaster.inventory.dto.EventRequest;
+import com.trademaster.inventory.sharding.EventRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves messages from the dead-letter queues back to the queue the {@link EventRouter}
+ * picks for their SKU: {@code orders.events.dlq} to {@code orders.events}, or each shard DLQ
+ * to its shard when sharding is enabled. Messages are re-published with their original body
+ * and properties, so the consumer hashes them to the same key and drops any event that was
+ * already stored. Messages outside the filter, and messages that cannot be parsed (they
+ * would only fail again), go back to the tail of their DLQ. A pass takes no more from each
+ * DLQ than it held when the pass started, so those messages are not read a second time.
+ * <p>
+ * A batch is taken from the DLQs in turn, re-published and confirmed on one channel, then
+ * acknowledged with a single multiple-ack. If anything fails before the ack the batch is
+ * requeued to the DLQ; messages already re-published by then are delivered twice, and the
+ * duplicate is dropped by the hash check.
+ */
+@Component
+@Slf4j
+public class DlqQueueReplayer {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final EventRouter eventRouter;
+    private final long confirmTimeoutMs;
+
+    public DlqQueueReplayer(RabbitTemplate rabbitTemplate,
+                            ObjectMapper objectMapper,
+                            EventRouter eventRouter,
+                            @Value("${app.replay.confirm-timeout-ms:5000}") long confirmTimeoutMs) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.eventRouter = eventRouter;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+    }
+
+    /**
+     * @return the number of messages in each non-empty DLQ right now
+     */
+    public Map<String, Long> depths() {
+        Map<String, Long> depths = rabbitTemplate.execute(channel -> {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (String queue : eventRouter.deadLetterQueues()) {
+                long count = channel.messageCount(queue);
+                if (count > 0) {
+                    counts.put(queue, count);
+                }
+            }
+            return counts;
+        });
+        return depths == null ? new LinkedHashMap<>() : depths;
+    }
+
+    /**
+     * Takes up to {@code maxMessages} messages off the DLQs and re-injects those matching the
+     * job's filter. No more than {@code left} allows is taken from each DLQ; the counts are
+     * lowered by what was taken, and DLQs that are used up or found empty are removed.
+     *
+     * @param left messages still to take per DLQ, from {@link #depths()} at the start of the pass
+     * @return the number of messages taken
+     */
+    public int replayBatch(ReplayJob job, Map<String, Long> left, int maxMessages) {
+        Integer taken = rabbitTemplate.execute(channel -> {
+            channel.confirmSelect();
+            int count = 0;
+            int replayed = 0;
+            long lastTag = -1;
+            try {
+                // Delivery tags are per channel, so the multiple-ack below covers every DLQ
+                Iterator<Map.Entry<String, Long>> queues = left.entrySet().iterator();
+                while (count < maxMessages && queues.hasNext()) {
+                    Map.Entry<String, Long> entry = queues.next();
+                    String deadLetterQueue = entry.getKey();
+                    long budget = entry.getValue();
+                    GetResponse response = null;
+                    while (count < maxMessages && budget > 0
+                            && (response = channel.basicGet(deadLetterQueue, false)) != null) {
+                        count++;
+                        budget--;
+                        lastTag = response.getEnvelope().getDeliveryTag();
+                        EventRequest event = parse(response);
+                        boolean replay = event != null && matches(job.filter(), event, response.getProps());
+                        String queue = replay ? eventRouter.queueFor(event.getSku()) : deadLetterQueue;
+                        channel.basicPublish("", queue, response.getProps(), response.getBody());
+                        if (replay) {
+                            replayed++;
+                        }
+                    }
+                    if (budget == 0 || response == null) {
+                        queues.remove();
+                    } else {
+                        entry.setValue(budget);
+                    }
+                }
+                if (count > 0) {
+                    channel.waitForConfirmsOrDie(confirmTimeoutMs);
+                    channel.basicAck(lastTag, true);
+                }
+            } catch (Exception e) {
+                if (lastTag >= 0) {
+                    channel.basicNack(lastTag, true, true);
+                }
+                throw e;
+            }
+
+            job.recordScanned(count);
+            job.recordReplayed(replayed);
+            job.recordSkipped(count - replayed);
+            return count;
+        });
+        return taken == null ? 0 : taken;
+    }
+
+    private EventRequest parse(GetResponse response) {
+        try {
+            return BinaryEventCodec.CONTENT_TYPE.equals(response.getProps().getContentType())
+                    ? BinaryEventCodec.decode(response.getBody())
+                    : objectMapper.readValue(response.getBody(), EventRequest.class);
+        } catch (Exception e) {
+            log.warn("Keeping unparseable message in the DLQ: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean matches(ReplayFilter filter, EventRequest event, AMQP.BasicProperties properties) {
+        return filter.matches(event.getSku(), event.getType(), deadLetteredAt(properties));
+    }
+
+    /**
+     * When the message was dead-lettered, from the broker's {@code x-death} header, falling
+     * back to the publish timestamp.
+     */
+    static LocalDateTime deadLetteredAt(AMQP.BasicProperties properties) {
+        Map<String, Object> headers = properties.getHeaders();
+        Object deaths = headers == null ? null : headers.get("x-death");
+        if (deaths instanceof List<?> list && !list.isEmpty()
+                && list.get(0) instanceof Map<?, ?> death && death.get("time") instanceof Date time) {
+            return LocalDateTime.ofInstant(time.toInstant(), ZoneId.systemDefault());
+        }
+        Date timestamp = properties.getTimestamp();
+        return timestamp == null ? null : LocalDateTime.ofInstant(timestamp.toInstant(), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,32 @@
+package com.trademaster.inventory.replay;
+
+import com.trademaster.inventory.dto.ReplayRequest;
+import com.trademaster.inventory.enums.EventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Which dead-lettered events a replay picks up. Every criterion is optional.
+ */
+public record ReplayFilter(String sku, EventType type, LocalDateTime from, LocalDateTime to) {
+
+    public static ReplayFilter of(ReplayRequest request) {
+        return new ReplayFilter(request.getSku(), request.getType(), request.getFrom(), request.getTo());
+    }
+
+    /**
+     * @param at when the event failed or was created; null fails any time criterion
+     */
+    public boolean matches(String sku, EventType type, LocalDateTime at) {
+        if (this.sku != null && !this.sku.equals(sku)) {
+            return false;
+        }
+        if (this.type != null && this.type != type) {
+            return false;
+        }
+        if (from != null && (at == null || at.isBefore(from))) {
+            return false;
+        }
+        return to == null || (at != null && at.isBefore(to));
+    }
+}
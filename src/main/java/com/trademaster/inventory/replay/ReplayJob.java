@@ -0,0 +1,116 @@
+package com.trademaster.inventory.replay;
+
+import com.trademaster.inventory.dto.ReplayRequest;
+import com.trademaster.inventory.dto.ReplayStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one replay, updated by the replay thread and read by the API.
+ */
+public class ReplayJob {
+
+    public enum State {
+        RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    private final String id;
+    private final ReplayRequest request;
+    private final ReplayFilter filter;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+
+    private volatile State state = State.RUNNING;
+    private volatile boolean cancelRequested;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public ReplayJob(String id, ReplayRequest request) {
+        this.id = id;
+        this.request = request;
+        this.filter = ReplayFilter.of(request);
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public ReplayRequest request() {
+        return request;
+    }
+
+    public ReplayFilter filter() {
+        return filter;
+    }
+
+    public State state() {
+        return state;
+    }
+
+    public long replayed() {
+        return replayed.get();
+    }
+
+    /**
+     * Events this job may still re-inject before reaching {@code maxEvents}.
+     */
+    public long remaining() {
+        Long max = request.getMaxEvents();
+        return max == null ? Long.MAX_VALUE : Math.max(0, max - replayed.get());
+    }
+
+    public boolean shouldStop() {
+        return cancelRequested || remaining() == 0;
+    }
+
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    void recordScanned(int count) {
+        scanned.addAndGet(count);
+    }
+
+    void recordReplayed(int count) {
+        replayed.addAndGet(count);
+    }
+
+    void recordSkipped(int count) {
+        skipped.addAndGet(count);
+    }
+
+    void finish() {
+        finish(cancelRequested ? State.CANCELLED : State.COMPLETED, null);
+    }
+
+    void fail(Exception e) {
+        finish(State.FAILED, e.getMessage());
+    }
+
+    private void finish(State state, String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.state = state;
+    }
+
+    public ReplayStatus status() {
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        long elapsedMs = Math.max(1, Duration.between(startedAt, end).toMillis());
+        return ReplayStatus.builder()
+                .id(id)
+                .state(state.name())
+                .request(request)
+                .scanned(scanned.get())
+                .replayed(replayed.get())
+                .skipped(skipped.get())
+                .eventsPerSecond(replayed.get() * 1000.0 / elapsedMs)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.trademaster.inventory.replay;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces a single replay thread to a number of events per second. Permits are taken
+ * before a batch is sent, so the rate is never exceeded, only approached.
+ */
+class ReplayRateLimiter {
+
+    private final long nanosPerEvent;
+    private long nextFreeAt = System.nanoTime();
+
+    ReplayRateLimiter(int eventsPerSecond) {
+        this.nanosPerEvent = eventsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / eventsPerSecond : 0;
+    }
+
+    void acquire(int events) throws InterruptedException {
+        if (nanosPerEvent == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long startAt = Math.max(now, nextFreeAt);
+        nextFreeAt = startAt + nanosPerEvent * events;
+        if (startAt > now) {
+            TimeUnit.NANOSECONDS.sleep(startAt - now);
+        }
+    }
+}
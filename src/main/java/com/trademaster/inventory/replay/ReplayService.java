@@ -0,0 +1,126 @@
+package com.trademaster.inventory.replay;
+
+import com.trademaster.inventory.dto.ReplayRequest;
+import com.trademaster.inventory.enums.ReplaySource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs DLQ replays in the background, one at a time. A replay first requeues DLQ rows from
+ * the database and then drains the DLQ queue, as selected by its source, in batches paced
+ * by its rate limit. Only the messages that were in the DLQ queue when that phase started
+ * are looked at, so messages put back by the replay itself are not seen again.
+ */
+@Service
+@Slf4j
+public class ReplayService {
+
+    private final DlqEventReplayer dlqEventReplayer;
+    private final DlqQueueReplayer dlqQueueReplayer;
+    private final int defaultBatchSize;
+    private final int historySize;
+
+    private final Map<String, ReplayJob> jobs = new LinkedHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dlq-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplayService(DlqEventReplayer dlqEventReplayer,
+                         DlqQueueReplayer dlqQueueReplayer,
+                         @Value("${app.replay.batch-size:500}") int defaultBatchSize,
+                         @Value("${app.replay.history-size:20}") int historySize) {
+        this.dlqEventReplayer = dlqEventReplayer;
+        this.dlqQueueReplayer = dlqQueueReplayer;
+        this.defaultBatchSize = defaultBatchSize;
+        this.historySize = historySize;
+    }
+
+    /**
+     * @throws IllegalStateException if another replay is still running
+     */
+    public synchronized ReplayJob start(ReplayRequest request) {
+        if (jobs.values().stream().anyMatch(job -> job.state() == ReplayJob.State.RUNNING)) {
+            throw new IllegalStateException("A replay is already running");
+        }
+        ReplayJob job = new ReplayJob(UUID.randomUUID().toString(), request);
+        jobs.put(job.id(), job);
+        Iterator<ReplayJob> oldest = jobs.values().iterator();
+        while (jobs.size() > historySize && oldest.hasNext()) {
+            if (oldest.next().state() != ReplayJob.State.RUNNING) {
+                oldest.remove();
+            }
+        }
+        log.info("Starting DLQ replay {}: {}", job.id(), request);
+        executor.execute(() -> run(job));
+        return job;
+    }
+
+    public synchronized Optional<ReplayJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * @return recent replays, newest first
+     */
+    public synchronized List<ReplayJob> list() {
+        List<ReplayJob> list = new ArrayList<>(jobs.values());
+        Collections.reverse(list);
+        return list;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        list().forEach(ReplayJob::cancel);
+        executor.shutdownNow();
+    }
+
+    void run(ReplayJob job) {
+        ReplayRequest request = job.request();
+        int batchSize = request.getBatchSize() != null ? request.getBatchSize() : defaultBatchSize;
+        ReplayRateLimiter rateLimiter = new ReplayRateLimiter(
+                request.getRatePerSecond() != null ? request.getRatePerSecond() : 0);
+        try {
+            if (request.getSource() != ReplaySource.QUEUE) {
+                long afterId = 0;
+                while (afterId >= 0 && !job.shouldStop()) {
+                    int limit = (int) Math.min(batchSize, job.remaining());
+                    rateLimiter.acquire(limit);
+                    afterId = dlqEventReplayer.replayBatch(job, afterId, limit);
+                }
+            }
+            if (request.getSource() != ReplaySource.DATABASE) {
+                Map<String, Long> left = dlqQueueReplayer.depths();
+                while (!left.isEmpty() && !job.shouldStop()) {
+                    // Paced on messages taken, including those that go back to the DLQ
+                    long total = left.values().stream().mapToLong(Long::longValue).sum();
+                    int limit = (int) Math.min(Math.min(batchSize, total), job.remaining());
+                    rateLimiter.acquire(limit);
+                    dlqQueueReplayer.replayBatch(job, left, limit);
+                }
+            }
+            job.finish();
+            log.info("DLQ replay {} finished: {}", job.id(), job.status());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail(e);
+        } catch (Exception e) {
+            log.error("DLQ replay {} failed", job.id(), e);
+            job.fail(e);
+        }
+    }
+}
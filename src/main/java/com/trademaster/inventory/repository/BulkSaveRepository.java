@@ -0,0 +1,18 @@
+package com.trademaster.inventory.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository fragment for inserting many new entities at once.
+ */
+public interface BulkSaveRepository<T> {
+
+    /**
+     * Persists new entities and flushes them in groups of {@code hibernate.jdbc.batch_size},
+     * so each group is sent as one JDBC batch. Unlike {@code saveAll}, the inserts happen
+     * before this method returns, and constraint violations are thrown from here. The
+     * entities must be new: their ids are assigned from the pooled sequence.
+     */
+    <S extends T> List<S> persistAll(Collection<S> entities);
+}
@@ -0,0 +1,34 @@
+package com.trademaster.inventory.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+class BulkSaveRepositoryImpl<T> implements BulkSaveRepository<T> {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public <S extends T> List<S> persistAll(Collection<S> entities) {
+        int pending = 0;
+        for (S entity : entities) {
+            entityManager.persist(entity);
+            if (++pending == batchSize) {
+                entityManager.flush();
+                pending = 0;
+            }
+        }
+        entityManager.flush();
+        return new ArrayList<>(entities);
+    }
+}
@@ -2,7 +2,7 @@ package com.trademaster.inventory.repository;
 
 import com.trademaster.inventory.domain.Event;
 import com.trademaster.inventory.enums.EventStatus;
-import org.springframework.data.domain.Page;
+import com.trademaster.inventory.enums.EventType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -10,26 +10,114 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, BulkSaveRepository<Event> {
 
     Optional<Event> findByHash(String hash);
 
-    @Query("SELECT e FROM Event e WHERE e.status IN ('RECEIVED', 'RETRY') ORDER BY e.createdAt ASC")
-    Page<Event> findPendingEvents(Pageable pageable);
+    @Query("SELECT e.hash FROM Event e WHERE e.hash IN :hashes")
+    List<String> findExistingHashes(@Param("hashes") Collection<String> hashes);
+
+    @Query("SELECT e.hash FROM Event e ORDER BY e.createdAt DESC")
+    List<String> findRecentHashes(Pageable pageable);
+
+    /**
+     * Locks up to {@code limit} pending events that are due and whose lease is free or expired, skipping rows
+     * already locked by another sweeper. Rows are scanned by keyset in due order, strictly after
+     * {@code (afterNextAttemptAt, afterId)}, with no COUNT, so events that are not due yet are never
+     * read. Must run inside the transaction that claims them.
+     */
+    @Query(value = "SELECT id FROM events WHERE status IN ('RECEIVED', 'RETRY') "
+            + "AND (lease_expires_at IS NULL OR lease_expires_at < :now) "
+            + "AND next_attempt_at <= :now "
+            + "AND (next_attempt_at > :afterNextAttemptAt OR (next_attempt_at = :afterNextAttemptAt AND id > :afterId)) "
+            + "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockClaimablePendingIds(@Param("now") LocalDateTime now,
+                                       @Param("afterNextAttemptAt") LocalDateTime afterNextAttemptAt,
+                                       @Param("afterId") long afterId,
+                                       @Param("limit") int limit);
 
     @Modifying
-    @Query("UPDATE Event e SET e.status = :status, e.attempts = e.attempts + 1 WHERE e.id = :id")
-    void updateStatusAndIncrementAttempts(@Param("id") Long id, @Param("status") EventStatus status);
+    @Query("UPDATE Event e SET e.claimedBy = :owner, e.leaseExpiresAt = :leaseExpiresAt WHERE e.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+              @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
 
+    // Status changes release any sweeper lease, so RETRY rows can be claimed again right away
     @Modifying
-    @Query("UPDATE Event e SET e.status = :status WHERE e.id = :id")
+    @Query("UPDATE Event e SET e.status = :status, e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt, "
+            + "e.claimedBy = NULL, e.leaseExpiresAt = NULL WHERE e.id = :id")
+    void updateStatusAndIncrementAttempts(@Param("id") Long id, @Param("status") EventStatus status,
+                                          @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.status = :status, e.claimedBy = NULL, e.leaseExpiresAt = NULL WHERE e.id = :id")
     void updateStatus(@Param("id") Long id, @Param("status") EventStatus status);
 
+    @Modifying
+    @Query("UPDATE Event e SET e.status = :status, e.claimedBy = NULL, e.leaseExpiresAt = NULL WHERE e.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") EventStatus status);
+
+    @Query("SELECT e.status FROM Event e WHERE e.id = :id")
+    Optional<EventStatus> findStatusById(@Param("id") Long id);
+
+    @Query("SELECT e.id FROM Event e WHERE e.id IN :ids AND e.status IN :statuses")
+    List<Long> findIdsByIdInAndStatusIn(@Param("ids") Collection<Long> ids,
+                                        @Param("statuses") Collection<EventStatus> statuses);
+
+    List<Event> findByStatusOrderByIdAsc(EventStatus status);
+
+    /**
+     * Ids of events in {@code status} after {@code afterId}, in id order. Null criteria match
+     * everything; the time range applies to {@code created_at}.
+     */
+    @Query("SELECT e.id FROM Event e WHERE e.status = :status AND e.id > :afterId "
+            + "AND (:sku IS NULL OR e.sku = :sku) AND (:type IS NULL OR e.type = :type) "
+            + "AND (:from IS NULL OR e.createdAt >= :from) AND (:to IS NULL OR e.createdAt < :to) "
+            + "ORDER BY e.id")
+    List<Long> findIdsByStatusAfter(@Param("status") EventStatus status, @Param("afterId") long afterId,
+                                    @Param("sku") String sku, @Param("type") EventType type,
+                                    @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                    Pageable pageable);
+
+    // Gives events a fresh set of attempts, due at :now; rows no longer in :from are left alone
+    @Modifying
+    @Query("UPDATE Event e SET e.status = :to, e.attempts = 0, e.nextAttemptAt = :now, "
+            + "e.claimedBy = NULL, e.leaseExpiresAt = NULL WHERE e.id IN :ids AND e.status = :from")
+    int requeue(@Param("ids") Collection<Long> ids, @Param("from") EventStatus from,
+                @Param("to") EventStatus to, @Param("now") LocalDateTime now);
+
+    /**
+     * Locks up to {@code limit} of the oldest PROCESSED events created before {@code cutoff}, skipping
+     * rows locked elsewhere. Must run inside the transaction that archives them.
+     */
+    @Query(value = "SELECT id FROM events WHERE status = 'PROCESSED' AND created_at < :cutoff "
+            + "ORDER BY created_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockArchivableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO events_archive (id, type, sku, quantity, delta, payload, hash, processed_seq, "
+            + "created_at, archived_at) "
+            + "SELECT id, type, sku, quantity, delta, payload, hash, processed_seq, created_at, :archivedAt FROM events "
+            + "WHERE id IN :ids", nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query("DELETE FROM Event e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT MIN(e.nextAttemptAt) FROM Event e WHERE e.status IN :statuses")
+    LocalDateTime findEarliestNextAttemptAt(@Param("statuses") Collection<EventStatus> statuses);
+
     long countByStatus(EventStatus status);
 
+    @Query("SELECT e.status, COUNT(e) FROM Event e GROUP BY e.status")
+    List<Object[]> countGroupByStatus();
+
     @Query("SELECT COUNT(e) FROM Event e WHERE e.status IN :statuses")
     long countByStatusIn(@Param("statuses") java.util.List<EventStatus> statuses);
 }
@@ -7,6 +7,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,6 +16,8 @@ public interface InventoryItemRepository extends JpaRepository<InventoryItem, Lo
 
     Optional<InventoryItem> findBySku(String sku);
 
+    List<InventoryItem> findBySkuIn(Collection<String> skus);
+
     @Modifying
     @Query("UPDATE InventoryItem i SET i.quantity = i.quantity + :delta WHERE i.sku = :sku")
     void adjustQuantityBySku(@Param("sku") String sku, @Param("delta") Integer delta);
@@ -21,4 +25,16 @@ public interface InventoryItemRepository extends JpaRepository<InventoryItem, Lo
     @Modifying
     @Query("UPDATE InventoryItem i SET i.quantity = i.quantity - :amount WHERE i.sku = :sku AND i.quantity >= :amount")
     int decrementQuantityIfAvailable(@Param("sku") String sku, @Param("amount") Integer amount);
+
+    /**
+     * Reads the quantity with a row lock held until the transaction ends. Native so the value
+     * is not served from an entity already in the persistence context.
+     */
+    @Query(value = "SELECT quantity FROM inventory_items WHERE sku = :sku FOR UPDATE", nativeQuery = true)
+    Optional<Integer> lockQuantityBySku(@Param("sku") String sku);
+
+    @Modifying
+    @Query("UPDATE InventoryItem i SET i.quantity = i.quantity + :delta WHERE i.sku = :sku AND i.quantity = :expected")
+    int adjustQuantityIfUnchanged(@Param("sku") String sku, @Param("expected") Integer expected,
+                                  @Param("delta") Integer delta);
 }
@@ -0,0 +1,31 @@
+package com.trademaster.inventory.repository;
+
+import com.trademaster.inventory.domain.InventorySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InventorySnapshotRepository extends JpaRepository<InventorySnapshot, Long> {
+
+    Optional<InventorySnapshot> findFirstByOrderByIdDesc();
+
+    List<InventorySnapshot> findTop20ByOrderByIdDesc();
+
+    @Query("SELECT s.id FROM InventorySnapshot s ORDER BY s.id DESC")
+    List<Long> findIdsNewestFirst();
+
+    @Modifying
+    @Query(value = "DELETE FROM inventory_snapshot_items WHERE snapshot_id IN :ids", nativeQuery = true)
+    int deleteItemsBySnapshotIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM InventorySnapshot s WHERE s.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -1,36 +1,52 @@
 package com.trademaster.inventory.service;
 
 import com.trademaster.inventory.domain.BatchJob;
+import com.trademaster.inventory.domain.BatchJobShard;
 import com.trademaster.inventory.domain.Event;
+import com.trademaster.inventory.metrics.EventCounters;
+import com.trademaster.inventory.metrics.EventMetrics;
 import com.trademaster.inventory.repository.BatchJobRepository;
-import com.trademaster.inventory.repository.EventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BatchProcessingService {
 
-    private final EventRepository eventRepository;
+    private final PendingEventClaimer pendingEventClaimer;
     private final BatchJobRepository batchJobRepository;
     private final EventProcessingService eventProcessingService;
+    private final SkuShardExecutor skuShardExecutor;
+    private final EventMetrics eventMetrics;
+    private final EventCounters eventCounters;
 
     @Value("${app.chunk-size:100}")
     private Integer chunkSize;
 
-    @Scheduled(fixedDelayString = "${app.retry-delay-ms:5000}")
-    @Transactional
+    @Value("${app.coalescing.enabled:false}")
+    private boolean coalescing;
+
+    /**
+     * Sweeps one chunk of pending events claimed by this instance. The chunk is sharded by SKU across the
+     * {@link SkuShardExecutor} workers; each shard is processed in order, with every event
+     * in its own transaction, so a slow event only holds up its own shard. With
+     * {@code app.coalescing.enabled} the events of each SKU in a shard are applied together
+     * instead, in one transaction with a single inventory write.
+     * <p>
+     * Scheduled by {@link RetrySweepTrigger} for when the earliest pending event is due.
+     */
     public void processPendingEvents() {
         log.info("Starting batch processing with chunk size: {}", chunkSize);
+        long started = System.nanoTime();
 
         BatchJob batchJob = BatchJob.builder()
                 .startedAt(LocalDateTime.now())
@@ -40,26 +56,86 @@ public class BatchProcessingService {
                 .build();
 
         batchJobRepository.save(batchJob);
+        eventCounters.batchJobCreated();
 
         try {
-            Page<Event> eventsPage = eventRepository.findPendingEvents(PageRequest.of(0, chunkSize));
-            
-            for (Event event : eventsPage.getContent()) {
-                try {
-                    eventProcessingService.processEvent(event);
-                    batchJob.setTotalProcessed(batchJob.getTotalProcessed() + 1);
-                } catch (Exception e) {
-                    log.error("Failed to process event in batch: {}", event.getId(), e);
-                    batchJob.setTotalFailed(batchJob.getTotalFailed() + 1);
+            List<Event> events = pendingEventClaimer.claim(chunkSize);
+            eventMetrics.sweepClaimed(events.size());
+            List<List<Event>> shards = skuShardExecutor.partition(events, Event::getSku);
+
+            List<Callable<BatchJobShard>> tasks = new ArrayList<>();
+            for (int index = 0; index < shards.size(); index++) {
+                int shardIndex = index;
+                List<Event> shard = shards.get(index);
+                if (!shard.isEmpty()) {
+                    tasks.add(() -> processShard(shardIndex, shard));
                 }
             }
 
-            log.info("Batch processing completed. Processed: {}, Failed: {}", 
-                    batchJob.getTotalProcessed(), batchJob.getTotalFailed());
+            for (BatchJobShard shard : skuShardExecutor.invokeAll(tasks)) {
+                batchJob.getShards().add(shard);
+                batchJob.setTotalProcessed(batchJob.getTotalProcessed() + shard.getTotalProcessed());
+                batchJob.setTotalFailed(batchJob.getTotalFailed() + shard.getTotalFailed());
+            }
+
+            log.info("Batch processing completed. Processed: {}, Failed: {}, Shards: {}",
+                    batchJob.getTotalProcessed(), batchJob.getTotalFailed(), tasks.size());
 
         } finally {
             batchJob.setFinishedAt(LocalDateTime.now());
+            batchJob.setWallTimeMs((System.nanoTime() - started) / 1_000_000);
             batchJobRepository.save(batchJob);
+            eventMetrics.sweepFinished(started);
+        }
+    }
+
+    private BatchJobShard processShard(int shardIndex, List<Event> events) {
+        long started = System.nanoTime();
+        int processed = 0;
+
+        if (coalescing) {
+            for (Map.Entry<String, List<Event>> group : EventProcessingService.groupBySku(events).entrySet()) {
+                List<Event> skuEvents = group.getValue();
+                try {
+                    eventProcessingService.processCoalesced(group.getKey(), skuEvents);
+                    processed += skuEvents.size();
+                    skuEvents.forEach(event -> eventMetrics.sweepEventFinished());
+                } catch (Exception e) {
+                    // The group's transaction rolled back, so its events are processed one by one
+                    log.error("Failed to coalesce {} events for SKU: {}", skuEvents.size(), group.getKey(), e);
+                    processed += processEach(skuEvents);
+                }
+            }
+        } else {
+            processed = processEach(events);
+        }
+
+        return BatchJobShard.builder()
+                .shardIndex(shardIndex)
+                .totalEvents(events.size())
+                .totalProcessed(processed)
+                .totalFailed(events.size() - processed)
+                .wallTimeMs((System.nanoTime() - started) / 1_000_000)
+                .build();
+    }
+
+    /**
+     * Processes each event in its own transaction.
+     *
+     * @return the number of events processed without an error
+     */
+    private int processEach(List<Event> events) {
+        int processed = 0;
+        for (Event event : events) {
+            try {
+                eventProcessingService.processEvent(event);
+                processed++;
+            } catch (Exception e) {
+                log.error("Failed to process event in batch: {}", event.getId(), e);
+            } finally {
+                eventMetrics.sweepEventFinished();
+            }
         }
+        return processed;
     }
 }
@@ -0,0 +1,200 @@
+package com.trademaster.inventory.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trademaster.inventory.dto.BulkItemResult;
+import com.trademaster.inventory.dto.BulkPublishResponse;
+import com.trademaster.inventory.dto.EventRequest;
+import com.trademaster.inventory.sharding.EventRouter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes many events from one request body, each to the queue its SKU is routed to. The body is read
+ * item by item, so it is never held in memory as a whole; valid items are published in
+ * batches of {@code app.bulk.batch-size} on one channel, and each batch waits for its
+ * publisher confirms before its items are reported as accepted.
+ */
+@Service
+@Slf4j
+public class BulkEventPublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EventRouter eventRouter;
+    private final int batchSize;
+    private final long confirmTimeoutMs;
+
+    public BulkEventPublisher(RabbitTemplate rabbitTemplate,
+                              ObjectMapper objectMapper,
+                              Validator validator,
+                              EventRouter eventRouter,
+                              @Value("${app.bulk.batch-size:500}") int batchSize,
+                              @Value("${app.bulk.confirm-timeout-ms:5000}") long confirmTimeoutMs) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventRouter = eventRouter;
+        this.batchSize = batchSize;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+    }
+
+    /**
+     * Publishes the elements of a JSON array. A syntax error ends the stream: it is reported
+     * against the element being read, and everything before it is still published.
+     */
+    public BulkPublishResponse publishJsonArray(InputStream body) throws IOException {
+        Publication publication = new Publication();
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of events");
+            }
+            try {
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        throw new JsonParseException(parser, "Unexpected end of input, array is not closed");
+                    }
+                    JsonNode node = objectMapper.readTree(parser);
+                    publication.add(() -> objectMapper.treeToValue(node, EventRequest.class));
+                }
+            } catch (JsonProcessingException e) {
+                publication.reject("Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        return publication.finish();
+    }
+
+    /**
+     * Publishes one event per line. A malformed line is rejected on its own; blank lines
+     * are skipped and do not count as items.
+     */
+    public BulkPublishResponse publishNdjson(InputStream body) throws IOException {
+        Publication publication = new Publication();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String json = line;
+                publication.add(() -> objectMapper.readValue(json, EventRequest.class));
+            }
+        }
+        return publication.finish();
+    }
+
+    private String validate(EventRequest request) {
+        if (request == null) {
+            return "Event is required";
+        }
+        Set<ConstraintViolation<EventRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    @FunctionalInterface
+    private interface ItemReader {
+        EventRequest read() throws JsonProcessingException;
+    }
+
+    private record Pending(BulkItemResult result, EventRequest request) {
+    }
+
+    /**
+     * Results of one request, in item order, and the batch waiting to be published.
+     */
+    private class Publication {
+
+        private final List<BulkItemResult> results = new ArrayList<>();
+        private final List<Pending> batch = new ArrayList<>(batchSize);
+
+        void add(ItemReader reader) {
+            int index = results.size();
+            EventRequest request;
+            try {
+                request = reader.read();
+            } catch (JsonProcessingException e) {
+                results.add(BulkItemResult.rejected(index, "Malformed event: " + e.getOriginalMessage()));
+                return;
+            }
+
+            String error = validate(request);
+            if (error != null) {
+                results.add(BulkItemResult.rejected(index, error));
+                return;
+            }
+
+            // Reported as accepted once the broker confirms the batch
+            BulkItemResult result = new BulkItemResult(index, BulkItemResult.Status.ACCEPTED, null);
+            results.add(result);
+            batch.add(new Pending(result, request));
+            if (batch.size() >= batchSize) {
+                publishBatch();
+            }
+        }
+
+        void reject(String error) {
+            results.add(BulkItemResult.rejected(results.size(), error));
+        }
+
+        BulkPublishResponse finish() {
+            publishBatch();
+            int accepted = (int) results.stream()
+                    .filter(result -> result.getStatus() == BulkItemResult.Status.ACCEPTED)
+                    .count();
+            return BulkPublishResponse.builder()
+                    .accepted(accepted)
+                    .rejected(results.size() - accepted)
+                    .items(results)
+                    .build();
+        }
+
+        private void publishBatch() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                rabbitTemplate.invoke(operations -> {
+                    for (Pending pending : batch) {
+                        operations.convertAndSend(eventRouter.queueFor(pending.request().getSku()), pending.request());
+                    }
+                    operations.waitForConfirmsOrDie(confirmTimeoutMs);
+                    return null;
+                });
+            } catch (AmqpException e) {
+                log.error("Bulk batch of {} events was not confirmed by the broker", batch.size(), e);
+                for (Pending pending : batch) {
+                    pending.result().setStatus(BulkItemResult.Status.REJECTED);
+                    pending.result().setError("Not confirmed by the broker: " + e.getMessage());
+                }
+            }
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.trademaster.inventory.service;
+
+import com.trademaster.inventory.cache.InventoryReadCache;
+import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.repository.InventoryItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "app.ledger.enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DatabaseInventoryStore implements InventoryStore {
+
+    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryReadCache inventoryReadCache;
+
+    @Override
+    public boolean decrementIfAvailable(String sku, int amount) {
+        if (inventoryItemRepository.decrementQuantityIfAvailable(sku, amount) == 0) {
+            return false;
+        }
+        inventoryReadCache.invalidate(sku);
+        return true;
+    }
+
+    @Override
+    public void adjust(String sku, int delta) {
+        inventoryItemRepository.adjustQuantityBySku(sku, delta);
+        inventoryReadCache.invalidate(sku);
+    }
+
+    /**
+     * Locks the SKU's row, works out which changes fit against its current quantity and
+     * writes the net result with one UPDATE conditioned on the quantity that was read.
+     */
+    @Override
+    public boolean[] applyAll(String sku, List<InventoryChange> changes) {
+        boolean[] applied = new boolean[changes.size()];
+        Optional<Integer> locked = inventoryItemRepository.lockQuantityBySku(sku);
+        if (locked.isEmpty()) {
+            // Unknown SKU: decrements fail and adjustments change nothing, as they would one by one
+            for (int i = 0; i < changes.size(); i++) {
+                applied[i] = !changes.get(i).requiresAvailability();
+            }
+            return applied;
+        }
+
+        int expected = locked.get();
+        int quantity = expected;
+        for (int i = 0; i < changes.size(); i++) {
+            InventoryChange change = changes.get(i);
+            if (change.requiresAvailability() && quantity + change.delta() < 0) {
+                continue;
+            }
+            quantity += change.delta();
+            applied[i] = true;
+        }
+
+        if (quantity != expected
+                && inventoryItemRepository.adjustQuantityIfUnchanged(sku, expected, quantity - expected) == 0) {
+            throw new IllegalStateException("Quantity of SKU " + sku + " changed while its row was locked");
+        }
+        if (quantity != expected) {
+            inventoryReadCache.invalidate(sku);
+        }
+        return applied;
+    }
+
+    @Override
+    public EventStatus onApplied(Long eventId) {
+        return EventStatus.PROCESSED;
+    }
+}
@@ -3,6 +3,10 @@ package com.trademaster.inventory.service;
 import com.trademaster.inventory.domain.Event;
 import com.trademaster.inventory.dto.EventRequest;
 import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.metrics.EventCounters;
+import com.trademaster.inventory.metrics.EventMetrics;
+import com.trademaster.inventory.metrics.EventMetrics.DuplicateSource;
+import com.trademaster.inventory.metrics.EventMetrics.Stage;
 import com.trademaster.inventory.repository.EventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +14,16 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -17,40 +31,220 @@ public class EventProcessingService {
 
     private final EventStrategyFactory eventStrategyFactory;
     private final EventRepository eventRepository;
+    private final InventoryStore inventoryStore;
+    private final EventMetrics eventMetrics;
+    private final EventCounters eventCounters;
+    private final SkuLanes skuLanes;
+    private final RetryBackoff retryBackoff;
+
+    // Statuses an event can still be applied from; anything else was settled by another thread
+    private static final Set<EventStatus> PENDING = EnumSet.of(EventStatus.RECEIVED, EventStatus.RETRY);
 
     @Value("${app.max-retries:3}")
     private Integer maxRetries;
 
+    @Value("${app.coalescing.enabled:false}")
+    private boolean coalescing;
+
+    /**
+     * Applies one event in its own transaction, holding the SKU's lane until it completes.
+     * The status is read again under the lane, so an event that the consumer and the sweeper
+     * both picked up is applied only by whichever got the lane first.
+     */
     @Transactional
     public void processEvent(Event event) {
         log.info("Processing event: {} for SKU: {}", event.getType(), event.getSku());
 
+        SkuLanes.Lease lane = skuLanes.acquire(List.of(event.getSku()));
         try {
-            // Convert Event to EventRequest for strategy execution
-            EventRequest eventRequest = EventRequest.builder()
-                    .type(event.getType())
-                    .sku(event.getSku())
-                    .payload(event.getPayload())
-                    .build();
+            if (!isPending(event.getId())) {
+                log.info("Event already settled, skipping: {}", event.getId());
+                return;
+            }
 
             // Use factory to get strategy and execute
-            eventStrategyFactory.get(event.getType()).execute(eventRequest);
-            
-            eventRepository.updateStatus(event.getId(), EventStatus.PROCESSED);
-            log.info("Event processed successfully: {}", event.getId());
+            long executeStarted = System.nanoTime();
+            eventStrategyFactory.get(event.getType()).execute(toEventRequest(event));
+            eventMetrics.record(Stage.EXECUTE, event.getType(), executeStarted);
+
+            long statusStarted = System.nanoTime();
+            EventStatus status = inventoryStore.onApplied(event.getId());
+            eventRepository.updateStatus(event.getId(), status);
+            eventCounters.transitioned(event.getStatus(), status);
+            eventMetrics.record(Stage.STATUS_UPDATE, event.getType(), statusStarted);
+            log.info("Event processed successfully: {} ({})", event.getId(), status);
             
         } catch (Exception e) {
             log.error("Failed to process event: {}", event.getId(), e);
             handleProcessingFailure(event);
+        } finally {
+            lane.close();
+        }
+    }
+
+    /**
+     * Stores and processes a batch of received events in a single transaction. Hashes are
+     * checked with one query, duplicates (including repeats inside the batch) are dropped,
+     * and the remaining events are inserted together before each one is processed.
+     *
+     * @return the events that were stored, in batch order
+     */
+    @Transactional
+    public List<Event> processBatch(List<Event> events) {
+        long dedupStarted = System.nanoTime();
+        List<String> hashes = events.stream().map(Event::getHash).toList();
+        Set<String> seen = new HashSet<>(eventRepository.findExistingHashes(hashes));
+
+        List<Event> fresh = new ArrayList<>(events.size());
+        for (Event event : events) {
+            if (seen.add(event.getHash())) {
+                fresh.add(event);
+            } else {
+                eventMetrics.duplicate(DuplicateSource.DATABASE);
+                log.info("Duplicate event detected, skipping. Hash: {}", event.getHash());
+            }
+        }
+        eventMetrics.recordBatch(Stage.DEDUP, dedupStarted);
+
+        long persistStarted = System.nanoTime();
+        eventRepository.persistAll(fresh);
+        eventCounters.received(fresh.size());
+        eventMetrics.recordBatch(Stage.PERSIST, persistStarted);
+        log.info("Batch stored: {} new events out of {}", fresh.size(), events.size());
+
+        // All lanes of the batch are taken up front, in lane order
+        SkuLanes.Lease lanes = skuLanes.acquire(fresh.stream().map(Event::getSku).toList());
+        try {
+            if (coalescing) {
+                groupBySku(fresh).forEach(this::processCoalesced);
+            } else {
+                for (Event event : fresh) {
+                    processEvent(event);
+                }
+            }
+        } finally {
+            lanes.close();
+        }
+        return fresh;
+    }
+
+    /**
+     * Processes events of one SKU, in order, with a single inventory write for all of them
+     * (see {@link InventoryStore#applyAll}). Events whose change is refused or invalid get
+     * the usual retry/DLQ handling. Events whose strategy has no
+     * {@link EventProcessingStrategy#change} are executed one by one at their position.
+     * Events that are no longer RECEIVED or RETRY once the lane is held are skipped.
+     */
+    @Transactional
+    public void processCoalesced(String sku, List<Event> events) {
+        List<Event> pending = new ArrayList<>(events.size());
+        List<InventoryChange> changes = new ArrayList<>(events.size());
+
+        SkuLanes.Lease lane = skuLanes.acquire(List.of(sku));
+        try {
+            Set<Long> unsettled = new HashSet<>(eventRepository.findIdsByIdInAndStatusIn(
+                    events.stream().map(Event::getId).toList(), PENDING));
+            for (Event event : events) {
+                if (!unsettled.contains(event.getId())) {
+                    log.info("Event already settled, skipping: {}", event.getId());
+                    continue;
+                }
+
+                InventoryChange change;
+                try {
+                    change = eventStrategyFactory.get(event.getType()).change(toEventRequest(event));
+                } catch (Exception e) {
+                    log.error("Failed to process event: {}", event.getId(), e);
+                    handleProcessingFailure(event);
+                    continue;
+                }
+
+                if (change == null) {
+                    applyCoalesced(sku, pending, changes);
+                    processEvent(event);
+                } else {
+                    pending.add(event);
+                    changes.add(change);
+                }
+            }
+            applyCoalesced(sku, pending, changes);
+        } finally {
+            lane.close();
+        }
+    }
+
+    /**
+     * Groups events by SKU, keeping the order of events within each SKU.
+     */
+    static Map<String, List<Event>> groupBySku(List<Event> events) {
+        Map<String, List<Event>> groups = new LinkedHashMap<>();
+        for (Event event : events) {
+            groups.computeIfAbsent(event.getSku(), sku -> new ArrayList<>()).add(event);
+        }
+        return groups;
+    }
+
+    private void applyCoalesced(String sku, List<Event> events, List<InventoryChange> changes) {
+        if (events.isEmpty()) {
+            return;
         }
+
+        long executeStarted = System.nanoTime();
+        boolean[] applied = inventoryStore.applyAll(sku, changes);
+        eventMetrics.recordBatch(Stage.EXECUTE, executeStarted);
+
+        long statusStarted = System.nanoTime();
+        Map<EventStatus, List<Long>> idsByStatus = new EnumMap<>(EventStatus.class);
+        for (int i = 0; i < events.size(); i++) {
+            Event event = events.get(i);
+            if (applied[i]) {
+                EventStatus status = inventoryStore.onApplied(event.getId());
+                idsByStatus.computeIfAbsent(status, key -> new ArrayList<>()).add(event.getId());
+                eventCounters.transitioned(event.getStatus(), status);
+            } else {
+                log.error("Failed to process event: {} (insufficient inventory for SKU: {})", event.getId(), sku);
+                handleProcessingFailure(event);
+            }
+        }
+        idsByStatus.forEach((status, ids) -> eventRepository.updateStatusByIdIn(ids, status));
+        eventMetrics.recordBatch(Stage.STATUS_UPDATE, statusStarted);
+        log.info("Coalesced {} events for SKU: {}", events.size(), sku);
+
+        events.clear();
+        changes.clear();
+    }
+
+    /**
+     * Builds the strategy input straight from the stored columns, so retries need neither
+     * the original message nor any payload parsing.
+     */
+    static EventRequest toEventRequest(Event event) {
+        return EventRequest.builder()
+                .type(event.getType())
+                .sku(event.getSku())
+                .quantity(event.getQuantity())
+                .delta(event.getDelta())
+                .payload(event.getPayload())
+                .build();
+    }
+
+    private boolean isPending(Long id) {
+        return eventRepository.findStatusById(id).filter(PENDING::contains).isPresent();
     }
 
     private void handleProcessingFailure(Event event) {
         if (event.getAttempts() < maxRetries) {
-            eventRepository.updateStatusAndIncrementAttempts(event.getId(), EventStatus.RETRY);
-            log.info("Event marked for retry: {} (attempts: {})", event.getId(), event.getAttempts() + 1);
+            int attempts = event.getAttempts() + 1;
+            LocalDateTime nextAttemptAt = LocalDateTime.now().plus(retryBackoff.delay(attempts));
+            eventRepository.updateStatusAndIncrementAttempts(event.getId(), EventStatus.RETRY, nextAttemptAt);
+            eventCounters.transitioned(event.getStatus(), EventStatus.RETRY);
+            eventMetrics.retried(event.getType());
+            log.info("Event marked for retry: {} (attempts: {}, next attempt at: {})",
+                    event.getId(), attempts, nextAttemptAt);
         } else {
             eventRepository.updateStatus(event.getId(), EventStatus.DLQ);
+            eventCounters.transitioned(event.getStatus(), EventStatus.DLQ);
+            eventMetrics.deadLettered(event.getType());
             log.warn("Event sent to DLQ: {} (max attempts reached)", event.getId());
         }
     }
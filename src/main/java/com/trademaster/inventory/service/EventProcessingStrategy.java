@@ -8,4 +8,14 @@ public interface EventProcessingStrategy {
     EventType supports();
 
     void execute(EventRequest eventRequest);
+
+    /**
+     * The same effect as {@link #execute} expressed as a signed change, so events on one SKU
+     * can be coalesced into a single write. Strategies that return null are executed one by one.
+     *
+     * @throws RuntimeException if the event is invalid, as {@link #execute} would
+     */
+    default InventoryChange change(EventRequest eventRequest) {
+        return null;
+    }
 }
@@ -2,7 +2,6 @@ package com.trademaster.inventory.service;
 
 import com.trademaster.inventory.dto.EventRequest;
 import com.trademaster.inventory.enums.EventType;
-import com.trademaster.inventory.repository.InventoryItemRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -12,7 +11,7 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class InventoryAdjustedStrategy implements EventProcessingStrategy {
 
-    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryStore inventoryStore;
 
     @Override
     public EventType supports() {
@@ -28,8 +27,16 @@ public class InventoryAdjustedStrategy implements EventProcessingStrategy {
             throw new RuntimeException("Delta is required for INVENTORY_ADJUSTED event");
         }
         
-        inventoryItemRepository.adjustQuantityBySku(eventRequest.getSku(), delta);
+        inventoryStore.adjust(eventRequest.getSku(), delta);
         
         log.info("Successfully adjusted inventory for SKU: {} by delta: {}", eventRequest.getSku(), delta);
     }
+
+    @Override
+    public InventoryChange change(EventRequest eventRequest) {
+        if (eventRequest.getDelta() == null) {
+            throw new RuntimeException("Delta is required for INVENTORY_ADJUSTED event");
+        }
+        return InventoryChange.adjust(eventRequest.getDelta());
+    }
 }
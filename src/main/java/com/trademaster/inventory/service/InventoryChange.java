@@ -0,0 +1,17 @@
+package com.trademaster.inventory.service;
+
+/**
+ * The effect of one event on a SKU's quantity, so several events on the same SKU can be
+ * applied as one write. A change that {@code requiresAvailability} may only be applied if
+ * the quantity does not drop below zero.
+ */
+public record InventoryChange(int delta, boolean requiresAvailability) {
+
+    public static InventoryChange decrement(int amount) {
+        return new InventoryChange(-amount, true);
+    }
+
+    public static InventoryChange adjust(int delta) {
+        return new InventoryChange(delta, false);
+    }
+}
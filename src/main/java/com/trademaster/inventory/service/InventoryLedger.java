@@ -0,0 +1,236 @@
+package com.trademaster.inventory.service;
+
+import com.trademaster.inventory.domain.InventoryItem;
+import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.metrics.EventCounters;
+import com.trademaster.inventory.repository.EventRepository;
+import com.trademaster.inventory.repository.InventoryItemRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind inventory, enabled with {@code app.ledger.enabled}. Quantities are held in
+ * memory, seeded from {@code inventory_items}, and reservations are checked with a CAS on
+ * the SKU's counter instead of a row-locking UPDATE.
+ * <p>
+ * Changes made inside a transaction only become flushable once it commits (and are undone
+ * if it rolls back). Events are recorded as {@link EventStatus#APPLIED} until the flush
+ * that writes their net deltas also marks them PROCESSED, in the same transaction. After a
+ * crash the APPLIED events are replayed by {@link InventoryLedgerRecovery}.
+ * <p>
+ * The ledger assumes it is the only writer of {@code inventory_items}, so it must run on
+ * a single instance.
+ */
+@Component
+@ConditionalOnProperty(name = "app.ledger.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryLedger implements InventoryStore {
+
+    private static final int FLUSH_ID_CHUNK = 1000;
+
+    private final InventoryItemRepository inventoryItemRepository;
+    private final EventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EventCounters eventCounters;
+
+    private final ConcurrentHashMap<String, AtomicInteger> quantities = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicInteger> pendingDeltas = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Long> pendingEventIds = new ConcurrentLinkedQueue<>();
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void seed() {
+        for (InventoryItem item : inventoryItemRepository.findAll()) {
+            quantities.put(item.getSku(), new AtomicInteger(item.getQuantity()));
+        }
+        log.info("Inventory ledger seeded with {} SKUs", quantities.size());
+    }
+
+    @Override
+    public boolean decrementIfAvailable(String sku, int amount) {
+        AtomicInteger quantity = quantityOf(sku);
+        if (quantity == null) {
+            return false;
+        }
+
+        int current;
+        do {
+            current = quantity.get();
+            if (current < amount) {
+                return false;
+            }
+        } while (!quantity.compareAndSet(current, current - amount));
+
+        stage(sku, -amount);
+        return true;
+    }
+
+    @Override
+    public void adjust(String sku, int delta) {
+        AtomicInteger quantity = quantityOf(sku);
+        if (quantity == null) {
+            return;
+        }
+        quantity.addAndGet(delta);
+        stage(sku, delta);
+    }
+
+    @Override
+    public EventStatus onApplied(Long eventId) {
+        Staged staged = currentStaged();
+        if (staged == null) {
+            publish(Map.of(), List.of(eventId));
+        } else {
+            staged.eventIds.add(eventId);
+        }
+        return EventStatus.APPLIED;
+    }
+
+    public OptionalInt quantity(String sku) {
+        AtomicInteger quantity = quantityOf(sku);
+        return quantity == null ? OptionalInt.empty() : OptionalInt.of(quantity.get());
+    }
+
+    /**
+     * Writes the committed net delta of every touched SKU in one batched UPDATE and marks
+     * the events behind them PROCESSED in the same transaction. On failure everything is
+     * kept for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${app.ledger.flush-interval-ms:1000}")
+    public void flush() {
+        Map<String, Integer> deltas = new HashMap<>();
+        List<Long> eventIds = new ArrayList<>();
+
+        flushLock.writeLock().lock();
+        try {
+            pendingDeltas.forEach((sku, pending) -> {
+                int delta = pending.getAndSet(0);
+                if (delta != 0) {
+                    deltas.put(sku, delta);
+                }
+            });
+            Long eventId;
+            while ((eventId = pendingEventIds.poll()) != null) {
+                eventIds.add(eventId);
+            }
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+
+        if (deltas.isEmpty() && eventIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Object[]> rows = new ArrayList<>(deltas.size());
+                deltas.forEach((sku, delta) -> rows.add(new Object[]{delta, sku}));
+                jdbcTemplate.batchUpdate("UPDATE inventory_items SET quantity = quantity + ? WHERE sku = ?", rows);
+
+                for (int from = 0; from < eventIds.size(); from += FLUSH_ID_CHUNK) {
+                    List<Long> chunk = eventIds.subList(from, Math.min(from + FLUSH_ID_CHUNK, eventIds.size()));
+                    int updated = eventRepository.updateStatusByIdIn(chunk, EventStatus.PROCESSED);
+                    eventCounters.transitioned(EventStatus.APPLIED, EventStatus.PROCESSED, updated);
+                }
+            });
+            log.info("Inventory ledger flushed {} SKUs and {} events", deltas.size(), eventIds.size());
+        } catch (Exception e) {
+            log.error("Inventory ledger flush failed, keeping {} SKUs for the next flush", deltas.size(), e);
+            publish(deltas, eventIds);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private AtomicInteger quantityOf(String sku) {
+        AtomicInteger quantity = quantities.get(sku);
+        if (quantity != null) {
+            return quantity;
+        }
+        // SKUs created after startup are picked up on first use
+        return inventoryItemRepository.findBySku(sku)
+                .map(item -> quantities.computeIfAbsent(sku, key -> new AtomicInteger(item.getQuantity())))
+                .orElse(null);
+    }
+
+    private void stage(String sku, int delta) {
+        Staged staged = currentStaged();
+        if (staged == null) {
+            publish(Map.of(sku, delta), List.of());
+        } else {
+            staged.deltas.merge(sku, delta, Integer::sum);
+        }
+    }
+
+    private void publish(Map<String, Integer> deltas, List<Long> eventIds) {
+        flushLock.readLock().lock();
+        try {
+            deltas.forEach((sku, delta) ->
+                    pendingDeltas.computeIfAbsent(sku, key -> new AtomicInteger()).addAndGet(delta));
+            pendingEventIds.addAll(eventIds);
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    private void revert(Map<String, Integer> deltas) {
+        deltas.forEach((sku, delta) -> quantities.get(sku).addAndGet(-delta));
+    }
+
+    private Staged currentStaged() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Staged staged = (Staged) TransactionSynchronizationManager.getResource(this);
+        if (staged == null) {
+            staged = new Staged();
+            TransactionSynchronizationManager.bindResource(this, staged);
+            TransactionSynchronizationManager.registerSynchronization(staged);
+        }
+        return staged;
+    }
+
+    /**
+     * Deltas and event ids of one transaction, published on commit and reverted on rollback.
+     */
+    private class Staged implements TransactionSynchronization {
+
+        private final Map<String, Integer> deltas = new HashMap<>();
+        private final List<Long> eventIds = new ArrayList<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(InventoryLedger.this);
+            if (status == STATUS_COMMITTED) {
+                publish(deltas, eventIds);
+            } else {
+                revert(deltas);
+            }
+        }
+    }
+}
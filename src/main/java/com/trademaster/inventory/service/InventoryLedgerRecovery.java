@@ -0,0 +1,56 @@
+package com.trademaster.inventory.service;
+
+import com.trademaster.inventory.domain.Event;
+import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.metrics.EventCounters;
+import com.trademaster.inventory.repository.EventRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Re-applies events left APPLIED by a previous run, whose deltas were never flushed, to
+ * the freshly seeded {@link InventoryLedger}. Runs during startup, before the listener
+ * containers begin consuming.
+ */
+@Component
+@ConditionalOnProperty(name = "app.ledger.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryLedgerRecovery {
+
+    private final InventoryLedger inventoryLedger;
+    private final EventRepository eventRepository;
+    private final EventStrategyFactory eventStrategyFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final EventCounters eventCounters;
+
+    @PostConstruct
+    public void replayAppliedEvents() {
+        List<Event> appliedEvents = eventRepository.findByStatusOrderByIdAsc(EventStatus.APPLIED);
+        int failed = 0;
+
+        for (Event event : appliedEvents) {
+            try {
+                eventStrategyFactory.get(event.getType()).execute(EventProcessingService.toEventRequest(event));
+                inventoryLedger.onApplied(event.getId());
+            } catch (Exception e) {
+                log.error("Failed to replay applied event: {}, marking for retry", event.getId(), e);
+                transactionTemplate.executeWithoutResult(status -> {
+                    eventRepository.updateStatus(event.getId(), EventStatus.RETRY);
+                    eventCounters.transitioned(EventStatus.APPLIED, EventStatus.RETRY);
+                });
+                failed++;
+            }
+        }
+
+        if (!appliedEvents.isEmpty()) {
+            log.info("Inventory ledger replayed {} applied events ({} failed)", appliedEvents.size(), failed);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.trademaster.inventory.service;
+
+import com.trademaster.inventory.cache.InventoryReadCache;
+import com.trademaster.inventory.domain.InventoryItem;
+import com.trademaster.inventory.repository.InventoryItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * Read path for inventory quantities. Quantities come from the {@link InventoryReadCache},
+ * falling back to one database query for all misses. With the {@link InventoryLedger}
+ * enabled the database lags behind, so reads are served from the ledger instead.
+ */
+@Service
+@RequiredArgsConstructor
+public class InventoryQueryService {
+
+    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryReadCache inventoryReadCache;
+    private final ObjectProvider<InventoryLedger> inventoryLedger;
+
+    public Optional<Integer> quantity(String sku) {
+        return Optional.ofNullable(quantities(List.of(sku)).get(sku));
+    }
+
+    /**
+     * @return the quantity of every known SKU, in request order; unknown SKUs are left out
+     */
+    public Map<String, Integer> quantities(Collection<String> skus) {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        InventoryLedger ledger = inventoryLedger.getIfAvailable();
+        if (ledger != null) {
+            for (String sku : skus) {
+                OptionalInt quantity = ledger.quantity(sku);
+                if (quantity.isPresent()) {
+                    quantities.put(sku, quantity.getAsInt());
+                }
+            }
+            return quantities;
+        }
+
+        List<String> misses = new ArrayList<>();
+        Map<String, Long> generations = new HashMap<>();
+        for (String sku : skus) {
+            Integer cached = inventoryReadCache.get(sku);
+            // Keeps the request order; misses are filled in below
+            quantities.put(sku, cached);
+            if (cached == null) {
+                misses.add(sku);
+                generations.put(sku, inventoryReadCache.generation(sku));
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (InventoryItem item : inventoryItemRepository.findBySkuIn(misses)) {
+                Long generation = generations.get(item.getSku());
+                if (generation == null) {
+                    continue;
+                }
+                quantities.put(item.getSku(), item.getQuantity());
+                inventoryReadCache.putIfCurrent(item.getSku(), item.getQuantity(), generation);
+            }
+        }
+        quantities.values().removeIf(quantity -> quantity == null);
+        return quantities;
+    }
+}
@@ -0,0 +1,53 @@
+package com.trademaster.inventory.service;
+
+import com.trademaster.inventory.enums.EventStatus;
+
+import java.util.List;
+
+/**
+ * Where strategies apply quantity changes. {@link DatabaseInventoryStore} updates
+ * {@code inventory_items} directly; {@link InventoryLedger} keeps quantities in memory
+ * and writes them behind.
+ */
+public interface InventoryStore {
+
+    /**
+     * Removes {@code amount} from the SKU if at least that much is available.
+     *
+     * @return false if the SKU is unknown or has insufficient quantity
+     */
+    boolean decrementIfAvailable(String sku, int amount);
+
+    /**
+     * Adds {@code delta} to the SKU; unknown SKUs are left untouched.
+     */
+    void adjust(String sku, int delta);
+
+    /**
+     * Applies the changes of several events on one SKU, in order. A change that requires
+     * availability is skipped if it would take the quantity below zero, exactly as
+     * {@link #decrementIfAvailable} would have refused it at that point.
+     *
+     * @return for each change whether it was applied
+     */
+    default boolean[] applyAll(String sku, List<InventoryChange> changes) {
+        boolean[] applied = new boolean[changes.size()];
+        for (int i = 0; i < changes.size(); i++) {
+            InventoryChange change = changes.get(i);
+            if (change.requiresAvailability()) {
+                applied[i] = decrementIfAvailable(sku, -change.delta());
+            } else {
+                adjust(sku, change.delta());
+                applied[i] = true;
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Called once an event's strategy has succeeded, inside the processing transaction.
+     *
+     * @return the status to record for the event
+     */
+    EventStatus onApplied(Long eventId);
+}
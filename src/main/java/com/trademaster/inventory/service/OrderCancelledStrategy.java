@@ -2,7 +2,6 @@ package com.trademaster.inventory.service;
 
 import com.trademaster.inventory.dto.EventRequest;
 import com.trademaster.inventory.enums.EventType;
-import com.trademaster.inventory.repository.InventoryItemRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -12,7 +11,7 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class OrderCancelledStrategy implements EventProcessingStrategy {
 
-    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryStore inventoryStore;
 
     @Override
     public EventType supports() {
@@ -24,8 +23,13 @@ public class OrderCancelledStrategy implements EventProcessingStrategy {
         log.info("Processing ORDER_CANCELLED event for SKU: {}", eventRequest.getSku());
         
         int quantity = eventRequest.getQuantity() != null ? eventRequest.getQuantity() : 1;
-        inventoryItemRepository.adjustQuantityBySku(eventRequest.getSku(), quantity);
+        inventoryStore.adjust(eventRequest.getSku(), quantity);
         
         log.info("Successfully incremented inventory for SKU: {} by quantity: {}", eventRequest.getSku(), quantity);
     }
+
+    @Override
+    public InventoryChange change(EventRequest eventRequest) {
+        return InventoryChange.adjust(eventRequest.getQuantity() != null ? eventRequest.getQuantity() : 1);
+    }
 }
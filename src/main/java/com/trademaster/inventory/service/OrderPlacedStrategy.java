@@ -2,7 +2,6 @@ package com.trademaster.inventory.service;
 
 import com.trademaster.inventory.dto.EventRequest;
 import com.trademaster.inventory.enums.EventType;
-import com.trademaster.inventory.repository.InventoryItemRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -12,7 +11,7 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class OrderPlacedStrategy implements EventProcessingStrategy {
 
-    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryStore inventoryStore;
 
     @Override
     public EventType supports() {
@@ -24,12 +23,15 @@ public class OrderPlacedStrategy implements EventProcessingStrategy {
         log.info("Processing ORDER_PLACED event for SKU: {}", eventRequest.getSku());
         
         int quantity = eventRequest.getQuantity() != null ? eventRequest.getQuantity() : 1;
-        int updatedRows = inventoryItemRepository.decrementQuantityIfAvailable(eventRequest.getSku(), quantity);
-        
-        if (updatedRows == 0) {
+        if (!inventoryStore.decrementIfAvailable(eventRequest.getSku(), quantity)) {
             throw new RuntimeException("Insufficient inventory for SKU: " + eventRequest.getSku());
         }
         
         log.info("Successfully decremented inventory for SKU: {} by quantity: {}", eventRequest.getSku(), quantity);
     }
+
+    @Override
+    public InventoryChange change(EventRequest eventRequest) {
+        return InventoryChange.decrement(eventRequest.getQuantity() != null ? eventRequest.getQuantity() : 1);
+    }
 }
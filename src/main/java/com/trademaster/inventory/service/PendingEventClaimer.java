@@ -0,0 +1,100 @@
+package com.trademaster.inventory.service;
+
+import com.trademaster.inventory.domain.Event;
+import com.trademaster.inventory.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Claims pending events for one sweeper instance, so several instances can drain the
+ * backlog without picking up the same rows.
+ * <p>
+ * Candidates are locked with {@code FOR UPDATE SKIP LOCKED} and stamped with this
+ * instance's id and a lease expiry in one short transaction. Other instances skip them
+ * until the event changes status (which releases the lease) or the lease expires, e.g.
+ * because the owning instance died mid-sweep. The lease must comfortably exceed the time
+ * it takes to process one chunk.
+ * <p>
+ * Only due events are claimed, earliest {@code next_attempt_at} first, so events backing
+ * off after a failure stay out of the way of fresh ones. The scan is keyset-based on
+ * {@code (next_attempt_at, id)}: each claim continues after the last event this instance
+ * claimed, so rows leased by other instances at the head of the backlog are not rescanned
+ * every time. When a claim comes back short the cursor wraps to the start, which picks up
+ * events that went back to RETRY in the meantime.
+ */
+@Component
+@Slf4j
+public class PendingEventClaimer {
+
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+    private final Duration lease;
+
+    private volatile Cursor cursor = Cursor.START;
+
+    public PendingEventClaimer(EventRepository eventRepository,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${app.sweeper.instance-id:}") String instanceId,
+                               @Value("${app.sweeper.lease-ms:60000}") long leaseMs) {
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.owner = instanceId.isBlank() ? defaultInstanceId() : instanceId;
+        this.lease = Duration.ofMillis(leaseMs);
+    }
+
+    public String owner() {
+        return owner;
+    }
+
+    /**
+     * Claims up to {@code limit} due pending events, earliest due first.
+     */
+    public List<Event> claim(int limit) {
+        Cursor after = cursor;
+        List<Event> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = eventRepository.lockClaimablePendingIds(now, after.nextAttemptAt(), after.id(), limit);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            eventRepository.claim(ids, owner, now.plus(lease));
+            return eventRepository.findAllById(ids).stream()
+                    .sorted(Comparator.comparing(Event::getNextAttemptAt).thenComparing(Event::getId))
+                    .toList();
+        });
+
+        if (claimed.size() < limit) {
+            cursor = Cursor.START;
+        } else {
+            Event last = claimed.get(claimed.size() - 1);
+            cursor = new Cursor(last.getNextAttemptAt(), last.getId());
+        }
+        log.info("Sweeper {} claimed {} pending events", owner, claimed.size());
+        return claimed;
+    }
+
+    private record Cursor(LocalDateTime nextAttemptAt, long id) {
+
+        static final Cursor START = new Cursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+    }
+
+    private static String defaultInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown-host";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,36 @@
+package com.trademaster.inventory.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with jitter for failed events. The ceiling doubles with every
+ * attempt, starting at {@code base} and capped at {@code max}; the delay is drawn
+ * uniformly from the upper half of it, so events that failed together spread out
+ * without any of them retrying early.
+ */
+@Component
+public class RetryBackoff {
+
+    private final long baseMs;
+    private final long maxMs;
+
+    public RetryBackoff(@Value("${app.retry.backoff.base-ms:1000}") long baseMs,
+                        @Value("${app.retry.backoff.max-ms:300000}") long maxMs) {
+        this.baseMs = baseMs;
+        this.maxMs = maxMs;
+    }
+
+    /**
+     * @param attempts failed attempts so far, including the one just made
+     */
+    public Duration delay(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        long ceiling = Math.min(maxMs, baseMs << doublings);
+        long floor = ceiling / 2;
+        return Duration.ofMillis(floor + ThreadLocalRandom.current().nextLong(ceiling - floor + 1));
+    }
+}
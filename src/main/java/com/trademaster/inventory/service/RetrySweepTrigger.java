@@ -0,0 +1,69 @@
+package com.trademaster.inventory.service;
+
+import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Schedules the retry sweep for when the earliest pending event is due, i.e. the lowest
+ * {@code next_attempt_at} among RECEIVED and RETRY events. Consumers store RECEIVED events
+ * one sweeper lease ahead, so only events a consumer has stalled on count here. Sweeps are
+ * kept at least {@code app.sweeper.min-delay-ms} apart, and run at least every
+ * {@code app.retry-delay-ms} to pick up events written by other instances since.
+ */
+@Component
+@Slf4j
+public class RetrySweepTrigger implements Trigger {
+
+    private final EventRepository eventRepository;
+    private final Duration minDelay;
+    private final Duration maxDelay;
+
+    public RetrySweepTrigger(EventRepository eventRepository,
+                             @Value("${app.sweeper.min-delay-ms:1000}") long minDelayMs,
+                             @Value("${app.retry-delay-ms:5000}") long maxDelayMs) {
+        this.eventRepository = eventRepository;
+        this.minDelay = Duration.ofMillis(minDelayMs);
+        this.maxDelay = Duration.ofMillis(Math.max(minDelayMs, maxDelayMs));
+    }
+
+    @Override
+    public Instant nextExecution(TriggerContext triggerContext) {
+        Instant lastCompletion = triggerContext.lastCompletion();
+        if (lastCompletion == null) {
+            return triggerContext.getClock().instant();
+        }
+
+        Instant earliest = lastCompletion.plus(minDelay);
+        Instant latest = lastCompletion.plus(maxDelay);
+        Instant due = earliestDue();
+        if (due == null || due.isAfter(latest)) {
+            return latest;
+        }
+        return due.isBefore(earliest) ? earliest : due;
+    }
+
+    /**
+     * @return when the earliest pending event becomes due, or null if there is none
+     */
+    Instant earliestDue() {
+        try {
+            LocalDateTime due = eventRepository.findEarliestNextAttemptAt(
+                    List.of(EventStatus.RECEIVED, EventStatus.RETRY));
+            return due == null ? null : due.atZone(ZoneId.systemDefault()).toInstant();
+        } catch (Exception e) {
+            log.warn("Could not read the earliest due event, sweeping after the maximum delay", e);
+            return null;
+        }
+    }
+}
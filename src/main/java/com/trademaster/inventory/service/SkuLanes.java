@@ -0,0 +1,161 @@
+package com.trademaster.inventory.service;
+
+import com.trademaster.inventory.metrics.EventMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes work per SKU across consumer and sweeper threads with {@code app.sku-lanes.count}
+ * striped fair locks. Events of one SKU always map to the same lane and are let through in
+ * the order their threads arrived, while SKUs on other lanes run in parallel.
+ * <p>
+ * Inside a transaction a lane is held until the transaction completes, so the next event
+ * for the SKU starts after the previous one committed instead of waiting on its row lock.
+ */
+@Component
+public class SkuLanes {
+
+    private final ReentrantLock[] lanes;
+    private final EventMetrics eventMetrics;
+
+    public SkuLanes(@Value("${app.sku-lanes.count:64}") int count, EventMetrics eventMetrics) {
+        if (count < 1) {
+            throw new IllegalArgumentException("app.sku-lanes.count must be at least 1, was " + count);
+        }
+        this.lanes = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            lanes[i] = new ReentrantLock(true);
+        }
+        this.eventMetrics = eventMetrics;
+    }
+
+    public int laneOf(String sku) {
+        return Math.floorMod(Objects.hashCode(sku), lanes.length);
+    }
+
+    /**
+     * Locks the lanes of the given SKUs in lane order, so two callers can never wait on each
+     * other. Lanes the current transaction already holds are not locked again; lanes it still
+     * needs must come after those, so a transaction that works on several SKUs has to ask
+     * for all of them in its first call.
+     *
+     * @return a lease that releases the lanes on close, or does nothing if they are
+     * released when the transaction completes
+     */
+    public Lease acquire(Collection<String> skus) {
+        int[] indexes = skus.stream().mapToInt(this::laneOf).distinct().sorted().toArray();
+        Held held = currentHeld();
+        List<ReentrantLock> acquired = new ArrayList<>(indexes.length);
+
+        for (int index : indexes) {
+            ReentrantLock lane = lanes[index];
+            if (held != null && held.lanes.contains(lane)) {
+                continue;
+            }
+            if (held != null && held.highestIndex > index) {
+                acquired.forEach(ReentrantLock::unlock);
+                throw new IllegalStateException("SKU lane " + index + " requested after lane "
+                        + held.highestIndex + " in the same transaction");
+            }
+            lock(lane);
+            acquired.add(lane);
+        }
+
+        if (held == null) {
+            return () -> {
+                for (int i = acquired.size() - 1; i >= 0; i--) {
+                    acquired.get(i).unlock();
+                }
+            };
+        }
+        held.lanes.addAll(acquired);
+        if (indexes.length > 0) {
+            held.highestIndex = Math.max(held.highestIndex, indexes[indexes.length - 1]);
+        }
+        return () -> {
+        };
+    }
+
+    /**
+     * Threads waiting for any lane.
+     */
+    public int queuedThreads() {
+        int queued = 0;
+        for (ReentrantLock lane : lanes) {
+            queued += lane.getQueueLength();
+        }
+        return queued;
+    }
+
+    /**
+     * Threads waiting for the busiest lane.
+     */
+    public int maxQueuedThreads() {
+        int max = 0;
+        for (ReentrantLock lane : lanes) {
+            max = Math.max(max, lane.getQueueLength());
+        }
+        return max;
+    }
+
+    private void lock(ReentrantLock lane) {
+        try {
+            // A timed tryLock honours fairness, unlike tryLock()
+            if (lane.tryLock(0, TimeUnit.NANOSECONDS)) {
+                eventMetrics.laneAcquired(false, 0);
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long started = System.nanoTime();
+        lane.lock();
+        eventMetrics.laneAcquired(true, System.nanoTime() - started);
+    }
+
+    private Held currentHeld() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Held held = (Held) TransactionSynchronizationManager.getResource(this);
+        if (held == null) {
+            held = new Held();
+            TransactionSynchronizationManager.bindResource(this, held);
+            TransactionSynchronizationManager.registerSynchronization(held);
+        }
+        return held;
+    }
+
+    @FunctionalInterface
+    public interface Lease extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    /**
+     * Lanes held by one transaction, released once it commits or rolls back.
+     */
+    private class Held implements TransactionSynchronization {
+
+        private final List<ReentrantLock> lanes = new ArrayList<>();
+        private int highestIndex = -1;
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(SkuLanes.this);
+            for (int i = lanes.size() - 1; i >= 0; i--) {
+                lanes.get(i).unlock();
+            }
+        }
+    }
+}
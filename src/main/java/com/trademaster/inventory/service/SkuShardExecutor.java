@@ -0,0 +1,96 @@
+package com.trademaster.inventory.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Worker pool sized by {@code app.concurrency} that splits work into one shard per worker
+ * by SKU hash. Items of the same SKU always land in the same shard, in their original order.
+ * With {@code spring.threads.virtual.enabled} the workers are virtual threads (Java 21+).
+ */
+@Component
+@Slf4j
+public class SkuShardExecutor {
+
+    private final int shardCount;
+    private final ExecutorService executor;
+
+    public SkuShardExecutor(@Value("${app.concurrency:1}") int concurrency,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("app.concurrency must be at least 1, was " + concurrency);
+        }
+        this.shardCount = concurrency;
+        this.executor = Executors.newFixedThreadPool(concurrency,
+                virtualThreads ? new VirtualThreadTaskExecutor("sku-shard-").getVirtualThreadFactory() : platformThreads());
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(String sku) {
+        return Math.floorMod(Objects.hashCode(sku), shardCount);
+    }
+
+    /**
+     * Splits the items into {@link #shardCount()} lists, keeping their relative order.
+     */
+    public <T> List<List<T>> partition(List<T> items, Function<T, String> skuOf) {
+        List<List<T>> shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+        }
+        for (T item : items) {
+            shards.get(shardOf(skuOf.apply(item))).add(item);
+        }
+        return shards;
+    }
+
+    /**
+     * Runs the tasks on the pool and waits for all of them, returning results in task order.
+     */
+    public <R> List<R> invokeAll(List<Callable<R>> tasks) {
+        try {
+            List<R> results = new ArrayList<>(tasks.size());
+            for (Future<R> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for shard workers", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Shard worker failed", e.getCause());
+        }
+    }
+
+    private static ThreadFactory platformThreads() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "sku-shard-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,17 @@
+package com.trademaster.inventory.sharding;
+
+import java.util.List;
+
+/**
+ * Picks the queue events are published to. Every publisher goes through the router, so all
+ * events of one SKU end up on the same queue.
+ */
+public interface EventRouter {
+
+    String queueFor(String sku);
+
+    /**
+     * Every dead-letter queue failed events can end up in.
+     */
+    List<String> deadLetterQueues();
+}
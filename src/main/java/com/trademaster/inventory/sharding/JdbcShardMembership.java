@@ -0,0 +1,45 @@
+package com.trademaster.inventory.sharding;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Membership kept in {@code shard_members}. Timestamps come from the database clock, so
+ * instances with drifting clocks still agree on who timed out. An instance that has not
+ * heartbeated for {@code app.sharding.member-timeout-ms} is removed by the next heartbeat of
+ * any other instance.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class JdbcShardMembership implements ShardMembership {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration timeout;
+
+    public JdbcShardMembership(JdbcTemplate jdbcTemplate,
+                               @Value("${app.sharding.member-timeout-ms:15000}") long timeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+    @Override
+    public List<String> heartbeat(String instanceId) {
+        LocalDateTime now = jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", LocalDateTime.class);
+        if (jdbcTemplate.update("UPDATE shard_members SET heartbeat_at = ? WHERE instance_id = ?", now, instanceId) == 0) {
+            jdbcTemplate.update("INSERT INTO shard_members (instance_id, heartbeat_at) VALUES (?, ?)", instanceId, now);
+        }
+        jdbcTemplate.update("DELETE FROM shard_members WHERE heartbeat_at < ?", now.minus(timeout));
+        return jdbcTemplate.queryForList("SELECT instance_id FROM shard_members ORDER BY instance_id", String.class);
+    }
+
+    @Override
+    public void leave(String instanceId) {
+        jdbcTemplate.update("DELETE FROM shard_members WHERE instance_id = ?", instanceId);
+    }
+}
@@ -0,0 +1,93 @@
+package com.trademaster.inventory.sharding;
+
+import com.rabbitmq.client.Channel;
+import com.trademaster.inventory.consumer.BatchEventConsumer;
+import com.trademaster.inventory.consumer.EventConsumer;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.api.ChannelAwareBatchMessageListener;
+import org.springframework.amqp.rabbit.listener.api.ChannelAwareMessageListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Runs one listener container per owned shard, registered under the shard queue's name
+ * next to the annotated listeners. Each container has a single consumer, so a shard's events
+ * are handled in order, and hands its messages to {@link EventConsumer}, or to
+ * {@link BatchEventConsumer} when batch consumption is enabled.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ListenerContainerShardConsumers implements ShardConsumers {
+
+    private final RabbitListenerEndpointRegistry registry;
+    private final SimpleRabbitListenerContainerFactory containerFactory;
+    private final ObjectProvider<SimpleRabbitListenerContainerFactory> batchContainerFactory;
+    private final ObjectProvider<EventConsumer> eventConsumer;
+    private final ObjectProvider<BatchEventConsumer> batchEventConsumer;
+
+    public ListenerContainerShardConsumers(
+            RabbitListenerEndpointRegistry registry,
+            @Qualifier("rabbitListenerContainerFactory") SimpleRabbitListenerContainerFactory containerFactory,
+            @Qualifier("batchListenerContainerFactory") ObjectProvider<SimpleRabbitListenerContainerFactory> batchContainerFactory,
+            ObjectProvider<EventConsumer> eventConsumer,
+            ObjectProvider<BatchEventConsumer> batchEventConsumer) {
+        this.registry = registry;
+        this.containerFactory = containerFactory;
+        this.batchContainerFactory = batchContainerFactory;
+        this.eventConsumer = eventConsumer;
+        this.batchEventConsumer = batchEventConsumer;
+    }
+
+    @Override
+    public synchronized void start(String queue) {
+        if (registry.getListenerContainer(queue) != null) {
+            return;
+        }
+        SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+        endpoint.setId(queue);
+        endpoint.setQueueNames(queue);
+        endpoint.setConcurrency("1");
+
+        BatchEventConsumer batchConsumer = batchEventConsumer.getIfAvailable();
+        if (batchConsumer != null) {
+            endpoint.setBatchListener(true);
+            endpoint.setMessageListener(new BatchListener(batchConsumer));
+            registry.registerListenerContainer(endpoint, batchContainerFactory.getObject(), true);
+        } else {
+            EventConsumer consumer = eventConsumer.getObject();
+            endpoint.setMessageListener((ChannelAwareMessageListener) (message, channel) ->
+                    consumer.handleEvent(message, channel, message.getMessageProperties().getDeliveryTag()));
+            registry.registerListenerContainer(endpoint, containerFactory, true);
+        }
+    }
+
+    @Override
+    public synchronized void stop(String queue) {
+        MessageListenerContainer container = registry.unregisterListenerContainer(queue);
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    private record BatchListener(BatchEventConsumer consumer) implements ChannelAwareBatchMessageListener {
+
+        @Override
+        public void onMessageBatch(List<Message> messages, Channel channel) {
+            try {
+                consumer.handleBatch(messages, channel);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
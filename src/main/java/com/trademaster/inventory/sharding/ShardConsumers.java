@@ -0,0 +1,14 @@
+package com.trademaster.inventory.sharding;
+
+/**
+ * Starts and stops this instance's consumer of a shard queue.
+ */
+public interface ShardConsumers {
+
+    void start(String queue);
+
+    /**
+     * Stops the consumer once its in-flight messages are settled.
+     */
+    void stop(String queue);
+}
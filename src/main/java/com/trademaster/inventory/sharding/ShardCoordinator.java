@@ -0,0 +1,168 @@
+package com.trademaster.inventory.sharding;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads the shard queues over the live instances, enabled with {@code app.sharding.enabled}.
+ * On every heartbeat each instance places the shards on a ring of the live instances, at most
+ * {@code ceil(shards / instances)} per instance, and starts or stops its own consumers to
+ * match. All instances compute the same assignment from the same membership, so a new
+ * instance takes over its share on the first heartbeat after it joins, and the shards of an
+ * instance that left or timed out are picked up by the others.
+ * <p>
+ * An instance that gives up a shard stops its consumer on its next heartbeat, which can be
+ * after the new owner subscribed. The shard queues are single-active-consumer, so the new
+ * owner only receives messages once the old one is gone.
+ * <p>
+ * Heartbeats run on their own {@code shard-heartbeat} thread, apart from the rebalance on
+ * {@code shard-rebalance} and from the shared {@code @Scheduled} thread, so neither a slow
+ * consumer start or stop nor a long scheduled task lets this instance's membership expire.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+@Slf4j
+public class ShardCoordinator {
+
+    private final ShardMembership membership;
+    private final ShardConsumers consumers;
+    private final List<String> shardQueues;
+    private final int virtualNodes;
+    private final String instanceId;
+    private final long heartbeatIntervalMs;
+
+    private volatile List<String> members = List.of();
+    private final Set<String> owned = new TreeSet<>();
+
+    private final ScheduledExecutorService heartbeats = singleThread("shard-heartbeat");
+    private final ScheduledExecutorService rebalances = singleThread("shard-rebalance");
+
+    public ShardCoordinator(ShardMembership membership,
+                            ShardConsumers consumers,
+                            ShardedEventRouter router,
+                            @Value("${app.sharding.instance-id:}") String instanceId,
+                            @Value("${app.sharding.virtual-nodes:128}") int virtualNodes,
+                            @Value("${app.sharding.heartbeat-interval-ms:5000}") long heartbeatIntervalMs) {
+        this.membership = membership;
+        this.consumers = consumers;
+        this.shardQueues = router.shardQueues();
+        this.virtualNodes = virtualNodes;
+        this.instanceId = instanceId.isBlank() ? defaultInstanceId() : instanceId;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        heartbeats.scheduleAtFixedRate(this::heartbeat, 0, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+        rebalances.scheduleWithFixedDelay(this::rebalance, 0, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records that this instance is alive, without touching its consumers.
+     *
+     * @return the live instances, or null if the heartbeat failed
+     */
+    List<String> heartbeat() {
+        try {
+            List<String> live = membership.heartbeat(instanceId);
+            members = live;
+            return live;
+        } catch (Exception e) {
+            log.error("Shard heartbeat of {} failed", instanceId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Heartbeats, then starts and stops this instance's consumers to match the assignment
+     * for the live instances.
+     */
+    public synchronized void rebalance() {
+        List<String> live = heartbeat();
+        if (live == null) {
+            log.warn("Keeping {} shards of {} until the next rebalance", owned.size(), instanceId);
+            return;
+        }
+        Set<String> assigned = live.contains(instanceId)
+                ? new TreeSet<>(new ShardRing(live, virtualNodes).assign(shardQueues).get(instanceId))
+                : Set.of();
+
+        List<String> revoked = owned.stream().filter(queue -> !assigned.contains(queue)).toList();
+        List<String> added = assigned.stream().filter(queue -> !owned.contains(queue)).toList();
+        // Give up shards first, so their new owners can take over as soon as possible
+        for (String queue : revoked) {
+            consumers.stop(queue);
+            owned.remove(queue);
+        }
+        for (String queue : added) {
+            consumers.start(queue);
+            owned.add(queue);
+        }
+        if (!revoked.isEmpty() || !added.isEmpty()) {
+            log.info("Shards rebalanced over {} instances: {} now owns {} (gave up {}, took {})",
+                    live.size(), instanceId, owned, revoked, added);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        rebalances.shutdown();
+        rebalances.awaitTermination(heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+        heartbeats.shutdown();
+        heartbeats.awaitTermination(heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+        leave();
+    }
+
+    public synchronized void leave() {
+        owned.forEach(consumers::stop);
+        owned.clear();
+        try {
+            membership.leave(instanceId);
+        } catch (Exception e) {
+            log.warn("Failed to leave shard membership, {} will time out instead", instanceId, e);
+        }
+    }
+
+    public synchronized Status status() {
+        return new Status(instanceId, members, new ArrayList<>(owned));
+    }
+
+    /**
+     * This instance, the live instances as of the last heartbeat and the shards this
+     * instance consumes.
+     */
+    public record Status(String instanceId, List<String> members, List<String> shards) {
+    }
+
+    private static ScheduledExecutorService singleThread(String name) {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static String defaultInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown-host";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,18 @@
+package com.trademaster.inventory.sharding;
+
+import java.util.List;
+
+/**
+ * The instances currently sharing the shards.
+ */
+public interface ShardMembership {
+
+    /**
+     * Records that the instance is alive.
+     *
+     * @return every live instance, this one included, sorted
+     */
+    List<String> heartbeat(String instanceId);
+
+    void leave(String instanceId);
+}
@@ -0,0 +1,91 @@
+package com.trademaster.inventory.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash ring with {@code virtualNodes} points per node. A key belongs to the first
+ * point clockwise from its hash, so adding a node to a ring of n moves only about 1/(n+1) of
+ * the keys, all of them to the new node. The hash does not depend on the JVM, so every
+ * instance maps a key to the same node.
+ */
+public final class ShardRing {
+
+    private final List<String> nodes;
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+
+    public ShardRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A shard ring needs at least one node");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be at least 1, was " + virtualNodes);
+        }
+        this.nodes = List.copyOf(nodes);
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    public List<String> nodes() {
+        return nodes;
+    }
+
+    public String nodeFor(String key) {
+        Map.Entry<Long, String> point = points.ceilingEntry(hash(key));
+        return (point != null ? point : points.firstEntry()).getValue();
+    }
+
+    /**
+     * Assigns every key to a node, at most {@code ceil(keys / nodes)} per node: a key whose
+     * node is full moves on clockwise to the next node with room. Keys are placed in sorted
+     * order, so callers with the same nodes and keys compute the same assignment.
+     *
+     * @return the keys of every node, in node order
+     */
+    public Map<String, List<String>> assign(Collection<String> keys) {
+        int capacity = (keys.size() + nodes.size() - 1) / nodes.size();
+        Map<String, List<String>> assignment = new LinkedHashMap<>();
+        nodes.forEach(node -> assignment.put(node, new ArrayList<>()));
+
+        for (String key : keys.stream().sorted().toList()) {
+            long hash = hash(key);
+            List<String> candidates = new ArrayList<>(points.tailMap(hash, true).values());
+            candidates.addAll(points.headMap(hash, false).values());
+            for (String node : candidates) {
+                List<String> owned = assignment.get(node);
+                if (owned.size() < capacity) {
+                    owned.add(key);
+                    break;
+                }
+            }
+        }
+        return assignment;
+    }
+
+    /**
+     * FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer so that keys differing
+     * only in their last characters still land far apart on the ring.
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
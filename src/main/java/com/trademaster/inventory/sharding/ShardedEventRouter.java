@@ -0,0 +1,56 @@
+package com.trademaster.inventory.sharding;
+
+import com.trademaster.inventory.config.RabbitMQConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Routes events to {@code app.sharding.shards} shard queues by consistent hashing on the SKU,
+ * enabled with {@code app.sharding.enabled}.
+ * <p>
+ * Raising the shard count moves about 1/(n+1) of the SKUs, all to the new shard. Events of a
+ * moved SKU still queued on its old shard can be processed alongside its new ones until the
+ * old shard drains, so the count is best raised while the queues are short. Shards are never
+ * removed: lowering the count strands whatever is left on the dropped queues.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardedEventRouter implements EventRouter {
+
+    private final ShardRing ring;
+
+    public ShardedEventRouter(@Value("${app.sharding.shards:4}") int shards,
+                              @Value("${app.sharding.virtual-nodes:128}") int virtualNodes) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("app.sharding.shards must be at least 1, was " + shards);
+        }
+        this.ring = new ShardRing(IntStream.range(0, shards).mapToObj(RabbitMQConfig::shardQueue).toList(),
+                virtualNodes);
+    }
+
+    @Override
+    public String queueFor(String sku) {
+        return ring.nodeFor(sku);
+    }
+
+    /**
+     * The shard DLQs, followed by the DLQ of {@code orders.events}, which is still consumed
+     * so events published before sharding was enabled are not lost.
+     */
+    @Override
+    public List<String> deadLetterQueues() {
+        List<String> queues = new ArrayList<>();
+        ring.nodes().forEach(queue -> queues.add(RabbitMQConfig.deadLetterQueue(queue)));
+        queues.add(RabbitMQConfig.ORDERS_EVENTS_DLQ);
+        return queues;
+    }
+
+    public List<String> shardQueues() {
+        return ring.nodes();
+    }
+}
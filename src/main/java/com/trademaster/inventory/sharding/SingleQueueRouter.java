@@ -0,0 +1,25 @@
+package com.trademaster.inventory.sharding;
+
+import com.trademaster.inventory.config.RabbitMQConfig;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Routes every event to {@code orders.events}, the default when sharding is off.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class SingleQueueRouter implements EventRouter {
+
+    @Override
+    public String queueFor(String sku) {
+        return RabbitMQConfig.ORDERS_EVENTS_QUEUE;
+    }
+
+    @Override
+    public List<String> deadLetterQueues() {
+        return List.of(RabbitMQConfig.ORDERS_EVENTS_DLQ);
+    }
+}
@@ -0,0 +1,7 @@
+-- Instances sharing the orders.events shard queues when app.sharding.enabled is set. Each
+-- instance heartbeats its row and drops rows that stopped heartbeating; the shards are
+-- spread over whoever is left.
+CREATE TABLE IF NOT EXISTS shard_members (
+    instance_id VARCHAR(255) PRIMARY KEY,
+    heartbeat_at TIMESTAMP NOT NULL
+);
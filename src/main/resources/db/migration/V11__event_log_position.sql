@@ -0,0 +1,25 @@
+-- Commit-ordered position of PROCESSED events for inventory snapshots and rebuilds. Event ids
+-- are handed out in pooled blocks, so a lower id can commit after a higher one and cannot
+-- serve as a watermark. EventLog stamps committed PROCESSED events with the next position
+-- while it holds the event_log_position row, so everything at or below a position had
+-- committed before the position itself did.
+ALTER TABLE events ADD COLUMN IF NOT EXISTS processed_seq BIGINT;
+ALTER TABLE events_archive ADD COLUMN IF NOT EXISTS processed_seq BIGINT;
+
+CREATE INDEX IF NOT EXISTS idx_events_processed_seq ON events (processed_seq);
+CREATE INDEX IF NOT EXISTS idx_events_processed_unstamped ON events (id)
+    WHERE status = 'PROCESSED' AND processed_seq IS NULL;
+CREATE INDEX IF NOT EXISTS idx_events_archive_processed_seq ON events_archive (processed_seq);
+
+CREATE TABLE IF NOT EXISTS event_log_position (
+    id INTEGER PRIMARY KEY,
+    processed_seq BIGINT NOT NULL
+);
+
+INSERT INTO event_log_position (id, processed_seq) VALUES (1, 0) ON CONFLICT DO NOTHING;
+
+-- Snapshots taken up to an event id cannot be continued by position; take a new one after upgrading
+DELETE FROM inventory_snapshot_items;
+DELETE FROM inventory_snapshots;
+ALTER TABLE inventory_snapshots DROP COLUMN IF EXISTS last_event_id;
+ALTER TABLE inventory_snapshots ADD COLUMN IF NOT EXISTS processed_seq BIGINT NOT NULL;
@@ -0,0 +1,18 @@
+-- Outbox rows whose payload no longer reads as an EventRequest, e.g. after a schema change or
+-- a rollback. The relay moves them here and deletes them from event_outbox, so one bad row
+-- cannot stall the batches behind it. id is the row's id in event_outbox.
+CREATE TABLE IF NOT EXISTS event_outbox_dead_letters (
+    id BIGINT PRIMARY KEY,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    failed_at TIMESTAMP NOT NULL,
+    error TEXT
+);
+
+-- Single row locked by the instance relaying a batch. Instances relay one batch at a time,
+-- in id order, so events of a SKU reach its queue in the order they were accepted.
+CREATE TABLE IF NOT EXISTS outbox_relay_lock (
+    id INTEGER PRIMARY KEY
+);
+
+INSERT INTO outbox_relay_lock (id) VALUES (1) ON CONFLICT DO NOTHING;
@@ -0,0 +1,5 @@
+-- Typed quantity and delta on events, so the retry path rebuilds the strategy input
+-- from columns instead of falling back to defaults.
+-- Rows stored before this migration keep NULL and are processed with the strategy defaults.
+ALTER TABLE events ADD COLUMN IF NOT EXISTS quantity INTEGER;
+ALTER TABLE events ADD COLUMN IF NOT EXISTS delta INTEGER;
@@ -0,0 +1,14 @@
+-- Per-shard results and wall time of the SKU-sharded retry sweeper.
+ALTER TABLE batch_jobs ADD COLUMN IF NOT EXISTS wall_time_ms BIGINT;
+
+CREATE TABLE IF NOT EXISTS batch_job_shards (
+    id              BIGSERIAL PRIMARY KEY,
+    batch_job_id    BIGINT REFERENCES batch_jobs (id),
+    shard_index     INTEGER NOT NULL,
+    total_events    INTEGER NOT NULL,
+    total_processed INTEGER NOT NULL,
+    total_failed    INTEGER NOT NULL,
+    wall_time_ms    BIGINT  NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_batch_job_shards_batch_job_id ON batch_job_shards (batch_job_id);
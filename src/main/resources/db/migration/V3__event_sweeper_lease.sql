@@ -0,0 +1,3 @@
+-- Lease columns for claim-based sweeping by several service instances.
+ALTER TABLE events ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(255);
+ALTER TABLE events ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMP;
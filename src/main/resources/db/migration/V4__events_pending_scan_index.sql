@@ -0,0 +1,7 @@
+-- Index for the keyset pending scan: status IN ('RECEIVED', 'RETRY') ORDER BY created_at, id.
+CREATE INDEX IF NOT EXISTS idx_events_status_created_at_id ON events (status, created_at, id);
+
+-- PostgreSQL only: a partial index lets the scan walk pending rows already in (created_at, id)
+-- order, so its cost no longer depends on how much PROCESSED history the table holds.
+CREATE INDEX IF NOT EXISTS idx_events_pending_created_at_id ON events (created_at, id)
+    WHERE status IN ('RECEIVED', 'RETRY');
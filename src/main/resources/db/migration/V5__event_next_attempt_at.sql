@@ -0,0 +1,15 @@
+-- Earliest time the sweeper may claim an event, pushed back with exponential backoff on
+-- every failed attempt. Existing events are due from their creation time.
+ALTER TABLE events ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP;
+UPDATE events SET next_attempt_at = created_at WHERE next_attempt_at IS NULL;
+ALTER TABLE events ALTER COLUMN next_attempt_at SET NOT NULL;
+
+-- Index for the due-ordered claim scan and MIN(next_attempt_at) of the sweep trigger.
+CREATE INDEX IF NOT EXISTS idx_events_status_next_attempt_at_id ON events (status, next_attempt_at, id);
+
+-- PostgreSQL only: the pending scan walks this partial index in due order and stops at the
+-- first event that is not due yet, so backed-off events are never read. It replaces the
+-- created_at index from V4, which the claim scan no longer uses.
+CREATE INDEX IF NOT EXISTS idx_events_pending_next_attempt_at_id ON events (next_attempt_at, id)
+    WHERE status IN ('RECEIVED', 'RETRY');
+DROP INDEX IF EXISTS idx_events_pending_created_at_id;
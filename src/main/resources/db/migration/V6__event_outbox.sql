@@ -0,0 +1,8 @@
+-- Local outbox of POST /events when app.outbox.enabled is set. Rows are inserted in group
+-- commits by the request path and deleted by the relay once the broker confirmed them, so
+-- the table only holds the unpublished backlog and is scanned by primary key.
+CREATE TABLE IF NOT EXISTS event_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,12 @@
+-- events, batch_jobs and batch_job_shards take their ids from pooled sequences instead of
+-- IDENTITY, so Hibernate can batch their inserts. Hibernate fetches one value per 50 ids and
+-- hands out the 50 ids ending at it, so each sequence is moved 50 past the highest existing id.
+-- Run this before deploying: schema update would otherwise create the sequences at 1.
+-- The identity defaults stay in place for manual inserts but are no longer used by the service.
+CREATE SEQUENCE IF NOT EXISTS events_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS batch_jobs_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS batch_job_shards_seq INCREMENT BY 50;
+
+SELECT setval('events_seq', COALESCE((SELECT MAX(id) FROM events), 0) + 50);
+SELECT setval('batch_jobs_seq', COALESCE((SELECT MAX(id) FROM batch_jobs), 0) + 50);
+SELECT setval('batch_job_shards_seq', COALESCE((SELECT MAX(id) FROM batch_job_shards), 0) + 50);
@@ -0,0 +1,22 @@
+-- Archive of PROCESSED events moved out of events by EventArchiver (app.archive.enabled).
+-- Range partitioned by month of archived_at; ArchivePartitionManager creates the upcoming
+-- partitions and drops expired ones (app.archive.partitions.enabled). The default partition
+-- only catches rows archived while no partition of their month exists.
+-- Run this before enabling the archiver: schema update would otherwise create a plain table.
+CREATE TABLE IF NOT EXISTS events_archive (
+    id BIGINT NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    sku VARCHAR(255) NOT NULL,
+    quantity INTEGER,
+    delta INTEGER,
+    payload TEXT,
+    hash VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    -- The partition key has to be part of the primary key
+    PRIMARY KEY (id, archived_at)
+) PARTITION BY RANGE (archived_at);
+
+CREATE TABLE IF NOT EXISTS events_archive_default PARTITION OF events_archive DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_events_archive_hash ON events_archive (hash);
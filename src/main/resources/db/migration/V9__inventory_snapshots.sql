@@ -0,0 +1,18 @@
+-- Checkpoints of every SKU's quantity that inventory rebuilds start from (POST /rebuilds).
+-- The rebuild's shadow table inventory_items_rebuild is created by the service itself.
+CREATE TABLE IF NOT EXISTS inventory_snapshots (
+    id BIGSERIAL PRIMARY KEY,
+    last_event_id BIGINT NOT NULL,
+    sku_count INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS inventory_snapshot_items (
+    id BIGSERIAL PRIMARY KEY,
+    snapshot_id BIGINT NOT NULL,
+    sku VARCHAR(255) NOT NULL,
+    quantity INTEGER NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_inventory_snapshot_items_snapshot_sku
+    ON inventory_snapshot_items (snapshot_id, sku);
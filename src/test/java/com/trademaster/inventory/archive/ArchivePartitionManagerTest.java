@@ -0,0 +1,42 @@
+package com.trademaster.inventory.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArchivePartitionManagerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldCreateUpcomingPartitions_andDropExpiredOnes() {
+        // Given
+        ArchivePartitionManager manager = new ArchivePartitionManager(jdbcTemplate, 1, 12);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("events_archive"))).thenReturn(List.of(
+                "events_archive_default", "events_archive_p202508", "events_archive_p202509", "events_archive_p202510"));
+
+        // When
+        manager.maintain(YearMonth.of(2026, 10));
+
+        // Then
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS events_archive_p202610 PARTITION OF events_archive "
+                + "FOR VALUES FROM ('2026-10-01') TO ('2026-11-01')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS events_archive_p202611 PARTITION OF events_archive "
+                + "FOR VALUES FROM ('2026-11-01') TO ('2026-12-01')");
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS events_archive_p202508");
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS events_archive_p202509");
+        verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS events_archive_p202510");
+        verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS events_archive_default");
+    }
+}
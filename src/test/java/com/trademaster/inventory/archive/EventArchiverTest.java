@@ -0,0 +1,145 @@
+package com.trademaster.inventory.archive;
+
+import com.trademaster.inventory.domain.Event;
+import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.enums.EventType;
+import com.trademaster.inventory.metrics.EventCounters;
+import com.trademaster.inventory.metrics.EventMetrics;
+import com.trademaster.inventory.repository.EventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Archives in H2 with real transactions. Scan costs are the rows H2 reports reading for a
+ * query ({@code EXPLAIN ANALYZE} scan counts).
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventArchiverTest {
+
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private EventCounters eventCounters;
+
+    private EventArchiver archiver;
+    private long sequence;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM events_archive");
+        eventRepository.deleteAllInBatch();
+        archiver = new EventArchiver(eventRepository, new TransactionTemplate(transactionManager),
+                eventCounters, new EventMetrics(new SimpleMeterRegistry()), 24, 100);
+    }
+
+    @Test
+    void shouldArchiveOnlyOldProcessedEvents() {
+        // Given
+        insert(3, EventStatus.PROCESSED, 48);
+        insert(2, EventStatus.PROCESSED, 1);
+        insert(2, EventStatus.DLQ, 48);
+        insert(2, EventStatus.RETRY, 48);
+
+        // When
+        archiver.archive();
+
+        // Then
+        assertEquals(6, eventRepository.count());
+        assertEquals(2, eventRepository.countByStatus(EventStatus.PROCESSED));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM events_archive", Long.class));
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM events_archive WHERE hash LIKE 'PROCESSED-%' AND type = 'ORDER_PLACED'", Long.class));
+    }
+
+    @Test
+    void shouldKeepScanCostConstant_asHistoryGrows() {
+        // Given
+        long[] small = scanCostsAfterArchiving(500);
+
+        // When
+        long[] large = scanCostsAfterArchiving(5000);
+
+        // Then
+        assertArrayEquals(small, large);
+        assertEquals(40, large[0]);
+    }
+
+    /**
+     * Rows in {@code events}, then rows read by the pending scan and by a hash lookup, once
+     * {@code history} old PROCESSED events next to 40 hot ones were archived.
+     */
+    private long[] scanCostsAfterArchiving(int history) {
+        setUp();
+        insert(history, EventStatus.PROCESSED, 48);
+        insert(20, EventStatus.PROCESSED, 1);
+        insert(20, EventStatus.RETRY, 48);
+
+        archiver.archive();
+
+        return new long[]{
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM events", Long.class),
+                scanCount("SELECT id FROM events WHERE status IN ('RECEIVED', 'RETRY') "
+                        + "AND (lease_expires_at IS NULL OR lease_expires_at < CURRENT_TIMESTAMP) "
+                        + "AND next_attempt_at <= CURRENT_TIMESTAMP ORDER BY next_attempt_at, id LIMIT 100"),
+                scanCount("SELECT hash FROM events WHERE hash IN ('RETRY-1', 'missing')")
+        };
+    }
+
+    private long scanCount(String sql) {
+        long total = 0;
+        for (String line : jdbcTemplate.queryForList("EXPLAIN ANALYZE " + sql, String.class)) {
+            Matcher matcher = SCAN_COUNT.matcher(line);
+            while (matcher.find()) {
+                total += Long.parseLong(matcher.group(1));
+            }
+        }
+        return total;
+    }
+
+    private void insert(int count, EventStatus status, int hoursAgo) {
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(Event.builder()
+                    .type(EventType.ORDER_PLACED)
+                    .sku("SKU-" + (sequence % 10))
+                    .quantity(1)
+                    .status(status)
+                    .attempts(0)
+                    .hash(status + "-" + ++sequence)
+                    .build());
+        }
+        List<Long> ids = eventRepository.saveAll(events).stream().map(Event::getId).toList();
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now().minusHours(hoursAgo));
+        jdbcTemplate.batchUpdate("UPDATE events SET created_at = ?, next_attempt_at = ? WHERE id = ?",
+                ids.stream().map(id -> new Object[]{createdAt, createdAt, id}).toList());
+    }
+}
@@ -0,0 +1,68 @@
+package com.trademaster.inventory.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void shouldCountHitsAndMisses() {
+        // Given
+        IdempotencyCache cache = new IdempotencyCache(10, Duration.ofMinutes(1), clock::get);
+        HashKey key = HashKey.fromHex("0a1b2c");
+
+        // When
+        boolean before = cache.contains(key);
+        cache.add(key);
+        boolean after = cache.contains(HashKey.fromHex("0A1B2C"));
+
+        // Then
+        assertFalse(before);
+        assertTrue(after);
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void shouldEvictOldestEntries_whenMaxSizeExceeded() {
+        // Given
+        IdempotencyCache cache = new IdempotencyCache(2, Duration.ofMinutes(1), clock::get);
+
+        // When
+        cache.add(HashKey.fromHex("01"));
+        cache.add(HashKey.fromHex("02"));
+        cache.add(HashKey.fromHex("03"));
+
+        // Then
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictions());
+        assertFalse(cache.contains(HashKey.fromHex("01")));
+        assertTrue(cache.contains(HashKey.fromHex("03")));
+    }
+
+    @Test
+    void shouldExpireEntries_afterTtl() {
+        // Given
+        IdempotencyCache cache = new IdempotencyCache(10, Duration.ofSeconds(1), clock::get);
+        cache.add(HashKey.fromHex("01"));
+
+        // When
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        // Then
+        assertFalse(cache.contains(HashKey.fromHex("01")));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.evictions());
+    }
+
+    @Test
+    void shouldRejectMalformedHex() {
+        assertThrows(IllegalArgumentException.class, () -> HashKey.fromHex("zz"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.trademaster.inventory.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryReadCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void shouldServeCachedQuantity_untilInvalidated() {
+        // Given
+        InventoryReadCache cache = new InventoryReadCache(10, Duration.ofMinutes(1), clock::get);
+        cache.putIfCurrent("SKU-1", 5, cache.generation("SKU-1"));
+
+        // When
+        Integer before = cache.get("SKU-1");
+        cache.invalidate("SKU-1");
+        Integer after = cache.get("SKU-1");
+
+        // Then
+        assertEquals(5, before);
+        assertNull(after);
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void shouldNotStoreValueLoadedBeforeAnInvalidation() {
+        // Given
+        InventoryReadCache cache = new InventoryReadCache(10, Duration.ofMinutes(1), clock::get);
+        long generation = cache.generation("SKU-1");
+
+        // When
+        cache.invalidate("SKU-1");
+        cache.putIfCurrent("SKU-1", 5, generation);
+
+        // Then
+        assertNull(cache.get("SKU-1"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldInvalidateOnlyAfterCommit_insideTransaction() {
+        // Given
+        InventoryReadCache cache = new InventoryReadCache(10, Duration.ofMinutes(1), clock::get);
+        cache.putIfCurrent("SKU-1", 5, cache.generation("SKU-1"));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            cache.invalidate("SKU-1");
+            Integer beforeCommit = cache.get("SKU-1");
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            // Then
+            assertEquals(5, beforeCommit);
+            assertNull(cache.get("SKU-1"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldEvictOldestEntries_andExpireAfterTtl() {
+        // Given
+        InventoryReadCache cache = new InventoryReadCache(2, Duration.ofSeconds(1), clock::get);
+
+        // When
+        cache.putIfCurrent("SKU-1", 1, cache.generation("SKU-1"));
+        cache.putIfCurrent("SKU-2", 2, cache.generation("SKU-2"));
+        cache.putIfCurrent("SKU-3", 3, cache.generation("SKU-3"));
+
+        // Then
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictions());
+        assertNull(cache.get("SKU-1"));
+
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertNull(cache.get("SKU-3"));
+    }
+}
@@ -0,0 +1,107 @@
+package com.trademaster.inventory.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trademaster.inventory.dto.EventRequest;
+import com.trademaster.inventory.enums.EventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryEventCodecTest {
+
+    @Test
+    void shouldRoundTripAllFields() {
+        // Given
+        EventRequest request = EventRequest.builder()
+                .type(EventType.INVENTORY_ADJUSTED)
+                .sku("SKU-ÄÖ-42")
+                .quantity(300)
+                .delta(-1_000_000)
+                .payload("order-8f14e45f")
+                .build();
+
+        // When
+        EventRequest decoded = BinaryEventCodec.decode(BinaryEventCodec.encode(request));
+
+        // Then
+        assertEquals(request, decoded);
+    }
+
+    @Test
+    void shouldKeepAbsentFieldsNull() {
+        // Given
+        EventRequest request = EventRequest.builder()
+                .type(EventType.ORDER_PLACED)
+                .sku("SKU-1")
+                .build();
+
+        // When
+        EventRequest decoded = BinaryEventCodec.decode(BinaryEventCodec.encode(request));
+
+        // Then
+        assertEquals(request, decoded);
+        assertEquals(9, BinaryEventCodec.encode(request).length);
+    }
+
+    @Test
+    void shouldBeSmallerThanJson() throws Exception {
+        // Given
+        EventRequest request = EventRequest.builder()
+                .type(EventType.ORDER_CANCELLED)
+                .sku("PRODUCT-123")
+                .quantity(2)
+                .payload("order-8f14e45fceea167a5a36dedd4bea2543")
+                .build();
+
+        // When
+        int binary = BinaryEventCodec.encode(request).length;
+        int json = new ObjectMapper().writeValueAsBytes(request).length;
+
+        // Then
+        assertTrue(binary * 2 < json, "binary " + binary + " bytes vs json " + json + " bytes");
+    }
+
+    @Test
+    void shouldRejectTruncatedOrUnknownInput() {
+        // Given
+        byte[] body = BinaryEventCodec.encode(EventRequest.builder()
+                .type(EventType.ORDER_PLACED)
+                .sku("SKU-1")
+                .quantity(5)
+                .build());
+        byte[] truncated = Arrays.copyOf(body, body.length - 3);
+        byte[] unknownVersion = body.clone();
+        unknownVersion[0] = 9;
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> BinaryEventCodec.decode(truncated));
+        assertThrows(IllegalArgumentException.class, () -> BinaryEventCodec.decode(unknownVersion));
+        assertThrows(IllegalArgumentException.class, () -> BinaryEventCodec.decode(new byte[0]));
+    }
+
+    @Test
+    void shouldPickFormatByContentType() {
+        // Given
+        EventRequest request = EventRequest.builder().type(EventType.ORDER_PLACED).sku("SKU-1").quantity(1).build();
+        EventRequestMessageConverter binary = new EventRequestMessageConverter(
+                new Jackson2JsonMessageConverter(), EventRequestMessageConverter.WireFormat.BINARY);
+        EventRequestMessageConverter json = new EventRequestMessageConverter(
+                new Jackson2JsonMessageConverter(), EventRequestMessageConverter.WireFormat.JSON);
+
+        // When
+        Message binaryMessage = binary.toMessage(request, new MessageProperties());
+        Message jsonMessage = json.toMessage(request, new MessageProperties());
+
+        // Then
+        assertEquals(BinaryEventCodec.CONTENT_TYPE, binaryMessage.getMessageProperties().getContentType());
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, jsonMessage.getMessageProperties().getContentType());
+        assertEquals(request, json.fromMessage(binaryMessage));
+    }
+}
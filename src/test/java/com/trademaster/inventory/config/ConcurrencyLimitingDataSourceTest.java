@@ -0,0 +1,68 @@
+package com.trademaster.inventory.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitingDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    private ConcurrencyLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(targetDataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new ConcurrencyLimitingDataSource(targetDataSource, 2, 50);
+    }
+
+    @Test
+    void shouldRejectCallersOverTheLimit_untilAConnectionIsClosed() throws Exception {
+        // Given
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        // When & Then
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        first.close();
+        dataSource.getConnection();
+        assertEquals(0, dataSource.availablePermits());
+    }
+
+    @Test
+    void shouldReleaseOnce_whenClosedTwice() throws Exception {
+        // Given
+        Connection connection = dataSource.getConnection();
+
+        // When
+        connection.close();
+        connection.close();
+
+        // Then
+        assertEquals(2, dataSource.availablePermits());
+    }
+
+    @Test
+    void shouldReleasePermit_whenTargetFails() throws Exception {
+        // Given
+        reset(targetDataSource);
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("Pool exhausted"));
+
+        // When & Then
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(2, dataSource.availablePermits());
+    }
+}
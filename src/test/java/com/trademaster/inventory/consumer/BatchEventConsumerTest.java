@@ -0,0 +1,114 @@
+package com.trademaster.inventory.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import com.trademaster.inventory.cache.IdempotencyCache;
+import com.trademaster.inventory.metrics.EventMetrics;
+import com.trademaster.inventory.service.EventProcessingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchEventConsumerTest {
+
+    @Mock
+    private EventProcessingService eventProcessingService;
+
+    @Mock
+    private Channel channel;
+
+    private BatchEventConsumer batchEventConsumer;
+
+    @BeforeEach
+    void setUp() {
+        batchEventConsumer = new BatchEventConsumer(eventProcessingService, new ObjectMapper(),
+                new IdempotencyCache(100, Duration.ofMinutes(5)), new EventHasher(EventHasher.Algorithm.SHA_256),
+                new EventMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void shouldProcessBatchAndAckUpToLastDeliveryTag() throws Exception {
+        // Given
+        List<Message> messages = List.of(
+                message("{\"type\":\"ORDER_PLACED\",\"sku\":\"PRODUCT-1\"}", 1L),
+                message("{\"type\":\"ORDER_PLACED\",\"sku\":\"PRODUCT-2\"}", 2L),
+                message("{\"type\":\"ORDER_CANCELLED\",\"sku\":\"PRODUCT-1\"}", 3L));
+
+        // When
+        batchEventConsumer.handleBatch(messages, channel);
+
+        // Then
+        verify(eventProcessingService).processBatch(argThat(events -> events.size() == 3));
+        verify(channel).basicAck(3L, true);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void shouldRejectUnparseableMessage_andAckTheRest() throws Exception {
+        // Given
+        List<Message> messages = List.of(
+                message("{\"type\":\"ORDER_PLACED\",\"sku\":\"PRODUCT-1\"}", 1L),
+                message("not-json", 2L),
+                message("{\"type\":\"ORDER_PLACED\",\"sku\":\"PRODUCT-2\"}", 3L));
+
+        // When
+        batchEventConsumer.handleBatch(messages, channel);
+
+        // Then
+        verify(channel).basicNack(2L, false, false);
+        verify(eventProcessingService).processBatch(argThat(events -> events.size() == 2));
+        verify(channel).basicAck(3L, true);
+    }
+
+    @Test
+    void shouldNackWholeBatch_whenProcessingFails() throws Exception {
+        // Given
+        List<Message> messages = List.of(
+                message("{\"type\":\"ORDER_PLACED\",\"sku\":\"PRODUCT-1\"}", 1L),
+                message("{\"type\":\"ORDER_PLACED\",\"sku\":\"PRODUCT-2\"}", 2L));
+
+        when(eventProcessingService.processBatch(anyList())).thenThrow(new RuntimeException("Database unavailable"));
+
+        // When
+        batchEventConsumer.handleBatch(messages, channel);
+
+        // Then
+        verify(channel).basicNack(2L, true, false);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void shouldAckCachedDuplicates_withoutProcessingThemAgain() throws Exception {
+        // Given
+        Message first = message("{\"type\":\"ORDER_PLACED\",\"sku\":\"PRODUCT-1\"}", 1L);
+        Message replay = message("{\"type\":\"ORDER_PLACED\",\"sku\":\"PRODUCT-1\"}", 2L);
+        batchEventConsumer.handleBatch(List.of(first), channel);
+
+        // When
+        batchEventConsumer.handleBatch(List.of(replay), channel);
+
+        // Then
+        verify(eventProcessingService, times(1)).processBatch(anyList());
+        verify(channel).basicAck(2L, true);
+    }
+
+    private Message message(String body, long deliveryTag) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(deliveryTag);
+        return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
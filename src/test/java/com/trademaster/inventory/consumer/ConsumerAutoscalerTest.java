@@ -0,0 +1,190 @@
+package com.trademaster.inventory.consumer;
+
+import com.trademaster.inventory.config.RabbitMQConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.MessageListener;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives a real {@code orders.events} listener container, running against an in-process
+ * broker stand-in, through {@link ListenerContainerSettingsTarget}.
+ */
+class ConsumerAutoscalerTest {
+
+    private final InProcessAmqpBroker broker = new InProcessAmqpBroker();
+    private final Load load = new Load();
+    private final RabbitListenerEndpointRegistry registry = new RabbitListenerEndpointRegistry();
+
+    @AfterEach
+    void tearDown() {
+        registry.stop();
+        registry.destroy();
+    }
+
+    @Test
+    void shouldScaleUpToTheBounds_whileBacklogOutgrowsConsumers() throws Exception {
+        // Given
+        ConsumerAutoscaler autoscaler = autoscalerStartingAt(1, 10);
+        load.depth = 100_000;
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            autoscaler.tick();
+        }
+
+        // Then
+        assertTrue(broker.awaitConsumers(4, 200), "Consumers: " + broker.prefetches());
+        List<ConsumerAutoscaler.Decision> decisions = autoscaler.status().decisions();
+        assertEquals(3, decisions.size());
+        assertEquals("backlog", decisions.get(0).reason());
+        assertEquals(160, decisions.get(0).fromPrefetch());
+    }
+
+    @Test
+    void shouldRemoveConsumer_whenDatabasePoolIsSaturated() throws Exception {
+        // Given
+        ConsumerAutoscaler autoscaler = autoscalerStartingAt(3, 10);
+        load.depth = 100_000;
+        load.threadsAwaiting = 2;
+
+        // When
+        autoscaler.tick();
+
+        // Then
+        assertTrue(broker.awaitConsumers(2, 10), "Consumers: " + broker.prefetches());
+        assertEquals("db-pool-saturated", autoscaler.status().decisions().get(0).reason());
+    }
+
+    @Test
+    void shouldRestartConsumersWithHalvedPrefetch_onceLatencyStaysAboveTarget() throws Exception {
+        // Given
+        ConsumerAutoscaler autoscaler = autoscalerStartingAt(2, 40);
+        load.depth = 500;
+        load.latencyMs = 250;
+
+        // When
+        autoscaler.tick();
+
+        // Then
+        assertEquals(0, autoscaler.status().decisions().size());
+
+        // When
+        autoscaler.tick();
+
+        // Then
+        assertTrue(broker.awaitConsumers(2, 20), "Consumers: " + broker.prefetches());
+        assertEquals("latency-above-target", autoscaler.status().decisions().get(0).reason());
+
+        // When
+        autoscaler.tick();
+
+        // Then
+        assertEquals(1, autoscaler.status().decisions().size());
+
+        // When
+        autoscaler.tick();
+
+        // Then
+        assertTrue(broker.awaitConsumers(2, 10), "Consumers: " + broker.prefetches());
+        assertEquals(2, autoscaler.status().decisions().size());
+    }
+
+    @Test
+    void shouldKeepPrefetch_whileTheSignalFlips() throws Exception {
+        // Given
+        ConsumerAutoscaler autoscaler = autoscalerStartingAt(1, 40);
+        load.depth = 100_000;
+
+        // When
+        for (int i = 0; i < 6; i++) {
+            load.latencyMs = i % 2 == 0 ? 250 : 0;
+            autoscaler.tick();
+        }
+
+        // Then
+        assertTrue(broker.awaitConsumers(4, 40), "Consumers: " + broker.prefetches());
+        autoscaler.status().decisions().forEach(decision -> {
+            assertEquals("backlog", decision.reason());
+            assertEquals(40, decision.toPrefetch());
+        });
+    }
+
+    @Test
+    void shouldScaleDownWhenIdle_untilTheLowerBound() throws Exception {
+        // Given
+        ConsumerAutoscaler autoscaler = autoscalerStartingAt(4, 10);
+        load.depth = 0;
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            autoscaler.tick();
+        }
+
+        // Then
+        assertTrue(broker.awaitConsumers(1, 10), "Consumers: " + broker.prefetches());
+        List<ConsumerAutoscaler.Decision> decisions = autoscaler.status().decisions();
+        assertEquals(3, decisions.size());
+        assertEquals(1, decisions.get(0).toConcurrency());
+        assertEquals(4, decisions.get(2).fromConcurrency());
+    }
+
+    @Test
+    void shouldHoldSettings_whenLoadIsSteady() throws Exception {
+        // Given
+        ConsumerAutoscaler autoscaler = autoscalerStartingAt(2, 50);
+        load.depth = 60;
+
+        // When
+        autoscaler.tick();
+
+        // Then
+        assertTrue(broker.awaitConsumers(2, 50), "Consumers: " + broker.prefetches());
+        assertEquals(0, autoscaler.status().decisions().size());
+    }
+
+    private ConsumerAutoscaler autoscalerStartingAt(int concurrency, int prefetch) throws Exception {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(broker.connectionFactory());
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setPrefetchCount(prefetch);
+        factory.setReceiveTimeout(10L);
+        factory.setContainerCustomizer(container -> container.setShutdownTimeout(200));
+
+        SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+        endpoint.setId(RabbitMQConfig.ORDERS_EVENTS_LISTENER_ID);
+        endpoint.setQueueNames(RabbitMQConfig.ORDERS_EVENTS_QUEUE);
+        endpoint.setMessageListener((MessageListener) message -> {
+        });
+        registry.registerListenerContainer(endpoint, factory, true);
+        assertTrue(broker.awaitConsumers(concurrency, prefetch));
+
+        ListenerContainerSettingsTarget target = new ListenerContainerSettingsTarget(registry, concurrency, prefetch);
+        return new ConsumerAutoscaler(load, target, 1, 4, 10, 200, 100, 3, 2);
+    }
+
+    /**
+     * Load signals that would come from the broker's queue depth, the delivery timer and the
+     * database pool.
+     */
+    private static class Load implements ConsumerLoadProbe {
+
+        private long depth;
+        private double latencyMs;
+        private int threadsAwaiting;
+
+        @Override
+        public Sample sample() {
+            return new Sample(depth, latencyMs, 0, 10, threadsAwaiting);
+        }
+    }
+}
@@ -1,23 +1,35 @@
 package com.trademaster.inventory.consumer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import com.trademaster.inventory.cache.IdempotencyCache;
+import com.trademaster.inventory.codec.BinaryEventCodec;
 import com.trademaster.inventory.domain.Event;
 import com.trademaster.inventory.dto.EventRequest;
 import com.trademaster.inventory.enums.EventType;
+import com.trademaster.inventory.metrics.EventCounters;
+import com.trademaster.inventory.metrics.EventMetrics;
 import com.trademaster.inventory.repository.EventRepository;
 import com.trademaster.inventory.service.EventProcessingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
 
+import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,11 +44,24 @@ class EventConsumerTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private EventCounters eventCounters;
+
+    @Mock
+    private Channel channel;
+
+    private IdempotencyCache idempotencyCache;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private EventConsumer eventConsumer;
 
     @BeforeEach
     void setUp() {
-        eventConsumer = new EventConsumer(eventRepository, eventProcessingService, objectMapper);
+        idempotencyCache = new IdempotencyCache(100, Duration.ofMinutes(5));
+        meterRegistry = new SimpleMeterRegistry();
+        eventConsumer = new EventConsumer(eventRepository, eventProcessingService, objectMapper, idempotencyCache,
+                new EventHasher(EventHasher.Algorithm.SHA_256), new EventMetrics(meterRegistry), eventCounters);
     }
 
     @Test
@@ -53,11 +78,13 @@ class EventConsumerTest {
         when(eventRepository.findByHash(any())).thenReturn(Optional.of(existingEvent));
 
         // When
-        eventConsumer.handleEvent(message, 1L);
+        eventConsumer.handleEvent(message, channel, 1L);
 
         // Then
         verify(eventRepository, never()).save(any());
         verify(eventProcessingService, never()).processEvent(any());
+        verify(channel).basicAck(1L, false);
+        assertEquals(1.0, meterRegistry.get("inventory.events.duplicates").tag("source", "database").counter().count());
     }
 
     @Test
@@ -76,11 +103,38 @@ class EventConsumerTest {
         when(eventRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
-        eventConsumer.handleEvent(message, 1L);
+        eventConsumer.handleEvent(message, channel, 1L);
 
         // Then
         verify(eventRepository).save(any());
         verify(eventProcessingService).processEvent(any());
+        verify(channel).basicAck(1L, false);
+    }
+
+    @Test
+    void shouldLeaveReceivedEventToTheConsumer_forOneSweeperLease() throws Exception {
+        // Given
+        Field graceField = EventConsumer.class.getDeclaredField("receivedGraceMs");
+        graceField.setAccessible(true);
+        graceField.set(eventConsumer, 60_000L);
+
+        String rawMessage = "{\"type\":\"ORDER_PLACED\",\"sku\":\"PRODUCT-123\"}";
+        Message message = new Message(rawMessage.getBytes(StandardCharsets.UTF_8));
+        EventRequest eventRequest = EventRequest.builder()
+                .type(EventType.ORDER_PLACED)
+                .sku("PRODUCT-123")
+                .build();
+
+        when(eventRepository.findByHash(any())).thenReturn(Optional.empty());
+        when(objectMapper.readValue(rawMessage, EventRequest.class)).thenReturn(eventRequest);
+        when(eventRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        eventConsumer.handleEvent(message, channel, 1L);
+
+        // Then
+        LocalDateTime graceEnds = LocalDateTime.now().plusSeconds(55);
+        verify(eventRepository).save(argThat(event -> event.getNextAttemptAt().isAfter(graceEnds)));
     }
 
     @Test
@@ -92,7 +146,61 @@ class EventConsumerTest {
         when(eventRepository.findByHash(any())).thenReturn(Optional.empty());
         when(objectMapper.readValue(rawMessage, EventRequest.class)).thenThrow(new RuntimeException("JSON parsing failed"));
 
-        // When & Then
-        assertThrows(RuntimeException.class, () -> eventConsumer.handleEvent(message, 1L));
+        // When
+        eventConsumer.handleEvent(message, channel, 1L);
+
+        // Then
+        verify(channel).basicNack(1L, false, false);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void shouldSkipDatabaseLookup_whenHashIsCached() throws Exception {
+        // Given
+        String rawMessage = "{\"type\":\"ORDER_PLACED\",\"sku\":\"PRODUCT-123\"}";
+        Message message = new Message(rawMessage.getBytes(StandardCharsets.UTF_8));
+
+        EventRequest eventRequest = EventRequest.builder()
+                .type(EventType.ORDER_PLACED)
+                .sku("PRODUCT-123")
+                .build();
+
+        when(eventRepository.findByHash(any())).thenReturn(Optional.empty());
+        when(objectMapper.readValue(rawMessage, EventRequest.class)).thenReturn(eventRequest);
+        when(eventRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        eventConsumer.handleEvent(message, channel, 1L);
+        eventConsumer.handleEvent(message, channel, 2L);
+
+        // Then
+        verify(eventRepository, times(1)).findByHash(any());
+        verify(eventRepository, times(1)).save(any());
+        verify(eventProcessingService, times(1)).processEvent(any());
+        verify(channel).basicAck(2L, false);
+    }
+
+    @Test
+    void shouldDecodeBinaryMessages_withoutJsonParsing() throws Exception {
+        // Given
+        EventRequest eventRequest = EventRequest.builder()
+                .type(EventType.ORDER_CANCELLED)
+                .sku("PRODUCT-123")
+                .quantity(3)
+                .build();
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(BinaryEventCodec.CONTENT_TYPE);
+        Message message = new Message(BinaryEventCodec.encode(eventRequest), properties);
+
+        when(eventRepository.findByHash(any())).thenReturn(Optional.empty());
+        when(eventRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        eventConsumer.handleEvent(message, channel, 1L);
+
+        // Then
+        verify(eventRepository).save(argThat(event -> event.getType() == EventType.ORDER_CANCELLED
+                && "PRODUCT-123".equals(event.getSku()) && event.getQuantity() == 3));
+        verifyNoInteractions(objectMapper);
     }
 }
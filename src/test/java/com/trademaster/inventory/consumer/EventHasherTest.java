@@ -0,0 +1,47 @@
+package com.trademaster.inventory.consumer;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class EventHasherTest {
+
+    private final EventHasher sha256Hasher = new EventHasher(EventHasher.Algorithm.SHA_256);
+    private final EventHasher murmurHasher = new EventHasher(EventHasher.Algorithm.MURMUR3_128);
+
+    @Test
+    void shouldProduceSameHexAsPlainSha256() throws Exception {
+        // Given
+        byte[] body = "{\"type\":\"ORDER_PLACED\",\"sku\":\"PRODUCT-123\"}".getBytes(StandardCharsets.UTF_8);
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+
+        // When
+        String first = sha256Hasher.hash(body).toHex();
+        String second = sha256Hasher.hash(body).toHex();
+
+        // Then
+        assertEquals(expected, first);
+        assertEquals(expected, second);
+    }
+
+    @Test
+    void shouldMatchMurmur3ReferenceVectors() {
+        // Reference values of MurmurHash3 x64 128 with seed 0
+        assertEquals("67f8103e694299624753ebba820bdb92",
+                murmurHasher.hash("hell".getBytes(StandardCharsets.UTF_8)).toHex());
+        assertEquals("6c1b07bc7bbc4be347939ac4a93c437a",
+                murmurHasher.hash("The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.UTF_8)).toHex());
+    }
+
+    @Test
+    void shouldProduceDifferentFingerprints_forDifferentBodies() {
+        assertNotEquals(
+                murmurHasher.hash("{\"sku\":\"A\"}".getBytes(StandardCharsets.UTF_8)),
+                murmurHasher.hash("{\"sku\":\"B\"}".getBytes(StandardCharsets.UTF_8)));
+    }
+}
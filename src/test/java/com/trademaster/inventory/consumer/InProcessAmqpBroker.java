@@ -0,0 +1,104 @@
+package com.trademaster.inventory.consumer;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Consumer;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * In-process stand-in for the broker behind a listener container. Every channel the
+ * container opens records the prefetch it asked for and the consumers it started, so tests
+ * see the consumers a real container runs rather than the settings it was given.
+ */
+class InProcessAmqpBroker {
+
+    private final List<ActiveConsumer> consumers = new CopyOnWriteArrayList<>();
+    private final AtomicInteger tags = new AtomicInteger();
+    private final ConnectionFactory connectionFactory;
+
+    InProcessAmqpBroker() {
+        Connection connection = mock(Connection.class);
+        when(connection.isOpen()).thenReturn(true);
+        when(connection.createChannel(anyBoolean())).thenAnswer(invocation -> channel());
+        connectionFactory = mock(ConnectionFactory.class);
+        when(connectionFactory.createConnection()).thenReturn(connection);
+    }
+
+    ConnectionFactory connectionFactory() {
+        return connectionFactory;
+    }
+
+    /**
+     * Prefetch of every consumer currently subscribed.
+     */
+    List<Integer> prefetches() {
+        return consumers.stream().map(ActiveConsumer::prefetch).sorted().toList();
+    }
+
+    /**
+     * Waits until exactly {@code count} consumers are subscribed, all with the given prefetch.
+     */
+    boolean awaitConsumers(int count, int prefetch) throws InterruptedException {
+        List<Integer> expected = Collections.nCopies(count, prefetch);
+        for (int i = 0; i < 500; i++) {
+            if (prefetches().equals(expected)) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+
+    private Channel channel() throws IOException, TimeoutException {
+        Channel channel = mock(Channel.class);
+        AtomicInteger prefetch = new AtomicInteger();
+        List<String> channelTags = new CopyOnWriteArrayList<>();
+        when(channel.isOpen()).thenReturn(true);
+        when(channel.queueDeclarePassive(anyString())).thenAnswer(invocation ->
+                new AMQP.Queue.DeclareOk.Builder().queue(invocation.getArgument(0)).build());
+        doAnswer(invocation -> {
+            prefetch.set(invocation.getArgument(0));
+            return null;
+        }).when(channel).basicQos(anyInt(), anyBoolean());
+        when(channel.basicConsume(anyString(), anyBoolean(), anyString(), anyBoolean(), anyBoolean(), any(),
+                any(Consumer.class))).thenAnswer(invocation -> {
+            String tag = "consumer-" + tags.incrementAndGet();
+            channelTags.add(tag);
+            consumers.add(new ActiveConsumer(tag, prefetch.get()));
+            invocation.<Consumer>getArgument(6).handleConsumeOk(tag);
+            return tag;
+        });
+        doAnswer(invocation -> {
+            cancel(invocation.getArgument(0));
+            return null;
+        }).when(channel).basicCancel(anyString());
+        doAnswer(invocation -> {
+            channelTags.forEach(this::cancel);
+            return null;
+        }).when(channel).close();
+        return channel;
+    }
+
+    private void cancel(String tag) {
+        consumers.removeIf(consumer -> consumer.tag().equals(tag));
+    }
+
+    private record ActiveConsumer(String tag, int prefetch) {
+    }
+}
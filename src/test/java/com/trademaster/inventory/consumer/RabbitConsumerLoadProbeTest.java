@@ -0,0 +1,60 @@
+package com.trademaster.inventory.consumer;
+
+import com.trademaster.inventory.config.ConcurrencyLimitingDataSource;
+import com.trademaster.inventory.metrics.EventMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.AmqpAdmin;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RabbitConsumerLoadProbeTest {
+
+    @Mock
+    private AmqpAdmin amqpAdmin;
+
+    @Mock
+    private DataSource pool;
+
+    @Test
+    void shouldReportThePoolSaturated_whileCallersQueueOnTheConcurrencyLimit() throws Exception {
+        // Given
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConcurrencyLimitingDataSource limited = new ConcurrencyLimitingDataSource(pool, 1, 5000);
+        RabbitConsumerLoadProbe probe = new RabbitConsumerLoadProbe(amqpAdmin,
+                new EventMetrics(new SimpleMeterRegistry()), limited);
+        Connection held = limited.getConnection();
+        assertFalse(probe.sample().poolSaturated());
+
+        // When
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limited.getConnection();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        for (int i = 0; i < 500 && limited.queueLength() == 0; i++) {
+            Thread.sleep(10);
+        }
+
+        // Then
+        ConsumerLoadProbe.Sample sample = probe.sample();
+        assertEquals(1, sample.threadsAwaiting());
+        assertTrue(sample.poolSaturated());
+
+        held.close();
+        waiting.join().close();
+    }
+}
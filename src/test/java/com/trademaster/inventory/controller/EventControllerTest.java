@@ -2,19 +2,29 @@ package com.trademaster.inventory.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.trademaster.inventory.dto.EventRequest;
+import com.trademaster.inventory.enums.EventStatus;
 import com.trademaster.inventory.enums.EventType;
+import com.trademaster.inventory.service.BulkEventPublisher;
+import com.trademaster.inventory.sharding.SingleQueueRouter;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 
 @WebMvcTest(EventController.class)
+@Import({BulkEventPublisher.class, SingleQueueRouter.class})
 class EventControllerTest {
 
     @Autowired
@@ -32,6 +42,9 @@ class EventControllerTest {
     @MockBean
     private com.trademaster.inventory.repository.BatchJobRepository batchJobRepository;
 
+    @MockBean
+    private com.trademaster.inventory.metrics.EventCounters eventCounters;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Test
@@ -49,4 +62,61 @@ class EventControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("Event published successfully"));
     }
+
+    @Test
+    void shouldServeMetricsFromCounters_withoutQueryingTheDatabase() throws Exception {
+        // Given
+        when(eventCounters.totalEvents()).thenReturn(10L);
+        when(eventCounters.pendingEvents()).thenReturn(3L);
+        when(eventCounters.count(EventStatus.PROCESSED)).thenReturn(6L);
+
+        // When & Then
+        mockMvc.perform(get("/events/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalEvents").value(10))
+                .andExpect(jsonPath("$.pendingEvents").value(3))
+                .andExpect(jsonPath("$.processedEvents").value(6));
+        verify(eventRepository, never()).count();
+    }
+
+    @Test
+    void shouldRunDatabaseCounts_whenExactIsRequested() throws Exception {
+        // Given
+        when(eventRepository.count()).thenReturn(11L);
+
+        // When & Then
+        mockMvc.perform(get("/events/metrics").param("exact", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalEvents").value(11));
+    }
+
+    @Test
+    void shouldReturnPerItemResults_forNdjsonBulk() throws Exception {
+        // Given
+        String body = """
+                {"type":"ORDER_PLACED","sku":"SKU-1","quantity":1}
+                {"type":"ORDER_PLACED"}
+                {"type":"ORDER_CANCELLED","sku":"SKU-1","quantity":1}
+                """;
+
+        // When & Then
+        mockMvc.perform(post("/events/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.items[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.items[1].error").value("SKU is required"));
+    }
+
+    @Test
+    void shouldRejectBulkBody_whenItIsNotAnArray() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/events/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"ORDER_PLACED\",\"sku\":\"SKU-1\"}"))
+                .andExpect(status().isBadRequest());
+        verify(rabbitTemplate, never()).invoke(org.mockito.ArgumentMatchers.any());
+    }
 }
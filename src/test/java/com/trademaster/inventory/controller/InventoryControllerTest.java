@@ -0,0 +1,76 @@
+package com.trademaster.inventory.controller;
+
+import com.trademaster.inventory.config.CacheConfig;
+import com.trademaster.inventory.domain.InventoryItem;
+import com.trademaster.inventory.repository.InventoryItemRepository;
+import com.trademaster.inventory.service.InventoryQueryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(value = InventoryController.class, properties = "app.inventory.max-skus-per-request=3")
+@Import({InventoryQueryService.class, CacheConfig.class})
+class InventoryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Test
+    void shouldServeRepeatedReadsFromCache() throws Exception {
+        // Given
+        when(inventoryItemRepository.findBySkuIn(anyCollection()))
+                .thenReturn(List.of(InventoryItem.builder().sku("SKU-1").quantity(7).build()));
+
+        // When & Then
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/inventory/SKU-1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.sku").value("SKU-1"))
+                    .andExpect(jsonPath("$.quantity").value(7));
+        }
+        verify(inventoryItemRepository, times(1)).findBySkuIn(anyCollection());
+    }
+
+    @Test
+    void shouldReturnNotFound_forUnknownSku() throws Exception {
+        // Given
+        when(inventoryItemRepository.findBySkuIn(anyCollection())).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/inventory/UNKNOWN"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldReturnKnownSkusInRequestOrder_andRejectOversizedBatches() throws Exception {
+        // Given
+        when(inventoryItemRepository.findBySkuIn(anyCollection())).thenReturn(List.of(
+                InventoryItem.builder().sku("SKU-3").quantity(1).build(),
+                InventoryItem.builder().sku("SKU-4").quantity(2).build()));
+
+        // When & Then
+        mockMvc.perform(get("/inventory").param("skus", "SKU-4,UNKNOWN,SKU-3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].sku").value("SKU-4"))
+                .andExpect(jsonPath("$[1].quantity").value(1));
+        mockMvc.perform(get("/inventory").param("skus", "A,B,C,D"))
+                .andExpect(status().isBadRequest());
+    }
+}
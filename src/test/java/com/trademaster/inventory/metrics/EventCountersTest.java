@@ -0,0 +1,99 @@
+package com.trademaster.inventory.metrics;
+
+import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.repository.BatchJobRepository;
+import com.trademaster.inventory.repository.EventRepository;
+import com.trademaster.inventory.repository.InventoryItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventCountersTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Mock
+    private BatchJobRepository batchJobRepository;
+
+    private EventCounters eventCounters;
+
+    @BeforeEach
+    void setUp() {
+        eventCounters = new EventCounters(eventRepository, inventoryItemRepository, batchJobRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldTrackStatusTransitions() {
+        // Given
+        eventCounters.received(3);
+
+        // When
+        eventCounters.transitioned(EventStatus.RECEIVED, EventStatus.PROCESSED);
+        eventCounters.transitioned(EventStatus.RECEIVED, EventStatus.RETRY);
+        eventCounters.transitioned(EventStatus.RETRY, EventStatus.DLQ);
+
+        // Then
+        assertEquals(3, eventCounters.totalEvents());
+        assertEquals(1, eventCounters.pendingEvents());
+        assertEquals(1, eventCounters.count(EventStatus.PROCESSED));
+        assertEquals(1, eventCounters.count(EventStatus.DLQ));
+    }
+
+    @Test
+    void shouldApplyTransactionalChangesOnlyAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        eventCounters.received(2);
+        long beforeCommit = eventCounters.totalEvents();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Then
+        assertEquals(0, beforeCommit);
+        assertEquals(2, eventCounters.totalEvents());
+    }
+
+    @Test
+    void shouldResetCountsFromDatabase_whenReconciling() {
+        // Given
+        eventCounters.received(100);
+        when(eventRepository.countGroupByStatus()).thenReturn(List.of(
+                new Object[]{EventStatus.PROCESSED, 40L},
+                new Object[]{EventStatus.RETRY, 2L}));
+        when(inventoryItemRepository.count()).thenReturn(7L);
+        when(batchJobRepository.count()).thenReturn(5L);
+
+        // When
+        eventCounters.reconcile();
+
+        // Then
+        assertEquals(42, eventCounters.totalEvents());
+        assertEquals(2, eventCounters.pendingEvents());
+        assertEquals(0, eventCounters.count(EventStatus.RECEIVED));
+        assertEquals(7, eventCounters.inventoryItems());
+        assertEquals(5, eventCounters.batchJobs());
+    }
+}
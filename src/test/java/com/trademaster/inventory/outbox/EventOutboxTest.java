@@ -0,0 +1,114 @@
+package com.trademaster.inventory.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trademaster.inventory.config.RabbitMQConfig;
+import com.trademaster.inventory.dto.EventRequest;
+import com.trademaster.inventory.enums.EventType;
+import com.trademaster.inventory.metrics.EventMetrics;
+import com.trademaster.inventory.sharding.SingleQueueRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the outbox writer and relay against H2, with the broker mocked.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventOutboxTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final RabbitOperations channelOperations = mock(RabbitOperations.class);
+
+    private EventOutbox eventOutbox;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM event_outbox");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ObjectMapper objectMapper = new ObjectMapper();
+        eventOutbox = new EventOutbox(jdbcTemplate, transactionTemplate, objectMapper, 50, 5000);
+        eventOutbox.start();
+        outboxRelay = new OutboxRelay(jdbcTemplate, transactionTemplate, rabbitTemplate, objectMapper,
+                new SingleQueueRouter(), new EventMetrics(new SimpleMeterRegistry()), 50, 1000, 50, 20);
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(channelOperations));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        eventOutbox.stop();
+    }
+
+    @Test
+    void shouldStoreConcurrentAppends_andPublishAndDeleteThemInConfirmedBatches() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> appends = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            EventRequest request = EventRequest.builder().type(EventType.ORDER_PLACED).sku("SKU-" + i).build();
+            appends.add(executor.submit(() -> eventOutbox.append(request)));
+        }
+        for (Future<?> append : appends) {
+            append.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertEquals(120, outboxSize());
+
+        // When
+        outboxRelay.drain();
+
+        // Then
+        verify(channelOperations, times(120)).convertAndSend(eq(RabbitMQConfig.ORDERS_EVENTS_QUEUE), any(EventRequest.class));
+        verify(channelOperations, times(3)).waitForConfirmsOrDie(1000);
+        assertEquals(0, outboxSize());
+    }
+
+    @Test
+    void shouldKeepTheBatch_whenTheBrokerDoesNotConfirm() {
+        // Given
+        eventOutbox.append(EventRequest.builder().type(EventType.ORDER_CANCELLED).sku("SKU-1").build());
+        doThrow(new AmqpTimeoutException("No confirms")).when(channelOperations).waitForConfirmsOrDie(anyLong());
+
+        // When
+        outboxRelay.drain();
+
+        // Then
+        assertEquals(1, outboxSize());
+    }
+
+    private long outboxSize() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_outbox", Long.class);
+    }
+}
@@ -0,0 +1,220 @@
+package com.trademaster.inventory.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trademaster.inventory.config.RabbitMQConfig;
+import com.trademaster.inventory.dto.EventRequest;
+import com.trademaster.inventory.enums.EventType;
+import com.trademaster.inventory.metrics.EventMetrics;
+import com.trademaster.inventory.sharding.SingleQueueRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the relay against outbox rows in H2, with the broker mocked.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 10;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final RabbitOperations channelOperations = mock(RabbitOperations.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM event_outbox");
+        jdbcTemplate.update("DELETE FROM event_outbox_dead_letters");
+        outboxRelay = new OutboxRelay(jdbcTemplate, new TransactionTemplate(transactionManager), rabbitTemplate,
+                objectMapper, new SingleQueueRouter(), new EventMetrics(meterRegistry), BATCH_SIZE, 1000, 20, 2);
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(channelOperations));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        outboxRelay.stop();
+    }
+
+    @Test
+    void shouldPublishConfirmAndDeleteRows_inIdOrder() {
+        // Given
+        store(15);
+
+        // When
+        outboxRelay.drain();
+
+        // Then
+        InOrder inOrder = inOrder(channelOperations);
+        for (int i = 0; i < 15; i++) {
+            int quantity = i;
+            inOrder.verify(channelOperations).convertAndSend(eq(RabbitMQConfig.ORDERS_EVENTS_QUEUE),
+                    argThat((EventRequest event) -> event != null && event.getQuantity() == quantity));
+        }
+        verify(channelOperations, times(2)).waitForConfirmsOrDie(1000);
+        assertEquals(0, outboxSize());
+    }
+
+    @Test
+    void shouldKeepTheBatch_whenTheBrokerNacks() {
+        // Given
+        store(3);
+        doThrow(new AmqpIOException(new IOException("nacks received")))
+                .when(channelOperations).waitForConfirmsOrDie(anyLong());
+
+        // When
+        outboxRelay.drain();
+
+        // Then
+        assertEquals(3, outboxSize());
+    }
+
+    @Test
+    void shouldKeepTheBatch_whenPublishingFails() {
+        // Given
+        store(3);
+        doThrow(new AmqpConnectException(new IOException("connection refused")))
+                .when(channelOperations).convertAndSend(anyString(), any(Object.class));
+
+        // When
+        outboxRelay.drain();
+
+        // Then
+        verify(channelOperations, never()).waitForConfirmsOrDie(anyLong());
+        assertEquals(3, outboxSize());
+    }
+
+    @Test
+    void shouldStopAfterTheBatchCap_andLeaveTheRestForTheNextRun() {
+        // Given
+        store(5 * BATCH_SIZE);
+
+        // When
+        outboxRelay.drain();
+
+        // Then
+        assertEquals(3 * BATCH_SIZE, outboxSize());
+        verify(channelOperations, times(2)).waitForConfirmsOrDie(1000);
+    }
+
+    @Test
+    void shouldMoveAnUnreadableRowAside_andPublishTheRowsBehindIt() {
+        // Given
+        store(2);
+        // Written by a version that knew an event type this one does not
+        jdbcTemplate.update("INSERT INTO event_outbox (payload, created_at) VALUES (?, ?)",
+                "{\"type\":\"ORDER_SHIPPED\",\"sku\":\"SKU-1\",\"quantity\":1}", LocalDateTime.now());
+        long unreadableId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM event_outbox", Long.class);
+        store(2);
+
+        // When
+        outboxRelay.drain();
+
+        // Then
+        verify(channelOperations, times(4)).convertAndSend(eq(RabbitMQConfig.ORDERS_EVENTS_QUEUE), any(Object.class));
+        assertEquals(0, outboxSize());
+        assertEquals(List.of(unreadableId),
+                jdbcTemplate.queryForList("SELECT id FROM event_outbox_dead_letters", Long.class));
+        assertEquals(1.0, meterRegistry.get("inventory.outbox.dead_lettered").counter().count());
+    }
+
+    @Test
+    void shouldLeaveTheOutbox_whileAnotherInstanceIsRelaying() throws Exception {
+        // Given
+        outboxRelay.drain();
+        store(3);
+        TransactionTemplate otherInstance = new TransactionTemplate(transactionManager);
+
+        // When
+        int published = otherInstance.execute(status -> {
+            jdbcTemplate.queryForList("SELECT id FROM outbox_relay_lock WHERE id = 1 FOR UPDATE", Integer.class);
+            return CompletableFuture.supplyAsync(outboxRelay::publishBatch).join();
+        });
+
+        // Then
+        assertEquals(0, published);
+        verify(channelOperations, never()).convertAndSend(anyString(), any(Object.class));
+        assertEquals(3, outboxSize());
+    }
+
+    @Test
+    void shouldDrainOnItsOwnThread() throws Exception {
+        // Given
+        store(5 * BATCH_SIZE);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return null;
+        }).when(channelOperations).waitForConfirmsOrDie(anyLong());
+
+        // When
+        outboxRelay.start();
+
+        // Then
+        for (int i = 0; i < 500 && outboxSize() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, outboxSize());
+        assertEquals(Set.of("outbox-relay"), threads);
+    }
+
+    private void store(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = IntStream.range(0, count)
+                .mapToObj(i -> EventRequest.builder().type(EventType.ORDER_PLACED).sku("SKU-" + i).quantity(i).build())
+                .map(event -> new Object[]{write(event), now})
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO event_outbox (payload, created_at) VALUES (?, ?)", rows);
+    }
+
+    private String write(EventRequest event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long outboxSize() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_outbox", Long.class);
+    }
+}
@@ -0,0 +1,212 @@
+package com.trademaster.inventory.rebuild;
+
+import com.trademaster.inventory.cache.InventoryReadCache;
+import com.trademaster.inventory.domain.Event;
+import com.trademaster.inventory.domain.InventoryItem;
+import com.trademaster.inventory.domain.InventorySnapshot;
+import com.trademaster.inventory.dto.RebuildReport;
+import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.enums.EventType;
+import com.trademaster.inventory.repository.EventRepository;
+import com.trademaster.inventory.repository.InventoryItemRepository;
+import com.trademaster.inventory.repository.InventorySnapshotRepository;
+import com.trademaster.inventory.service.EventStrategyFactory;
+import com.trademaster.inventory.service.InventoryAdjustedStrategy;
+import com.trademaster.inventory.service.InventoryLedger;
+import com.trademaster.inventory.service.InventoryStore;
+import com.trademaster.inventory.service.OrderCancelledStrategy;
+import com.trademaster.inventory.service.OrderPlacedStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Snapshots and rebuilds in H2 with real transactions. Events are stored as the service
+ * would leave them: inventory_items already reflects every PROCESSED one.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryRebuildServiceTest {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Autowired
+    private InventorySnapshotRepository snapshotRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectProvider<InventoryLedger> inventoryLedger;
+
+    private InventorySnapshotService snapshotService;
+    private InventoryRebuildService rebuildService;
+    private long sequence;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM events_archive");
+        jdbcTemplate.update("DELETE FROM inventory_snapshot_items");
+        snapshotRepository.deleteAllInBatch();
+        eventRepository.deleteAllInBatch();
+        inventoryItemRepository.deleteAllInBatch();
+
+        InventoryStore store = mock(InventoryStore.class);
+        EventStrategyFactory strategies = new EventStrategyFactory(List.of(new OrderPlacedStrategy(store),
+                new OrderCancelledStrategy(store), new InventoryAdjustedStrategy(store)));
+        // Tiny chunks and partitions, so a few events already go through several fork-join rounds
+        EventLog eventLog = new EventLog(dataSource, strategies, 2, 4, 2, 100);
+        snapshotService = new InventorySnapshotService(snapshotRepository, eventLog, jdbcTemplate,
+                inventoryLedger, transactionManager, false, 3);
+        rebuildService = new InventoryRebuildService(snapshotService, eventLog, jdbcTemplate,
+                new InventoryReadCache(100, Duration.ofMinutes(1)), inventoryLedger, transactionManager);
+    }
+
+    @Test
+    void shouldRebuildQuantitiesFromSnapshotAndLaterEvents_afterTheyWereOverwritten() {
+        // Given
+        item("SKU-A", 100);
+        item("SKU-B", 50);
+        applied(EventType.ORDER_PLACED, "SKU-A", 5, null);
+        Event pending = event(EventType.ORDER_PLACED, "SKU-B", 10, null, EventStatus.RETRY);
+        InventorySnapshot snapshot = snapshotService.checkpoint();
+
+        Event cancelled = applied(EventType.ORDER_CANCELLED, "SKU-A", 3, null);
+        applied(EventType.INVENTORY_ADJUSTED, "SKU-B", null, 7);
+        finish(pending, "SKU-B", -10);
+        event(EventType.INVENTORY_ADJUSTED, "SKU-C", null, 1, EventStatus.PROCESSED);
+        archive(cancelled);
+        jdbcTemplate.update("UPDATE inventory_items SET quantity = 0");
+
+        // When
+        RebuildReport report = rebuildService.rebuild();
+
+        // Then
+        assertEquals(snapshot.getProcessedSeq(), report.getFromProcessedSeq());
+        assertEquals(Map.of("SKU-A", 95L, "SKU-B", 50L), snapshotService.quantities(snapshot));
+        assertEquals(98, quantity("SKU-A"));
+        assertEquals(47, quantity("SKU-B"));
+        assertEquals(4, report.getEventsReplayed());
+        assertEquals(2, report.getSkusChanged());
+        assertEquals(List.of("SKU-C"), report.getSkusSkipped());
+    }
+
+    @Test
+    void shouldAdvanceCheckpointFromEventsOnly_addingNewSkusFromInventory() {
+        // Given
+        item("SKU-A", 100);
+        applied(EventType.ORDER_PLACED, "SKU-A", 5, null);
+        InventorySnapshot first = snapshotService.checkpoint();
+        applied(EventType.ORDER_PLACED, "SKU-A", 2, null);
+        item("SKU-B", 20);
+        applied(EventType.INVENTORY_ADJUSTED, "SKU-B", null, -4);
+        // A data fix after the events must not leak into the next checkpoint
+        jdbcTemplate.update("UPDATE inventory_items SET quantity = 1000 WHERE sku = 'SKU-A'");
+
+        // When
+        InventorySnapshot second = snapshotService.checkpoint();
+
+        // Then
+        assertEquals(Map.of("SKU-A", 95L), snapshotService.quantities(first));
+        assertEquals(Map.of("SKU-A", 93L, "SKU-B", 16L), snapshotService.quantities(second));
+        assertEquals(first.getProcessedSeq() + 1, second.getProcessedSeq());
+        assertEquals(second.getId(), snapshotService.checkpoint().getId());
+    }
+
+    @Test
+    void shouldFoldAnEventWithALowerId_thatCommitsAfterAHigherOne() {
+        // Given
+        item("SKU-A", 100);
+        // Another instance holds this id from its pooled block and commits the event later
+        Event reserved = event(EventType.ORDER_PLACED, "SKU-A", 2, null, EventStatus.RECEIVED);
+        eventRepository.deleteById(reserved.getId());
+        Event higher = applied(EventType.ORDER_PLACED, "SKU-A", 5, null);
+        InventorySnapshot first = snapshotService.checkpoint();
+
+        // When
+        placedWithId(reserved.getId(), "SKU-A", 2);
+        jdbcTemplate.update("UPDATE inventory_items SET quantity = 0");
+        RebuildReport report = rebuildService.rebuild();
+        InventorySnapshot second = snapshotService.checkpoint();
+
+        // Then
+        assertTrue(reserved.getId() < higher.getId());
+        assertEquals(Map.of("SKU-A", 95L), snapshotService.quantities(first));
+        assertEquals(93, quantity("SKU-A"));
+        assertEquals(1, report.getEventsReplayed());
+        assertEquals(Map.of("SKU-A", 93L), snapshotService.quantities(second));
+    }
+
+    private void item(String sku, int quantity) {
+        inventoryItemRepository.save(InventoryItem.builder().sku(sku).quantity(quantity).build());
+    }
+
+    private Event applied(EventType type, String sku, Integer quantity, Integer delta) {
+        Event event = event(type, sku, quantity, delta, EventStatus.PROCESSED);
+        int change = type == EventType.ORDER_PLACED ? -quantity : type == EventType.ORDER_CANCELLED ? quantity : delta;
+        jdbcTemplate.update("UPDATE inventory_items SET quantity = quantity + ? WHERE sku = ?", change, sku);
+        return event;
+    }
+
+    private void placedWithId(long id, String sku, int quantity) {
+        jdbcTemplate.update("INSERT INTO events (id, type, sku, quantity, status, attempts, hash, next_attempt_at, created_at) "
+                + "VALUES (?, 'ORDER_PLACED', ?, ?, 'PROCESSED', 0, ?, LOCALTIMESTAMP, LOCALTIMESTAMP)",
+                id, sku, quantity, "rebuild-" + ++sequence);
+        jdbcTemplate.update("UPDATE inventory_items SET quantity = quantity - ? WHERE sku = ?", quantity, sku);
+    }
+
+    private void finish(Event event, String sku, int change) {
+        jdbcTemplate.update("UPDATE events SET status = 'PROCESSED' WHERE id = ?", event.getId());
+        jdbcTemplate.update("UPDATE inventory_items SET quantity = quantity + ? WHERE sku = ?", change, sku);
+    }
+
+    private Event event(EventType type, String sku, Integer quantity, Integer delta, EventStatus status) {
+        return eventRepository.save(Event.builder()
+                .type(type)
+                .sku(sku)
+                .quantity(quantity)
+                .delta(delta)
+                .status(status)
+                .attempts(0)
+                .hash("rebuild-" + ++sequence)
+                .build());
+    }
+
+    private void archive(Event event) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventRepository.copyToArchive(List.of(event.getId()), LocalDateTime.now());
+            eventRepository.deleteByIdIn(List.of(event.getId()));
+        });
+    }
+
+    private int quantity(String sku) {
+        return inventoryItemRepository.findBySku(sku).orElseThrow().getQuantity();
+    }
+}
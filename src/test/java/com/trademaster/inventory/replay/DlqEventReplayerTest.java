@@ -0,0 +1,78 @@
+package com.trademaster.inventory.replay;
+
+import com.trademaster.inventory.domain.Event;
+import com.trademaster.inventory.dto.ReplayRequest;
+import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.enums.EventType;
+import com.trademaster.inventory.enums.ReplaySource;
+import com.trademaster.inventory.metrics.EventCounters;
+import com.trademaster.inventory.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Requeues DLQ rows in H2 with real transactions.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DlqEventReplayerTest {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private EventCounters eventCounters;
+
+    @Test
+    void shouldRequeueMatchingDlqEventsInBatches_keepingTheirRows() {
+        // Given
+        eventRepository.deleteAllInBatch();
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            events.add(Event.builder()
+                    .type(i % 2 == 0 ? EventType.ORDER_PLACED : EventType.ORDER_CANCELLED)
+                    .sku("SKU-1")
+                    .status(i < 8 ? EventStatus.DLQ : EventStatus.PROCESSED)
+                    .attempts(4)
+                    .hash("dlq-" + i)
+                    .build());
+        }
+        eventRepository.saveAll(events);
+        DlqEventReplayer replayer = new DlqEventReplayer(eventRepository,
+                new TransactionTemplate(transactionManager), eventCounters);
+        ReplayJob job = new ReplayJob("job-1", ReplayRequest.builder()
+                .source(ReplaySource.DATABASE).sku("SKU-1").type(EventType.ORDER_PLACED).build());
+
+        // When
+        long afterId = 0;
+        int batches = 0;
+        while ((afterId = replayer.replayBatch(job, afterId, 3)) >= 0) {
+            batches++;
+        }
+
+        // Then
+        assertEquals(2, batches);
+        assertEquals(4, job.replayed());
+        List<Event> retried = eventRepository.findByStatusOrderByIdAsc(EventStatus.RETRY);
+        assertEquals(4, retried.size());
+        assertTrue(retried.stream().allMatch(event ->
+                event.getType() == EventType.ORDER_PLACED && event.getAttempts() == 0 && event.getHash().startsWith("dlq-")));
+        assertEquals(4, eventRepository.countByStatus(EventStatus.DLQ));
+        assertEquals(10, eventRepository.count());
+    }
+}
@@ -0,0 +1,190 @@
+package com.trademaster.inventory.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import com.trademaster.inventory.config.RabbitMQConfig;
+import com.trademaster.inventory.dto.ReplayRequest;
+import com.trademaster.inventory.enums.EventType;
+import com.trademaster.inventory.enums.ReplaySource;
+import com.trademaster.inventory.sharding.ShardedEventRouter;
+import com.trademaster.inventory.sharding.SingleQueueRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DlqQueueReplayerTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private Channel channel;
+
+    private DlqQueueReplayer dlqQueueReplayer;
+
+    @BeforeEach
+    void setUp() {
+        dlqQueueReplayer = new DlqQueueReplayer(rabbitTemplate, new ObjectMapper(), new SingleQueueRouter(), 1000);
+    }
+
+    @Test
+    void shouldRepublishMatchingMessagesUnchanged_andReturnTheRestToTheDlq() throws Exception {
+        // Given
+        GetResponse placed = response(1, "{\"type\":\"ORDER_PLACED\",\"sku\":\"SKU-1\"}");
+        GetResponse otherSku = response(2, "{\"type\":\"ORDER_PLACED\",\"sku\":\"SKU-2\"}");
+        GetResponse broken = response(3, "not-json");
+        givenChannel();
+        when(channel.basicGet(RabbitMQConfig.ORDERS_EVENTS_DLQ, false)).thenReturn(placed, otherSku, broken, null);
+        ReplayJob job = job(ReplayRequest.builder().source(ReplaySource.QUEUE).sku("SKU-1").build());
+
+        // When
+        int taken = dlqQueueReplayer.replayBatch(job, left(RabbitMQConfig.ORDERS_EVENTS_DLQ, 3), 10);
+
+        // Then
+        assertEquals(3, taken);
+        verify(channel).basicPublish("", RabbitMQConfig.ORDERS_EVENTS_QUEUE, placed.getProps(), placed.getBody());
+        verify(channel).basicPublish("", RabbitMQConfig.ORDERS_EVENTS_DLQ, otherSku.getProps(), otherSku.getBody());
+        verify(channel).basicPublish("", RabbitMQConfig.ORDERS_EVENTS_DLQ, broken.getProps(), broken.getBody());
+        verify(channel).waitForConfirmsOrDie(1000);
+        verify(channel).basicAck(3, true);
+        assertEquals(1, job.status().getReplayed());
+        assertEquals(2, job.status().getSkipped());
+    }
+
+    @Test
+    void shouldRequeueTheBatch_whenConfirmsFail() throws Exception {
+        // Given
+        givenChannel();
+        when(channel.basicGet(RabbitMQConfig.ORDERS_EVENTS_DLQ, false))
+                .thenReturn(response(7, "{\"type\":\"ORDER_PLACED\",\"sku\":\"SKU-1\"}"));
+        doThrow(new IOException("Broker nacked")).when(channel).waitForConfirmsOrDie(anyLong());
+        ReplayJob job = job(ReplayRequest.builder().source(ReplaySource.QUEUE).build());
+
+        // When & Then
+        assertThrows(Exception.class, () -> dlqQueueReplayer.replayBatch(job,
+                left(RabbitMQConfig.ORDERS_EVENTS_DLQ, 1), 1));
+        verify(channel).basicNack(7, true, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        assertEquals(0, job.status().getReplayed());
+    }
+
+    @Test
+    void shouldReadEveryDlqOnce_whenSkippedMessagesGoBackToTheirTail() throws Exception {
+        // Given
+        ShardedEventRouter router = new ShardedEventRouter(2, 128);
+        dlqQueueReplayer = new DlqQueueReplayer(rabbitTemplate, new ObjectMapper(), router, 1000);
+        String first = router.deadLetterQueues().get(0);
+        String second = router.deadLetterQueues().get(1);
+        Map<String, Deque<GetResponse>> queues = new HashMap<>();
+        AtomicLong tags = new AtomicLong();
+        List<String> replayedTo = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            queues.computeIfAbsent(first, queue -> new ArrayDeque<>())
+                    .add(response(tags.incrementAndGet(), "{\"type\":\"ORDER_PLACED\",\"sku\":\"SKU-OTHER\"}"));
+        }
+        for (int i = 0; i < 100; i++) {
+            queues.computeIfAbsent(second, queue -> new ArrayDeque<>())
+                    .add(response(tags.incrementAndGet(), "{\"type\":\"ORDER_PLACED\",\"sku\":\"SKU-1\"}"));
+        }
+        givenChannel();
+        when(channel.messageCount(anyString())).thenAnswer(invocation ->
+                (long) queues.getOrDefault(invocation.<String>getArgument(0), new ArrayDeque<>()).size());
+        when(channel.basicGet(anyString(), eq(false))).thenAnswer(invocation ->
+                queues.getOrDefault(invocation.<String>getArgument(0), new ArrayDeque<>()).poll());
+        // Like the broker, a message published to a DLQ lands on its tail as a new delivery
+        doAnswer(invocation -> {
+            String queue = invocation.getArgument(1);
+            if (queues.containsKey(queue)) {
+                queues.get(queue).add(new GetResponse(new Envelope(tags.incrementAndGet(), false, "", queue),
+                        invocation.getArgument(2), invocation.getArgument(3), 0));
+            } else {
+                replayedTo.add(queue);
+            }
+            return null;
+        }).when(channel).basicPublish(eq(""), anyString(), any(AMQP.BasicProperties.class), any(byte[].class));
+        ReplayJob job = job(ReplayRequest.builder().source(ReplaySource.QUEUE).sku("SKU-1").build());
+
+        // When
+        Map<String, Long> left = dlqQueueReplayer.depths();
+        while (!left.isEmpty()) {
+            dlqQueueReplayer.replayBatch(job, left, 10);
+        }
+
+        // Then
+        assertEquals(100, replayedTo.size());
+        assertTrue(replayedTo.stream().allMatch(router.queueFor("SKU-1")::equals));
+        assertEquals(102, job.status().getScanned());
+        assertEquals(100, job.status().getReplayed());
+        assertEquals(2, job.status().getSkipped());
+        assertEquals(2, queues.get(first).size());
+        assertTrue(queues.get(second).isEmpty());
+    }
+
+    @Test
+    void shouldFilterOnTheTimeTheMessageWasDeadLettered() {
+        // Given
+        LocalDateTime deadLetteredAt = LocalDateTime.of(2026, 3, 1, 12, 0);
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+                .headers(Map.of("x-death", List.of(Map.of(
+                        "time", Date.from(deadLetteredAt.atZone(ZoneId.systemDefault()).toInstant())))))
+                .build();
+        ReplayFilter filter = new ReplayFilter(null, EventType.ORDER_PLACED,
+                deadLetteredAt.minusHours(1), deadLetteredAt.plusHours(1));
+
+        // When
+        LocalDateTime at = DlqQueueReplayer.deadLetteredAt(properties);
+
+        // Then
+        assertEquals(deadLetteredAt, at);
+        assertTrue(filter.matches("SKU-1", EventType.ORDER_PLACED, at));
+        assertFalse(filter.matches("SKU-1", EventType.ORDER_PLACED, null));
+    }
+
+    private void givenChannel() {
+        when(rabbitTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<ChannelCallback<?>>getArgument(0).doInRabbit(channel));
+    }
+
+    private static Map<String, Long> left(String queue, long count) {
+        return new LinkedHashMap<>(Map.of(queue, count));
+    }
+
+    private static ReplayJob job(ReplayRequest request) {
+        return new ReplayJob("job-1", request);
+    }
+
+    private static GetResponse response(long deliveryTag, String body) {
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder().contentType("application/json").build();
+        return new GetResponse(new Envelope(deliveryTag, false, "", RabbitMQConfig.ORDERS_EVENTS_DLQ),
+                properties, body.getBytes(StandardCharsets.UTF_8), 0);
+    }
+}
@@ -0,0 +1,64 @@
+package com.trademaster.inventory.repository;
+
+import com.trademaster.inventory.domain.Event;
+import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.enums.EventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=4"})
+class BulkSaveRepositoryTest {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Test
+    void shouldInsertAllEventsWithSequenceIds_acrossSeveralBatches() {
+        // Given
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            events.add(event("bulk-" + i));
+        }
+
+        // When
+        List<Event> stored = eventRepository.persistAll(events);
+
+        // Then
+        assertEquals(10, stored.size());
+        assertEquals(10, new HashSet<>(stored.stream().map(Event::getId).filter(Objects::nonNull).toList()).size());
+        assertEquals(10, eventRepository.findExistingHashes(events.stream().map(Event::getHash).toList()).size());
+    }
+
+    @Test
+    void shouldThrowFromPersistAll_whenAHashIsAlreadyStored() {
+        // Given
+        eventRepository.persistAll(List.of(event("bulk-duplicate")));
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class,
+                () -> eventRepository.persistAll(List.of(event("bulk-other"), event("bulk-duplicate"))));
+    }
+
+    private Event event(String hash) {
+        return Event.builder()
+                .type(EventType.ORDER_PLACED)
+                .sku("SKU-1")
+                .quantity(1)
+                .status(EventStatus.RECEIVED)
+                .attempts(0)
+                .hash(hash)
+                .build();
+    }
+}
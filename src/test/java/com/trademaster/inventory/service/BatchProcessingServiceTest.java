@@ -0,0 +1,160 @@
+package com.trademaster.inventory.service;
+
+import com.trademaster.inventory.domain.BatchJob;
+import com.trademaster.inventory.domain.BatchJobShard;
+import com.trademaster.inventory.domain.Event;
+import com.trademaster.inventory.enums.EventType;
+import com.trademaster.inventory.metrics.EventCounters;
+import com.trademaster.inventory.metrics.EventMetrics;
+import com.trademaster.inventory.repository.BatchJobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchProcessingServiceTest {
+
+    @Mock
+    private PendingEventClaimer pendingEventClaimer;
+
+    @Mock
+    private BatchJobRepository batchJobRepository;
+
+    @Mock
+    private EventProcessingService eventProcessingService;
+
+    @Mock
+    private EventCounters eventCounters;
+
+    private SkuShardExecutor skuShardExecutor;
+
+    private BatchProcessingService batchProcessingService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        skuShardExecutor = new SkuShardExecutor(2, false);
+        batchProcessingService = new BatchProcessingService(pendingEventClaimer, batchJobRepository,
+                eventProcessingService, skuShardExecutor, new EventMetrics(new SimpleMeterRegistry()),
+                eventCounters);
+
+        Field chunkSizeField = BatchProcessingService.class.getDeclaredField("chunkSize");
+        chunkSizeField.setAccessible(true);
+        chunkSizeField.set(batchProcessingService, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        skuShardExecutor.shutdown();
+    }
+
+    @Test
+    void shouldKeepPerSkuOrder_andRecordShardResults() {
+        // Given
+        String skuA = skuInShard(0);
+        String skuB = skuInShard(1);
+        Event a1 = event(1L, skuA);
+        Event b1 = event(2L, skuB);
+        Event a2 = event(3L, skuA);
+        Event b2 = event(4L, skuB);
+        Event a3 = event(5L, skuA);
+
+        when(pendingEventClaimer.claim(10)).thenReturn(List.of(a1, b1, a2, b2, a3));
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0) == b2) {
+                throw new RuntimeException("Database unavailable");
+            }
+            return null;
+        }).when(eventProcessingService).processEvent(any(Event.class));
+
+        // When
+        batchProcessingService.processPendingEvents();
+
+        // Then
+        InOrder skuAOrder = inOrder(eventProcessingService);
+        skuAOrder.verify(eventProcessingService).processEvent(a1);
+        skuAOrder.verify(eventProcessingService).processEvent(a2);
+        skuAOrder.verify(eventProcessingService).processEvent(a3);
+        InOrder skuBOrder = inOrder(eventProcessingService);
+        skuBOrder.verify(eventProcessingService).processEvent(b1);
+        skuBOrder.verify(eventProcessingService).processEvent(b2);
+
+        ArgumentCaptor<BatchJob> captor = ArgumentCaptor.forClass(BatchJob.class);
+        verify(batchJobRepository, times(2)).save(captor.capture());
+        BatchJob batchJob = captor.getValue();
+        assertEquals(4, batchJob.getTotalProcessed());
+        assertEquals(1, batchJob.getTotalFailed());
+        assertNotNull(batchJob.getWallTimeMs());
+
+        List<BatchJobShard> shards = batchJob.getShards();
+        assertEquals(2, shards.size());
+        assertEquals(3, shards.get(0).getTotalEvents());
+        assertEquals(3, shards.get(0).getTotalProcessed());
+        assertEquals(2, shards.get(1).getTotalEvents());
+        assertEquals(1, shards.get(1).getTotalFailed());
+    }
+
+    @Test
+    void shouldCoalescePerSku_andFallBackToSingleEvents_whenGroupFails() throws Exception {
+        // Given
+        Field coalescingField = BatchProcessingService.class.getDeclaredField("coalescing");
+        coalescingField.setAccessible(true);
+        coalescingField.set(batchProcessingService, true);
+
+        String sku = skuInShard(0);
+        String failingSku = skuInShard(1);
+        Event a1 = event(1L, sku);
+        Event b1 = event(2L, failingSku);
+        Event a2 = event(3L, sku);
+        Event b2 = event(4L, failingSku);
+
+        when(pendingEventClaimer.claim(10)).thenReturn(List.of(a1, b1, a2, b2));
+        doAnswer(invocation -> {
+            if (failingSku.equals(invocation.getArgument(0))) {
+                throw new RuntimeException("Deadlock detected");
+            }
+            return null;
+        }).when(eventProcessingService).processCoalesced(any(), any());
+
+        // When
+        batchProcessingService.processPendingEvents();
+
+        // Then
+        verify(eventProcessingService).processCoalesced(sku, List.of(a1, a2));
+        verify(eventProcessingService, never()).processEvent(a1);
+        InOrder fallback = inOrder(eventProcessingService);
+        fallback.verify(eventProcessingService).processEvent(b1);
+        fallback.verify(eventProcessingService).processEvent(b2);
+
+        ArgumentCaptor<BatchJob> captor = ArgumentCaptor.forClass(BatchJob.class);
+        verify(batchJobRepository, times(2)).save(captor.capture());
+        assertEquals(4, captor.getValue().getTotalProcessed());
+        assertEquals(0, captor.getValue().getTotalFailed());
+    }
+
+    private String skuInShard(int shard) {
+        for (int i = 0; ; i++) {
+            String sku = "SKU-" + i;
+            if (skuShardExecutor.shardOf(sku) == shard) {
+                return sku;
+            }
+        }
+    }
+
+    private Event event(Long id, String sku) {
+        return Event.builder().id(id).type(EventType.ORDER_PLACED).sku(sku).attempts(0).build();
+    }
+}
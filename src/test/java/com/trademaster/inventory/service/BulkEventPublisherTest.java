@@ -0,0 +1,114 @@
+package com.trademaster.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trademaster.inventory.dto.BulkItemResult;
+import com.trademaster.inventory.dto.BulkPublishResponse;
+import com.trademaster.inventory.dto.EventRequest;
+import com.trademaster.inventory.sharding.SingleQueueRouter;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkEventPublisherTest {
+
+    private static final String PLACED = "{\"type\":\"ORDER_PLACED\",\"sku\":\"SKU-1\",\"quantity\":1}";
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private RabbitOperations channelOperations;
+
+    private BulkEventPublisher publisher(int batchSize) {
+        lenient().when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(channelOperations));
+        return new BulkEventPublisher(rabbitTemplate, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), new SingleQueueRouter(), batchSize, 1000);
+    }
+
+    @Test
+    void shouldPublishValidElements_andRejectInvalidOnes() throws Exception {
+        // Given
+        String body = "[" + PLACED + ",{\"type\":\"ORDER_PLACED\",\"sku\":\"\"}," + PLACED + "]";
+
+        // When
+        BulkPublishResponse response = publisher(500).publishJsonArray(stream(body));
+
+        // Then
+        assertEquals(2, response.getAccepted());
+        assertEquals(1, response.getRejected());
+        assertEquals(BulkItemResult.Status.REJECTED, response.getItems().get(1).getStatus());
+        verify(channelOperations, times(2)).convertAndSend(eq("orders.events"), any(EventRequest.class));
+        verify(channelOperations, times(1)).waitForConfirmsOrDie(1000);
+    }
+
+    @Test
+    void shouldPublishInBatches_andRejectMalformedLines() throws Exception {
+        // Given
+        String body = PLACED + "\n{not json\n" + PLACED + "\n\n" + PLACED + "\n"
+                + "{\"type\":\"UNKNOWN\",\"sku\":\"SKU-1\"}\n" + PLACED + "\n";
+
+        // When
+        BulkPublishResponse response = publisher(2).publishNdjson(stream(body));
+
+        // Then
+        assertEquals(4, response.getAccepted());
+        assertEquals(2, response.getRejected());
+        assertEquals(6, response.getItems().size());
+        assertEquals(BulkItemResult.Status.REJECTED, response.getItems().get(1).getStatus());
+        assertEquals(BulkItemResult.Status.REJECTED, response.getItems().get(4).getStatus());
+        verify(rabbitTemplate, times(2)).invoke(any());
+        verify(channelOperations, times(2)).waitForConfirmsOrDie(anyLong());
+    }
+
+    @Test
+    void shouldRejectBatch_whenBrokerDoesNotConfirmIt() throws Exception {
+        // Given
+        BulkEventPublisher publisher = publisher(2);
+        doNothing().doThrow(new AmqpTimeoutException("Timed out waiting for confirms"))
+                .when(channelOperations).waitForConfirmsOrDie(anyLong());
+
+        // When
+        BulkPublishResponse response = publisher.publishNdjson(stream(PLACED + "\n" + PLACED + "\n" + PLACED + "\n"));
+
+        // Then
+        assertEquals(2, response.getAccepted());
+        assertEquals(1, response.getRejected());
+        assertEquals(BulkItemResult.Status.REJECTED, response.getItems().get(2).getStatus());
+    }
+
+    @Test
+    void shouldKeepEarlierElements_whenArrayIsTruncated() throws Exception {
+        // Given
+        String body = "[" + PLACED + "," + PLACED + ",{\"type\":";
+
+        // When
+        BulkPublishResponse response = publisher(500).publishJsonArray(stream(body));
+
+        // Then
+        assertEquals(2, response.getAccepted());
+        assertEquals(1, response.getRejected());
+        assertEquals(2, response.getItems().get(2).getIndex());
+        verify(channelOperations, times(2)).convertAndSend(eq("orders.events"), any(EventRequest.class));
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
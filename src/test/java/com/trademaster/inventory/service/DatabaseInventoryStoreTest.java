@@ -0,0 +1,58 @@
+package com.trademaster.inventory.service;
+
+import com.trademaster.inventory.config.CacheConfig;
+import com.trademaster.inventory.domain.InventoryItem;
+import com.trademaster.inventory.repository.InventoryItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the coalesced write against H2, so the row lock and the conditional UPDATE are real.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({DatabaseInventoryStore.class, CacheConfig.class})
+class DatabaseInventoryStoreTest {
+
+    @Autowired
+    private DatabaseInventoryStore inventoryStore;
+
+    @Autowired
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Test
+    void shouldApplyChangesInOrder_refusingDecrementsThatDoNotFit() {
+        // Given
+        inventoryItemRepository.save(InventoryItem.builder().sku("SKU-1").quantity(5).build());
+        List<InventoryChange> changes = List.of(
+                InventoryChange.decrement(3),
+                InventoryChange.decrement(3),
+                InventoryChange.adjust(2),
+                InventoryChange.decrement(4),
+                InventoryChange.adjust(-1));
+
+        // When
+        boolean[] applied = inventoryStore.applyAll("SKU-1", changes);
+
+        // Then
+        assertArrayEquals(new boolean[]{true, false, true, true, true}, applied);
+        assertEquals(-1, inventoryItemRepository.lockQuantityBySku("SKU-1").orElseThrow());
+    }
+
+    @Test
+    void shouldRefuseDecrements_andIgnoreAdjustments_forUnknownSku() {
+        // When
+        boolean[] applied = inventoryStore.applyAll("UNKNOWN",
+                List.of(InventoryChange.decrement(1), InventoryChange.adjust(5)));
+
+        // Then
+        assertArrayEquals(new boolean[]{false, true}, applied);
+        assertEquals(0, inventoryItemRepository.count());
+    }
+}
@@ -1,18 +1,30 @@
 package com.trademaster.inventory.service;
 
+import com.trademaster.inventory.cache.InventoryReadCache;
 import com.trademaster.inventory.domain.Event;
 import com.trademaster.inventory.dto.EventRequest;
 import com.trademaster.inventory.enums.EventStatus;
 import com.trademaster.inventory.enums.EventType;
+import com.trademaster.inventory.metrics.EventCounters;
+import com.trademaster.inventory.metrics.EventMetrics;
 import com.trademaster.inventory.repository.EventRepository;
+import com.trademaster.inventory.repository.InventoryItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Field;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -29,11 +41,24 @@ class EventProcessingServiceTest {
     @Mock
     private OrderPlacedStrategy orderPlacedStrategy;
 
+    @Mock
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Mock
+    private EventCounters eventCounters;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private EventProcessingService eventProcessingService;
 
     @BeforeEach
     void setUp() throws Exception {
-        eventProcessingService = new EventProcessingService(eventStrategyFactory, eventRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        EventMetrics eventMetrics = new EventMetrics(meterRegistry);
+        eventProcessingService = new EventProcessingService(eventStrategyFactory, eventRepository,
+                new DatabaseInventoryStore(inventoryItemRepository,
+                        new InventoryReadCache(100, Duration.ofMinutes(1))), eventMetrics, eventCounters,
+                new SkuLanes(4, eventMetrics), new RetryBackoff(1000, 60_000));
         
         // Set maxRetries field using reflection since @Value doesn't work in unit tests
         Field maxRetriesField = EventProcessingService.class.getDeclaredField("maxRetries");
@@ -51,6 +76,7 @@ class EventProcessingServiceTest {
                 .attempts(0)
                 .build();
 
+        when(eventRepository.findStatusById(1L)).thenReturn(Optional.of(EventStatus.RECEIVED));
         when(eventStrategyFactory.get(EventType.ORDER_PLACED)).thenReturn(orderPlacedStrategy);
         doNothing().when(orderPlacedStrategy).execute(any(EventRequest.class));
 
@@ -59,6 +85,55 @@ class EventProcessingServiceTest {
 
         // Then
         verify(eventRepository).updateStatus(event.getId(), EventStatus.PROCESSED);
+        assertEquals(1, meterRegistry.get("inventory.event.stage")
+                .tags("stage", "execute", "type", "ORDER_PLACED").timer().count());
+    }
+
+    @Test
+    void shouldSkipEvent_whenAnotherThreadSettledItFirst() {
+        // Given
+        Event event = Event.builder()
+                .id(1L)
+                .type(EventType.ORDER_PLACED)
+                .sku("TEST-SKU")
+                .status(EventStatus.RECEIVED)
+                .attempts(0)
+                .build();
+
+        when(eventRepository.findStatusById(1L)).thenReturn(Optional.of(EventStatus.PROCESSED));
+
+        // When
+        eventProcessingService.processEvent(event);
+
+        // Then
+        verifyNoInteractions(eventStrategyFactory);
+        verify(eventRepository, never()).updateStatus(any(), any());
+    }
+
+    @Test
+    void shouldPassStoredQuantityAndDeltaToStrategy_whenRetrying() {
+        // Given
+        Event event = Event.builder()
+                .id(1L)
+                .type(EventType.ORDER_PLACED)
+                .sku("TEST-SKU")
+                .quantity(5)
+                .delta(-2)
+                .status(EventStatus.RETRY)
+                .attempts(1)
+                .build();
+
+        when(eventRepository.findStatusById(1L)).thenReturn(Optional.of(EventStatus.RETRY));
+        when(eventStrategyFactory.get(EventType.ORDER_PLACED)).thenReturn(orderPlacedStrategy);
+
+        // When
+        eventProcessingService.processEvent(event);
+
+        // Then
+        ArgumentCaptor<EventRequest> request = ArgumentCaptor.forClass(EventRequest.class);
+        verify(orderPlacedStrategy).execute(request.capture());
+        assertEquals(5, request.getValue().getQuantity());
+        assertEquals(-2, request.getValue().getDelta());
     }
 
     @Test
@@ -71,6 +146,7 @@ class EventProcessingServiceTest {
                 .attempts(0)
                 .build();
 
+        when(eventRepository.findStatusById(1L)).thenReturn(Optional.of(EventStatus.RECEIVED));
         when(eventStrategyFactory.get(EventType.ORDER_PLACED)).thenReturn(orderPlacedStrategy);
         doThrow(new RuntimeException("Processing failed")).when(orderPlacedStrategy).execute(any(EventRequest.class));
 
@@ -78,7 +154,11 @@ class EventProcessingServiceTest {
         eventProcessingService.processEvent(event);
 
         // Then
-        verify(eventRepository).updateStatusAndIncrementAttempts(event.getId(), EventStatus.RETRY);
+        ArgumentCaptor<LocalDateTime> nextAttemptAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(eventRepository).updateStatusAndIncrementAttempts(eq(event.getId()), eq(EventStatus.RETRY),
+                nextAttemptAt.capture());
+        assertTrue(nextAttemptAt.getValue().isAfter(LocalDateTime.now().plus(Duration.ofMillis(400))));
+        assertEquals(1.0, meterRegistry.get("inventory.events.retries").tag("type", "ORDER_PLACED").counter().count());
     }
 
     @Test
@@ -91,6 +171,7 @@ class EventProcessingServiceTest {
                 .attempts(3)
                 .build();
 
+        when(eventRepository.findStatusById(1L)).thenReturn(Optional.of(EventStatus.RECEIVED));
         when(eventStrategyFactory.get(EventType.ORDER_PLACED)).thenReturn(orderPlacedStrategy);
         doThrow(new RuntimeException("Processing failed")).when(orderPlacedStrategy).execute(any(EventRequest.class));
 
@@ -99,5 +180,53 @@ class EventProcessingServiceTest {
 
         // Then
         verify(eventRepository).updateStatus(event.getId(), EventStatus.DLQ);
+        assertEquals(1.0, meterRegistry.get("inventory.events.dlq").tag("type", "ORDER_PLACED").counter().count());
+    }
+
+    @Test
+    void shouldSkipDuplicates_whenProcessingBatch() {
+        // Given
+        Event existing = Event.builder().type(EventType.ORDER_PLACED).sku("TEST-SKU").attempts(0).hash("known").build();
+        Event fresh = Event.builder().type(EventType.ORDER_PLACED).sku("TEST-SKU").attempts(0).hash("new").build();
+        Event repeated = Event.builder().type(EventType.ORDER_PLACED).sku("TEST-SKU").attempts(0).hash("new").build();
+
+        when(eventRepository.findExistingHashes(List.of("known", "new", "new"))).thenReturn(List.of("known"));
+        when(eventRepository.findStatusById(any())).thenReturn(Optional.of(EventStatus.RECEIVED));
+        when(eventStrategyFactory.get(EventType.ORDER_PLACED)).thenReturn(orderPlacedStrategy);
+
+        // When
+        List<Event> stored = eventProcessingService.processBatch(List.of(existing, fresh, repeated));
+
+        // Then
+        assertEquals(List.of(fresh), stored);
+        verify(eventRepository).persistAll(List.of(fresh));
+        verify(orderPlacedStrategy, times(1)).execute(any(EventRequest.class));
+    }
+
+    @Test
+    void shouldApplySkuEventsWithOneUpdate_andMarkRefusedOnesForRetry() {
+        // Given
+        Event placed = Event.builder().id(1L).type(EventType.ORDER_PLACED).sku("TEST-SKU").quantity(2)
+                .status(EventStatus.RECEIVED).attempts(0).build();
+        Event oversold = Event.builder().id(2L).type(EventType.ORDER_PLACED).sku("TEST-SKU").quantity(5)
+                .status(EventStatus.RECEIVED).attempts(0).build();
+        Event cancelled = Event.builder().id(3L).type(EventType.ORDER_CANCELLED).sku("TEST-SKU").quantity(1)
+                .status(EventStatus.RETRY).attempts(1).build();
+
+        when(eventRepository.findIdsByIdInAndStatusIn(eq(List.of(1L, 2L, 3L)), any())).thenReturn(List.of(1L, 2L, 3L));
+        when(eventStrategyFactory.get(EventType.ORDER_PLACED)).thenReturn(new OrderPlacedStrategy(null));
+        when(eventStrategyFactory.get(EventType.ORDER_CANCELLED)).thenReturn(new OrderCancelledStrategy(null));
+        when(inventoryItemRepository.lockQuantityBySku("TEST-SKU")).thenReturn(Optional.of(3));
+        when(inventoryItemRepository.adjustQuantityIfUnchanged("TEST-SKU", 3, -1)).thenReturn(1);
+
+        // When
+        eventProcessingService.processCoalesced("TEST-SKU", List.of(placed, oversold, cancelled));
+
+        // Then
+        verify(inventoryItemRepository).adjustQuantityIfUnchanged("TEST-SKU", 3, -1);
+        verify(inventoryItemRepository, never()).decrementQuantityIfAvailable(any(), any());
+        verify(eventRepository).updateStatusByIdIn(List.of(1L, 3L), EventStatus.PROCESSED);
+        verify(eventRepository).updateStatusAndIncrementAttempts(eq(2L), eq(EventStatus.RETRY), any(LocalDateTime.class));
+        verify(eventCounters).transitioned(EventStatus.RETRY, EventStatus.PROCESSED);
     }
 }
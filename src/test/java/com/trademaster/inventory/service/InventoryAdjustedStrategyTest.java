@@ -2,7 +2,6 @@ package com.trademaster.inventory.service;
 
 import com.trademaster.inventory.dto.EventRequest;
 import com.trademaster.inventory.enums.EventType;
-import com.trademaster.inventory.repository.InventoryItemRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,13 +15,13 @@ import static org.mockito.Mockito.*;
 class InventoryAdjustedStrategyTest {
 
     @Mock
-    private InventoryItemRepository inventoryItemRepository;
+    private InventoryStore inventoryStore;
 
     private InventoryAdjustedStrategy inventoryAdjustedStrategy;
 
     @BeforeEach
     void setUp() {
-        inventoryAdjustedStrategy = new InventoryAdjustedStrategy(inventoryItemRepository);
+        inventoryAdjustedStrategy = new InventoryAdjustedStrategy(inventoryStore);
     }
 
     @Test
@@ -38,7 +37,7 @@ class InventoryAdjustedStrategyTest {
         inventoryAdjustedStrategy.execute(eventRequest);
 
         // Then
-        verify(inventoryItemRepository).adjustQuantityBySku("PRODUCT-123", 5);
+        verify(inventoryStore).adjust("PRODUCT-123", 5);
     }
 
     @Test
@@ -54,7 +53,7 @@ class InventoryAdjustedStrategyTest {
         inventoryAdjustedStrategy.execute(eventRequest);
 
         // Then
-        verify(inventoryItemRepository).adjustQuantityBySku("PRODUCT-123", -3);
+        verify(inventoryStore).adjust("PRODUCT-123", -3);
     }
 
     @Test
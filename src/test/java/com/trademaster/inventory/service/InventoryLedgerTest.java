@@ -0,0 +1,140 @@
+package com.trademaster.inventory.service;
+
+import com.trademaster.inventory.domain.InventoryItem;
+import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.metrics.EventCounters;
+import com.trademaster.inventory.repository.EventRepository;
+import com.trademaster.inventory.repository.InventoryItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryLedgerTest {
+
+    @Mock
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EventCounters eventCounters;
+
+    private InventoryLedger inventoryLedger;
+
+    @BeforeEach
+    void setUp() {
+        when(inventoryItemRepository.findAll()).thenReturn(List.of(
+                InventoryItem.builder().sku("PRODUCT-123").quantity(5).build()));
+
+        inventoryLedger = new InventoryLedger(inventoryItemRepository, eventRepository, jdbcTemplate,
+                new TransactionTemplate(transactionManager), eventCounters);
+        inventoryLedger.seed();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldDecrementOnlyWhileQuantityIsAvailable() {
+        // When
+        boolean first = inventoryLedger.decrementIfAvailable("PRODUCT-123", 3);
+        boolean second = inventoryLedger.decrementIfAvailable("PRODUCT-123", 3);
+
+        // Then
+        assertTrue(first);
+        assertFalse(second);
+        assertEquals(OptionalInt.of(2), inventoryLedger.quantity("PRODUCT-123"));
+    }
+
+    @Test
+    void shouldIgnoreUnknownSku() {
+        // Given
+        when(inventoryItemRepository.findBySku("UNKNOWN")).thenReturn(java.util.Optional.empty());
+
+        // When & Then
+        assertFalse(inventoryLedger.decrementIfAvailable("UNKNOWN", 1));
+    }
+
+    @Test
+    void shouldFlushNetDeltasAndMarkEventsProcessed() {
+        // Given
+        inventoryLedger.decrementIfAvailable("PRODUCT-123", 2);
+        assertEquals(EventStatus.APPLIED, inventoryLedger.onApplied(1L));
+        inventoryLedger.adjust("PRODUCT-123", 5);
+        inventoryLedger.onApplied(2L);
+
+        // When
+        inventoryLedger.flush();
+
+        // Then
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> rows) ->
+                rows.size() == 1 && rows.get(0)[0].equals(3) && rows.get(0)[1].equals("PRODUCT-123")));
+        verify(eventRepository).updateStatusByIdIn(List.of(1L, 2L), EventStatus.PROCESSED);
+    }
+
+    @Test
+    void shouldRevertChanges_whenTransactionRollsBack() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        inventoryLedger.decrementIfAvailable("PRODUCT-123", 4);
+        inventoryLedger.onApplied(1L);
+
+        // When
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_ROLLED_BACK);
+        inventoryLedger.flush();
+
+        // Then
+        assertEquals(OptionalInt.of(5), inventoryLedger.quantity("PRODUCT-123"));
+        verifyNoInteractions(jdbcTemplate, eventRepository);
+    }
+
+    @Test
+    void shouldPublishChangesOnlyAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        inventoryLedger.adjust("PRODUCT-123", 1);
+        inventoryLedger.onApplied(7L);
+        inventoryLedger.flush();
+        verifyNoInteractions(jdbcTemplate);
+
+        // When
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+        inventoryLedger.flush();
+
+        // Then
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+        verify(eventRepository).updateStatusByIdIn(List.of(7L), EventStatus.PROCESSED);
+    }
+}
@@ -2,7 +2,6 @@ package com.trademaster.inventory.service;
 
 import com.trademaster.inventory.dto.EventRequest;
 import com.trademaster.inventory.enums.EventType;
-import com.trademaster.inventory.repository.InventoryItemRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,13 +14,13 @@ import static org.mockito.Mockito.*;
 class OrderCancelledStrategyTest {
 
     @Mock
-    private InventoryItemRepository inventoryItemRepository;
+    private InventoryStore inventoryStore;
 
     private OrderCancelledStrategy orderCancelledStrategy;
 
     @BeforeEach
     void setUp() {
-        orderCancelledStrategy = new OrderCancelledStrategy(inventoryItemRepository);
+        orderCancelledStrategy = new OrderCancelledStrategy(inventoryStore);
     }
 
     @Test
@@ -37,7 +36,7 @@ class OrderCancelledStrategyTest {
         orderCancelledStrategy.execute(eventRequest);
 
         // Then
-        verify(inventoryItemRepository).adjustQuantityBySku("PRODUCT-123", 3);
+        verify(inventoryStore).adjust("PRODUCT-123", 3);
     }
 
     @Test
@@ -52,6 +51,6 @@ class OrderCancelledStrategyTest {
         orderCancelledStrategy.execute(eventRequest);
 
         // Then
-        verify(inventoryItemRepository).adjustQuantityBySku("PRODUCT-123", 1);
+        verify(inventoryStore).adjust("PRODUCT-123", 1);
     }
 }
@@ -2,7 +2,6 @@ package com.trademaster.inventory.service;
 
 import com.trademaster.inventory.dto.EventRequest;
 import com.trademaster.inventory.enums.EventType;
-import com.trademaster.inventory.repository.InventoryItemRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,13 +15,13 @@ import static org.mockito.Mockito.*;
 class OrderPlacedStrategyTest {
 
     @Mock
-    private InventoryItemRepository inventoryItemRepository;
+    private InventoryStore inventoryStore;
 
     private OrderPlacedStrategy orderPlacedStrategy;
 
     @BeforeEach
     void setUp() {
-        orderPlacedStrategy = new OrderPlacedStrategy(inventoryItemRepository);
+        orderPlacedStrategy = new OrderPlacedStrategy(inventoryStore);
     }
 
     @Test
@@ -34,13 +33,13 @@ class OrderPlacedStrategyTest {
                 .quantity(2)
                 .build();
 
-        when(inventoryItemRepository.decrementQuantityIfAvailable("PRODUCT-123", 2)).thenReturn(1);
+        when(inventoryStore.decrementIfAvailable("PRODUCT-123", 2)).thenReturn(true);
 
         // When
         orderPlacedStrategy.execute(eventRequest);
 
         // Then
-        verify(inventoryItemRepository).decrementQuantityIfAvailable("PRODUCT-123", 2);
+        verify(inventoryStore).decrementIfAvailable("PRODUCT-123", 2);
     }
 
     @Test
@@ -52,7 +51,7 @@ class OrderPlacedStrategyTest {
                 .quantity(2)
                 .build();
 
-        when(inventoryItemRepository.decrementQuantityIfAvailable("PRODUCT-123", 2)).thenReturn(0);
+        when(inventoryStore.decrementIfAvailable("PRODUCT-123", 2)).thenReturn(false);
 
         // When & Then
         assertThrows(RuntimeException.class, () -> orderPlacedStrategy.execute(eventRequest));
@@ -66,12 +65,12 @@ class OrderPlacedStrategyTest {
                 .sku("PRODUCT-123")
                 .build();
 
-        when(inventoryItemRepository.decrementQuantityIfAvailable("PRODUCT-123", 1)).thenReturn(1);
+        when(inventoryStore.decrementIfAvailable("PRODUCT-123", 1)).thenReturn(true);
 
         // When
         orderPlacedStrategy.execute(eventRequest);
 
         // Then
-        verify(inventoryItemRepository).decrementQuantityIfAvailable("PRODUCT-123", 1);
+        verify(inventoryStore).decrementIfAvailable("PRODUCT-123", 1);
     }
 }
@@ -0,0 +1,195 @@
+package com.trademaster.inventory.service;
+
+import com.trademaster.inventory.domain.Event;
+import com.trademaster.inventory.enums.EventStatus;
+import com.trademaster.inventory.enums.EventType;
+import com.trademaster.inventory.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the claim queries against H2, with each sweeper in its own real transaction.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PendingEventClaimerTest {
+
+    private static final int EVENTS = 200;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        eventRepository.deleteAllInBatch();
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            events.add(Event.builder()
+                    .type(EventType.ORDER_PLACED)
+                    .sku("SKU-" + (i % 7))
+                    .status(i % 2 == 0 ? EventStatus.RECEIVED : EventStatus.RETRY)
+                    .attempts(0)
+                    .hash("hash-" + i)
+                    .build());
+        }
+        eventRepository.saveAll(events);
+    }
+
+    @Test
+    void shouldSkipRowsLockedByAnotherSweeper_withoutWaiting() throws Exception {
+        // Given
+        PendingEventClaimer sweeper = claimer("sweeper-b");
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<List<Long>> holder = executor.submit(() -> transactionTemplate.execute(status -> {
+            List<Long> ids = eventRepository.lockClaimablePendingIds(
+                    LocalDateTime.now(), LocalDateTime.of(1970, 1, 1, 0, 0), 0L, 50);
+            locked.countDown();
+            await(release);
+            return ids;
+        }));
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+        // When
+        List<Event> claimed = sweeper.claim(EVENTS);
+        boolean holderStillOpen = !holder.isDone();
+        release.countDown();
+
+        // Then
+        Set<Long> lockedIds = new HashSet<>(holder.get(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(holderStillOpen);
+        assertEquals(50, lockedIds.size());
+        // H2 locks every row matched by an ordered FOR UPDATE, PostgreSQL only the 50 returned
+        assertTrue(claimed.size() <= EVENTS - 50);
+        assertTrue(claimed.stream().noneMatch(event -> lockedIds.contains(event.getId())));
+    }
+
+    @Test
+    void shouldNeverHandTheSameEventToTwoConcurrentSweepers() throws Exception {
+        // Given
+        List<PendingEventClaimer> sweepers = List.of(claimer("sweeper-a"), claimer("sweeper-b"));
+        ConcurrentLinkedQueue<Long> processed = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(sweepers.size());
+
+        // When
+        List<Future<?>> runs = new ArrayList<>();
+        for (PendingEventClaimer sweeper : sweepers) {
+            runs.add(executor.submit(() -> {
+                await(start);
+                List<Event> claimed;
+                while (!(claimed = sweeper.claim(15)).isEmpty()) {
+                    for (Event event : claimed) {
+                        processed.add(event.getId());
+                        transactionTemplate.executeWithoutResult(status ->
+                                eventRepository.updateStatus(event.getId(), EventStatus.PROCESSED));
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        for (Future<?> run : runs) {
+            run.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(EVENTS, processed.size());
+        assertEquals(EVENTS, new HashSet<>(processed).size());
+        assertEquals(EVENTS, eventRepository.countByStatus(EventStatus.PROCESSED));
+    }
+
+    @Test
+    void shouldReclaimEventsWhoseLeaseExpired() {
+        // Given
+        PendingEventClaimer crashed = new PendingEventClaimer(eventRepository, transactionTemplate, "crashed", 0);
+        crashed.claim(EVENTS);
+
+        // When
+        List<Event> reclaimed = claimer("survivor").claim(EVENTS);
+
+        // Then
+        assertEquals(EVENTS, reclaimed.size());
+        assertTrue(reclaimed.stream().allMatch(event -> "survivor".equals(event.getClaimedBy())));
+    }
+
+    @Test
+    void shouldContinueAfterLastClaimedEvent_andWrapWhenTheScanRunsOut() {
+        // Given
+        PendingEventClaimer sweeper = new PendingEventClaimer(eventRepository, transactionTemplate, "sweeper", 0);
+        List<Long> first = ids(sweeper.claim(150));
+
+        // When
+        List<Long> second = ids(sweeper.claim(150));
+        List<Long> wrapped = ids(sweeper.claim(150));
+
+        // Then
+        assertEquals(150, first.size());
+        assertEquals(50, second.size());
+        assertTrue(second.stream().noneMatch(first::contains));
+        assertEquals(first, wrapped);
+    }
+
+    @Test
+    void shouldNotClaimEventsBackingOffUntilTheyAreDue() {
+        // Given
+        List<Event> backingOff = eventRepository.saveAll(List.of(
+                Event.builder().type(EventType.ORDER_PLACED).sku("SKU-1").status(EventStatus.RETRY).attempts(2)
+                        .hash("backing-off-1").nextAttemptAt(LocalDateTime.now().plusMinutes(5)).build(),
+                Event.builder().type(EventType.ORDER_PLACED).sku("SKU-1").status(EventStatus.RETRY).attempts(3)
+                        .hash("backing-off-2").nextAttemptAt(LocalDateTime.now().plusMinutes(10)).build()));
+
+        // When
+        List<Long> claimed = ids(claimer("sweeper").claim(EVENTS * 2));
+
+        // Then
+        assertEquals(EVENTS, claimed.size());
+        assertTrue(backingOff.stream().noneMatch(event -> claimed.contains(event.getId())));
+    }
+
+    private static List<Long> ids(List<Event> events) {
+        return events.stream().map(Event::getId).toList();
+    }
+
+    private PendingEventClaimer claimer(String owner) {
+        return new PendingEventClaimer(eventRepository, transactionTemplate, owner, 60_000);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
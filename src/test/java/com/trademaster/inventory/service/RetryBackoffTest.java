@@ -0,0 +1,35 @@
+package com.trademaster.inventory.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryBackoffTest {
+
+    private final RetryBackoff retryBackoff = new RetryBackoff(1000, 8000);
+
+    @Test
+    void shouldDoubleTheDelayWithEveryAttempt_withinTheUpperHalfOfItsCeiling() {
+        for (int attempts = 1; attempts <= 4; attempts++) {
+            long ceiling = 1000L << (attempts - 1);
+            for (int i = 0; i < 100; i++) {
+                // When
+                Duration delay = retryBackoff.delay(attempts);
+
+                // Then
+                assertTrue(delay.toMillis() >= ceiling / 2 && delay.toMillis() <= ceiling, "attempt " + attempts);
+            }
+        }
+    }
+
+    @Test
+    void shouldCapTheDelay() {
+        // When
+        Duration delay = retryBackoff.delay(40);
+
+        // Then
+        assertTrue(delay.toMillis() >= 4000 && delay.toMillis() <= 8000);
+    }
+}
@@ -0,0 +1,63 @@
+package com.trademaster.inventory.service;
+
+import com.trademaster.inventory.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RetrySweepTriggerTest {
+
+    private static final Instant LAST_COMPLETION = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Test
+    void shouldSleepUntilTheEarliestDueEvent_withinTheDelayBounds() {
+        // Given
+        RetrySweepTrigger trigger = new RetrySweepTrigger(eventRepository, 1000, 60_000);
+        when(eventRepository.findEarliestNextAttemptAt(anyCollection())).thenReturn(
+                localTime(LAST_COMPLETION.plusSeconds(20)),
+                localTime(LAST_COMPLETION.minusSeconds(5)),
+                localTime(LAST_COMPLETION.plusSeconds(600)),
+                null);
+
+        // When & Then
+        assertEquals(LAST_COMPLETION.plusSeconds(20), trigger.nextExecution(context()));
+        assertEquals(LAST_COMPLETION.plusSeconds(1), trigger.nextExecution(context()));
+        assertEquals(LAST_COMPLETION.plusSeconds(60), trigger.nextExecution(context()));
+        assertEquals(LAST_COMPLETION.plusSeconds(60), trigger.nextExecution(context()));
+    }
+
+    @Test
+    void shouldSweepAfterTheMaximumDelay_whenTheDueQueryFails() {
+        // Given
+        RetrySweepTrigger trigger = new RetrySweepTrigger(eventRepository, 1000, 60_000);
+        when(eventRepository.findEarliestNextAttemptAt(anyCollection())).thenThrow(new RuntimeException("Database unavailable"));
+
+        // When & Then
+        assertEquals(LAST_COMPLETION.plusSeconds(60), trigger.nextExecution(context()));
+    }
+
+    private static SimpleTriggerContext context() {
+        SimpleTriggerContext context = new SimpleTriggerContext(Clock.fixed(LAST_COMPLETION, ZoneId.systemDefault()));
+        context.update(LAST_COMPLETION.minusSeconds(1), LAST_COMPLETION.minusSeconds(1), LAST_COMPLETION);
+        return context;
+    }
+
+    private static LocalDateTime localTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
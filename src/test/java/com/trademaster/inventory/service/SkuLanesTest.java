@@ -0,0 +1,133 @@
+package com.trademaster.inventory.service;
+
+import com.trademaster.inventory.metrics.EventMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SkuLanesTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SkuLanes skuLanes;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        skuLanes = new SkuLanes(8, new EventMetrics(meterRegistry));
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldHoldLaneUntilTransactionCompletes() throws Exception {
+        // Given
+        String sku = "SKU-1";
+        TransactionSynchronizationManager.initSynchronization();
+        skuLanes.acquire(List.of(sku)).close();
+
+        // When
+        Future<?> other = executor.submit(() -> skuLanes.acquire(List.of(sku)).close());
+        waitForQueuedThreads(1);
+
+        // Then
+        assertFalse(other.isDone());
+        assertEquals(1, skuLanes.maxQueuedThreads());
+
+        completeTransaction();
+        other.get(5, TimeUnit.SECONDS);
+        assertEquals(1.0, meterRegistry.get("inventory.sku_lanes.acquired").tag("contended", "true").counter().count());
+        assertEquals(1, meterRegistry.get("inventory.sku_lanes.wait").timer().count());
+    }
+
+    @Test
+    void shouldLetOtherLanesThrough_whileOneIsHeld() throws Exception {
+        // Given
+        String sku = "SKU-1";
+        String otherSku = skuOnAnotherLane(sku);
+
+        // When
+        SkuLanes.Lease lane = skuLanes.acquire(List.of(sku));
+        try {
+            CompletableFuture<Void> other = CompletableFuture.runAsync(
+                    () -> skuLanes.acquire(List.of(otherSku)).close(), executor);
+
+            // Then
+            other.get(5, TimeUnit.SECONDS);
+        } finally {
+            lane.close();
+        }
+        assertEquals(0.0, meterRegistry.get("inventory.sku_lanes.acquired").tag("contended", "true").counter().count());
+    }
+
+    @Test
+    void shouldRefuseLanesOutOfOrder_withinOneTransaction() {
+        // Given
+        String low = skuOnLane(1);
+        String high = skuOnLane(5);
+        TransactionSynchronizationManager.initSynchronization();
+        skuLanes.acquire(List.of(high, low)).close();
+
+        // When & Then
+        skuLanes.acquire(List.of(low)).close();
+        assertThrows(IllegalStateException.class, () -> skuLanes.acquire(List.of(skuOnLane(3))));
+        completeTransaction();
+        assertTrue(TransactionSynchronizationManager.getResourceMap().isEmpty());
+    }
+
+    private void completeTransaction() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    private void waitForQueuedThreads(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (skuLanes.queuedThreads() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private String skuOnAnotherLane(String sku) {
+        for (int i = 0; ; i++) {
+            String candidate = "SKU-" + i;
+            if (skuLanes.laneOf(candidate) != skuLanes.laneOf(sku)) {
+                return candidate;
+            }
+        }
+    }
+
+    private String skuOnLane(int lane) {
+        for (int i = 0; ; i++) {
+            String candidate = "SKU-" + i;
+            if (skuLanes.laneOf(candidate) == lane) {
+                return candidate;
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.trademaster.inventory.sharding;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * In-process stand-in for the broker: messages published through the template land on FIFO
+ * queues named by their routing key, and every queue behaves like a single-active-consumer
+ * queue, delivering only to the earliest subscriber still subscribed.
+ */
+class InMemoryBroker extends RabbitTemplate {
+
+    private final Map<String, Deque<Message>> queues = new LinkedHashMap<>();
+    private final Map<String, Set<String>> subscribers = new LinkedHashMap<>();
+
+    InMemoryBroker() {
+        setMessageConverter(new Jackson2JsonMessageConverter());
+    }
+
+    @Override
+    public synchronized void send(String exchange, String routingKey, Message message, CorrelationData correlationData) {
+        queues.computeIfAbsent(routingKey, queue -> new ArrayDeque<>()).add(message);
+    }
+
+    synchronized Map<String, List<Message>> queued() {
+        Map<String, List<Message>> copy = new LinkedHashMap<>();
+        queues.forEach((queue, messages) -> copy.put(queue, new ArrayList<>(messages)));
+        return copy;
+    }
+
+    synchronized String activeConsumer(String queue) {
+        Set<String> subscribed = subscribers.get(queue);
+        return subscribed == null || subscribed.isEmpty() ? null : subscribed.iterator().next();
+    }
+
+    /**
+     * Hands every queued message to the active consumer of its queue, in queue order.
+     * Messages of queues without a consumer stay queued.
+     */
+    synchronized void deliverAll(BiConsumer<String, Message> handler) {
+        queues.forEach((queue, messages) -> {
+            String consumer = activeConsumer(queue);
+            while (consumer != null && !messages.isEmpty()) {
+                handler.accept(consumer, messages.poll());
+            }
+        });
+    }
+
+    ShardConsumers consumersOf(String instanceId) {
+        return new ShardConsumers() {
+            @Override
+            public void start(String queue) {
+                synchronized (InMemoryBroker.this) {
+                    subscribers.computeIfAbsent(queue, key -> new LinkedHashSet<>()).add(instanceId);
+                }
+            }
+
+            @Override
+            public void stop(String queue) {
+                synchronized (InMemoryBroker.this) {
+                    subscribers.getOrDefault(queue, Set.of()).remove(instanceId);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,193 @@
+package com.trademaster.inventory.sharding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trademaster.inventory.controller.EventController;
+import com.trademaster.inventory.dto.EventRequest;
+import com.trademaster.inventory.enums.EventType;
+import com.trademaster.inventory.metrics.EventCounters;
+import com.trademaster.inventory.repository.BatchJobRepository;
+import com.trademaster.inventory.repository.EventRepository;
+import com.trademaster.inventory.repository.InventoryItemRepository;
+import com.trademaster.inventory.service.BulkEventPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Publishes through {@link EventController} into an in-process broker stand-in and lets
+ * coordinators of several instances share the shards, with membership kept in H2.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ShardCoordinatorTest {
+
+    private static final int SKUS = 20;
+    private static final int EVENTS_PER_SKU = 10;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final InMemoryBroker broker = new InMemoryBroker();
+    private final ShardedEventRouter router = new ShardedEventRouter(4, 128);
+    private JdbcShardMembership membership;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM shard_members");
+        membership = new JdbcShardMembership(jdbcTemplate, 15_000);
+    }
+
+    @Test
+    void shouldKeepEachSkuOnOneShard_andSplitShardsWhenAnInstanceJoins() {
+        // Given
+        publishEvents();
+        ShardCoordinator first = coordinator("instance-a");
+        ShardCoordinator second = coordinator("instance-b");
+        first.rebalance();
+        assertEquals(router.shardQueues(), first.status().shards());
+
+        // When
+        second.rebalance();
+        // The first instance has not given anything up yet, so it stays the active consumer
+        router.shardQueues().forEach(queue -> assertEquals("instance-a", broker.activeConsumer(queue)));
+        first.rebalance();
+
+        // Then
+        assertEquals(2, first.status().shards().size());
+        assertEquals(2, second.status().shards().size());
+        first.status().shards().forEach(queue -> assertEquals("instance-a", broker.activeConsumer(queue)));
+        second.status().shards().forEach(queue -> assertEquals("instance-b", broker.activeConsumer(queue)));
+
+        Map<String, Set<String>> queuesBySku = new HashMap<>();
+        broker.queued().forEach((queue, messages) -> messages.forEach(message ->
+                queuesBySku.computeIfAbsent(read(message).getSku(), sku -> new HashSet<>()).add(queue)));
+        assertEquals(SKUS, queuesBySku.size());
+        queuesBySku.values().forEach(queues -> assertEquals(1, queues.size()));
+
+        Map<String, List<Integer>> sequences = new HashMap<>();
+        Map<String, Set<String>> consumersBySku = new HashMap<>();
+        broker.deliverAll((consumer, message) -> {
+            EventRequest event = read(message);
+            sequences.computeIfAbsent(event.getSku(), sku -> new ArrayList<>()).add(event.getQuantity());
+            consumersBySku.computeIfAbsent(event.getSku(), sku -> new HashSet<>()).add(consumer);
+        });
+        List<Integer> inOrder = IntStream.range(0, EVENTS_PER_SKU).boxed().toList();
+        sequences.values().forEach(sequence -> assertEquals(inOrder, sequence));
+        consumersBySku.values().forEach(consumers -> assertEquals(1, consumers.size()));
+        assertTrue(consumersBySku.values().stream().anyMatch(consumers -> consumers.contains("instance-b")));
+    }
+
+    @Test
+    void shouldTakeOverShards_whenAnInstanceLeavesOrTimesOut() {
+        // Given
+        ShardCoordinator first = coordinator("instance-a");
+        ShardCoordinator second = coordinator("instance-b");
+        ShardCoordinator third = coordinator("instance-c");
+        first.rebalance();
+        second.rebalance();
+        third.rebalance();
+        first.rebalance();
+        second.rebalance();
+        List<String> leftBehind = second.status().shards();
+
+        // When
+        second.leave();
+        jdbcTemplate.update("UPDATE shard_members SET heartbeat_at = heartbeat_at - INTERVAL '1' MINUTE"
+                + " WHERE instance_id = 'instance-c'");
+        first.rebalance();
+
+        // Then
+        assertEquals(List.of("instance-a"), first.status().members());
+        assertEquals(router.shardQueues(), first.status().shards());
+        leftBehind.forEach(queue -> assertEquals("instance-a", broker.activeConsumer(queue)));
+    }
+
+    @Test
+    void shouldKeepHeartbeating_whileARebalanceIsSlow() throws Exception {
+        // Given
+        JdbcShardMembership shortLived = new JdbcShardMembership(jdbcTemplate, 300);
+        CountDownLatch release = new CountDownLatch(1);
+        ShardConsumers stuck = new ShardConsumers() {
+            @Override
+            public void start(String queue) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void stop(String queue) {
+            }
+        };
+        ShardCoordinator first = new ShardCoordinator(shortLived, stuck, router, "instance-a", 128, 50);
+        ShardCoordinator second = new ShardCoordinator(shortLived, broker.consumersOf("instance-b"), router,
+                "instance-b", 128, 50);
+
+        try {
+            // When
+            first.start();
+            // Several member timeouts pass while the first rebalance is stuck starting a consumer
+            Thread.sleep(1_000);
+            second.rebalance();
+
+            // Then
+            assertEquals(List.of("instance-a", "instance-b"), second.status().members());
+        } finally {
+            release.countDown();
+            first.stop();
+        }
+    }
+
+    private ShardCoordinator coordinator(String instanceId) {
+        return new ShardCoordinator(membership, broker.consumersOf(instanceId), router, instanceId, 128, 5000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void publishEvents() {
+        EventController controller = new EventController(broker, mock(EventRepository.class),
+                mock(InventoryItemRepository.class), mock(BatchJobRepository.class), mock(EventCounters.class),
+                mock(BulkEventPublisher.class), mock(ObjectProvider.class), router);
+        for (int i = 0; i < EVENTS_PER_SKU; i++) {
+            for (int sku = 0; sku < SKUS; sku++) {
+                controller.publishEvent(EventRequest.builder()
+                        .type(EventType.ORDER_PLACED)
+                        .sku("SKU-" + sku)
+                        .quantity(i)
+                        .build());
+            }
+        }
+    }
+
+    private EventRequest read(Message message) {
+        try {
+            return objectMapper.readValue(message.getBody(), EventRequest.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.trademaster.inventory.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardRingTest {
+
+    private static final List<String> SKUS = IntStream.range(0, 10_000).mapToObj(i -> "SKU-" + i).toList();
+
+    @Test
+    void shouldSpreadKeysEvenlyOverNodes() {
+        // Given
+        ShardRing ring = new ShardRing(shards(4), 128);
+
+        // When
+        Map<String, Integer> counts = new HashMap<>();
+        SKUS.forEach(sku -> counts.merge(ring.nodeFor(sku), 1, Integer::sum));
+
+        // Then
+        assertEquals(4, counts.size());
+        counts.values().forEach(count -> assertTrue(count > 1_500 && count < 3_500, "Uneven shard: " + counts));
+    }
+
+    @Test
+    void shouldMoveKeysOnlyToTheNewNode_whenANodeIsAdded() {
+        // Given
+        ShardRing before = new ShardRing(shards(4), 128);
+        ShardRing after = new ShardRing(shards(5), 128);
+
+        // When
+        List<String> moved = SKUS.stream().filter(sku -> !before.nodeFor(sku).equals(after.nodeFor(sku))).toList();
+
+        // Then
+        moved.forEach(sku -> assertEquals("shard-4", after.nodeFor(sku)));
+        assertTrue(moved.size() > 1_000 && moved.size() < 3_000, "Moved " + moved.size() + " of " + SKUS.size());
+    }
+
+    @Test
+    void shouldAssignEveryKeyWithinCapacity_regardlessOfNodeOrder() {
+        // Given
+        List<String> queues = shards(8);
+        ShardRing ring = new ShardRing(List.of("instance-a", "instance-b", "instance-c"), 128);
+        ShardRing reordered = new ShardRing(List.of("instance-c", "instance-a", "instance-b"), 128);
+
+        // When
+        Map<String, List<String>> assignment = ring.assign(queues);
+
+        // Then
+        assertEquals(8, assignment.values().stream().mapToInt(List::size).sum());
+        assignment.values().forEach(owned -> assertTrue(owned.size() <= 3, "Over capacity: " + assignment));
+        assertEquals(assignment, reordered.assign(queues));
+    }
+
+    @Test
+    void shouldRejectEmptyRing() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new ShardRing(List.of(), 128));
+    }
+
+    private static List<String> shards(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "shard-" + i).toList();
+    }
+}